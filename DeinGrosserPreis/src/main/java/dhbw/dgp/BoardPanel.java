@@ -0,0 +1,333 @@
+package dhbw.dgp;
+
+import javax.swing.JComponent;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.UIManager;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Game board that paints the question cells itself instead of using one button per question.
+ * Only the cells inside the visible area are painted, clicks are mapped to a cell by index
+ * arithmetic, and a changed cell repaints just its own rectangle, so boards with hundreds of
+ * categories stay smooth inside a scroll pane.
+ */
+public class BoardPanel extends JComponent implements Scrollable {
+    public static final byte AVAILABLE = 0;
+    public static final byte PENDING = 1;
+    public static final byte CORRECT = 2;
+    public static final byte INCORRECT = 3;
+    public static final byte MISSING = 4;
+
+    private static final Color[] STATE_COLORS = {
+            new Color(0x1976D2), new Color(0x455A64), new Color(0x388E3C), new Color(0xD32F2F), new Color(0x9E9E9E)
+    };
+    private static final Color HOVER_COLOR = new Color(0x42A5F5);
+    private static final int PADDING = 10;
+    private static final int GAP = 12;
+    private static final int HEADER_HEIGHT = 36;
+    private static final int MIN_COLUMN_WIDTH = 140;
+    private static final int MIN_ROW_HEIGHT = 48;
+    private static final int VISIBLE_COLUMNS = 6;
+
+    private final List<Category> categories;
+    private final int[][] points;
+    private final byte[][] states;
+    private final String[][] labels;
+    // Categories are looked up by identity, so categories with the same name keep their own column
+    private final Map<Category, Integer> columns = new HashMap<>();
+    private final int rows;
+    private final String[] fittedHeaders;
+    private final Font headerFont;
+    private final Font cellFont;
+    private int fittedWidth = -1;
+    private int hoveredColumn = -1;
+    private int hoveredRow = -1;
+    private SelectionListener selectionListener;
+
+    /**
+     * Called when an available cell is clicked.
+     */
+    public interface SelectionListener {
+        void questionSelected(Category category, int points);
+    }
+
+    /**
+     * @param overview The game whose categories are shown; answered questions are shown as answered
+     */
+    public BoardPanel(GameOverview overview) {
+        this.categories = List.copyOf(overview.getCategories());
+        this.points = new int[categories.size()][];
+        this.states = new byte[categories.size()][];
+        this.labels = new String[categories.size()][];
+        this.fittedHeaders = new String[categories.size()];
+        int maxRows = 0;
+        for (int c = 0; c < categories.size(); c++) {
+            Category category = categories.get(c);
+            columns.put(category, c);
+            int count = category.getQuestionCount();
+            points[c] = new int[count];
+            states[c] = new byte[count];
+            labels[c] = new String[count];
+            List<Integer> available = overview.getAvailableQuestions().get(category);
+            for (int q = 0; q < count; q++) {
+                points[c][q] = category.getPointValue(q);
+                labels[c][q] = points[c][q] + " Punkte";
+                if (category.getQuestionAt(q) == null) {
+                    states[c][q] = MISSING;
+                } else if (available != null && !available.contains(points[c][q])) {
+                    states[c][q] = INCORRECT;
+                }
+            }
+            maxRows = Math.max(maxRows, count);
+        }
+        this.rows = maxRows;
+        for (GameOverview.QuestionOutcome outcome : overview.getQuestionOutcomes()) {
+            Integer c = columns.get(outcome.category());
+            int q = c == null ? -1 : pointIndex(c, outcome.points());
+            if (q >= 0) {
+                states[c][q] = outcome.correct() ? CORRECT : INCORRECT;
+            }
+        }
+
+        Font font = UIManager.getFont("Label.font");
+        this.headerFont = font.deriveFont(Font.BOLD, 16f);
+        this.cellFont = font.deriveFont(Font.BOLD, 14f);
+        setForeground(UIManager.getColor("Label.foreground"));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = columnAt(e.getX());
+                int row = rowAt(e.getY());
+                if (column >= 0 && row >= 0 && row < states[column].length
+                        && states[column][row] == AVAILABLE && selectionListener != null) {
+                    selectionListener.questionSelected(categories.get(column), points[column][row]);
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHovered(columnAt(e.getX()), rowAt(e.getY()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHovered(-1, -1);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    public void setSelectionListener(SelectionListener selectionListener) {
+        this.selectionListener = selectionListener;
+    }
+
+    /**
+     * Changes the state of one cell and repaints only that cell
+     * @param category The category of the question
+     * @param points Point value of the question
+     * @param state One of {@link #AVAILABLE}, {@link #PENDING}, {@link #CORRECT}, {@link #INCORRECT}, {@link #MISSING}
+     */
+    public void setState(Category category, int points, byte state) {
+        Integer column = columns.get(category);
+        int row = column == null ? -1 : pointIndex(column, points);
+        if (row >= 0 && states[column][row] != state) {
+            states[column][row] = state;
+            repaint(cellBounds(column, row));
+        }
+    }
+
+    /**
+     * @return the state of a cell, or -1 if the board has no such question
+     */
+    public byte getState(Category category, int points) {
+        Integer column = columns.get(category);
+        int row = column == null ? -1 : pointIndex(column, points);
+        return row >= 0 ? states[column][row] : -1;
+    }
+
+    private int pointIndex(int column, int value) {
+        int index = Arrays.binarySearch(points[column], value);
+        return index >= 0 ? index : -1;
+    }
+
+    private void setHovered(int column, int row) {
+        if (column < 0 || row < 0 || row >= states[column].length) {
+            column = -1;
+            row = -1;
+        }
+        if (column != hoveredColumn || row != hoveredRow) {
+            if (hoveredColumn >= 0) {
+                repaint(cellBounds(hoveredColumn, hoveredRow));
+            }
+            hoveredColumn = column;
+            hoveredRow = row;
+            if (column >= 0) {
+                repaint(cellBounds(column, row));
+            }
+        }
+    }
+
+    private int getColumnWidth() {
+        int columns = Math.max(1, categories.size());
+        return Math.max(MIN_COLUMN_WIDTH, (getWidth() - 2 * PADDING + GAP) / columns - GAP);
+    }
+
+    private int getRowHeight() {
+        int available = getHeight() - 2 * PADDING - HEADER_HEIGHT;
+        return Math.max(MIN_ROW_HEIGHT, (available + GAP) / Math.max(1, rows) - GAP);
+    }
+
+    /**
+     * @return the column under an x coordinate, or -1 for padding and gaps
+     */
+    private int columnAt(int x) {
+        int stride = getColumnWidth() + GAP;
+        int offset = x - PADDING;
+        int column = offset < 0 ? -1 : offset / stride;
+        return column < categories.size() && offset % stride < stride - GAP ? column : -1;
+    }
+
+    /**
+     * @return the row under a y coordinate, or -1 for the header, padding and gaps
+     */
+    private int rowAt(int y) {
+        int stride = getRowHeight() + GAP;
+        int offset = y - PADDING - HEADER_HEIGHT;
+        int row = offset < 0 ? -1 : offset / stride;
+        return row < rows && offset % stride < stride - GAP ? row : -1;
+    }
+
+    private Rectangle cellBounds(int column, int row) {
+        int width = getColumnWidth();
+        int height = getRowHeight();
+        return new Rectangle(PADDING + column * (width + GAP), PADDING + HEADER_HEIGHT + row * (height + GAP), width, height);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        int columns = Math.max(1, categories.size());
+        return new Dimension(2 * PADDING + columns * (MIN_COLUMN_WIDTH + GAP) - GAP,
+                2 * PADDING + HEADER_HEIGHT + rows * (MIN_ROW_HEIGHT + GAP) - GAP);
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            int width = getColumnWidth();
+            int height = getRowHeight();
+            int columnStride = width + GAP;
+            int rowStride = height + GAP;
+
+            // Only the columns and rows that intersect the clip are painted
+            int firstColumn = Math.max(0, (clip.x - PADDING) / columnStride);
+            int lastColumn = Math.min(categories.size() - 1, (clip.x + clip.width - PADDING) / columnStride);
+            int firstRow = Math.max(0, (clip.y - PADDING - HEADER_HEIGHT) / rowStride);
+            int lastRow = Math.min(rows - 1, (clip.y + clip.height - PADDING - HEADER_HEIGHT) / rowStride);
+
+            if (width != fittedWidth) {
+                fittedWidth = width;
+                Arrays.fill(fittedHeaders, null);
+            }
+            if (clip.y < PADDING + HEADER_HEIGHT) {
+                g.setFont(headerFont);
+                g.setColor(getForeground());
+                FontMetrics metrics = g.getFontMetrics();
+                int baseline = PADDING + (HEADER_HEIGHT - GAP / 2 - metrics.getHeight()) / 2 + metrics.getAscent();
+                for (int c = firstColumn; c <= lastColumn; c++) {
+                    if (fittedHeaders[c] == null) {
+                        fittedHeaders[c] = fit(categories.get(c).getName(), metrics, width);
+                    }
+                    String header = fittedHeaders[c];
+                    g.drawString(header, PADDING + c * columnStride + (width - metrics.stringWidth(header)) / 2, baseline);
+                }
+            }
+
+            g.setFont(cellFont);
+            FontMetrics metrics = g.getFontMetrics();
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int x = PADDING + c * columnStride;
+                for (int r = firstRow; r <= Math.min(lastRow, states[c].length - 1); r++) {
+                    int y = PADDING + HEADER_HEIGHT + r * rowStride;
+                    byte state = states[c][r];
+                    g.setColor(state == AVAILABLE && c == hoveredColumn && r == hoveredRow ? HOVER_COLOR : STATE_COLORS[state]);
+                    g.fillRoundRect(x, y, width, height, 10, 10);
+                    g.setColor(Color.WHITE);
+                    String label = labels[c][r];
+                    g.drawString(label, x + (width - metrics.stringWidth(label)) / 2,
+                            y + (height - metrics.getHeight()) / 2 + metrics.getAscent());
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static String fit(String text, FontMetrics metrics, int width) {
+        if (text == null || metrics.stringWidth(text) <= width) {
+            return text == null ? "" : text;
+        }
+        int length = text.length();
+        while (length > 0 && metrics.stringWidth(text.substring(0, length) + "…") > width) {
+            length--;
+        }
+        return text.substring(0, length) + "…";
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension size = getPreferredSize();
+        size.width = Math.min(size.width, 2 * PADDING + VISIBLE_COLUMNS * (MIN_COLUMN_WIDTH + GAP) - GAP);
+        return size;
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? (getColumnWidth() + GAP) / 4 : (getRowHeight() + GAP) / 4;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        int stride = orientation == SwingConstants.HORIZONTAL ? getColumnWidth() + GAP : getRowHeight() + GAP;
+        int visible = orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+        return Math.max(stride, visible / stride * stride);
+    }
+
+    /**
+     * Columns and rows stretch to fill the viewport until they reach their minimum size
+     */
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return getParent() != null && getParent().getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() != null && getParent().getHeight() > getPreferredSize().height;
+    }
+}
@@ -0,0 +1,99 @@
+package dhbw.dgp;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Describes a simulated team: how likely it answers a question correctly and
+ * how it picks the next question.
+ */
+public class BotProfile {
+    /**
+     * Strategies a bot can use to pick the next question
+     */
+    public enum Strategy {
+        /** Always picks the question with the highest point value */
+        HIGHEST_POINTS,
+        /** Always picks the question with the lowest point value */
+        LOWEST_POINTS,
+        /** Picks any available question with equal probability */
+        RANDOM,
+        /** Picks the question with the highest expected points (accuracy * points) */
+        BEST_EXPECTED_VALUE
+    }
+
+    private final String name;
+    private final Strategy strategy;
+    private double defaultAccuracy;
+    private final Map<String, Double> categoryAccuracy;
+    private final Map<String, Double> questionAccuracy;
+
+    /**
+     * @param name The name of the simulated team
+     * @param defaultAccuracy Probability of a correct answer when nothing more specific is set
+     * @param strategy The strategy used to pick questions
+     */
+    public BotProfile(String name, double defaultAccuracy, Strategy strategy) {
+        this.name = name;
+        this.strategy = strategy == null ? Strategy.RANDOM : strategy;
+        this.categoryAccuracy = new HashMap<>();
+        this.questionAccuracy = new HashMap<>();
+        setDefaultAccuracy(defaultAccuracy);
+    }
+
+    public void setDefaultAccuracy(double accuracy) {
+        this.defaultAccuracy = checkAccuracy(accuracy);
+    }
+
+    /**
+     * Sets the accuracy for all questions of a category
+     * @param categoryName The name of the category
+     * @param accuracy Probability of a correct answer
+     */
+    public void setCategoryAccuracy(String categoryName, double accuracy) {
+        categoryAccuracy.put(normalize(categoryName), checkAccuracy(accuracy));
+    }
+
+    /**
+     * Sets the accuracy for a single point value of a category
+     * @param categoryName The name of the category
+     * @param points The point value
+     * @param accuracy Probability of a correct answer
+     */
+    public void setAccuracy(String categoryName, int points, double accuracy) {
+        questionAccuracy.put(normalize(categoryName) + ":" + points, checkAccuracy(accuracy));
+    }
+
+    /**
+     * Gets the accuracy for a question. Question settings win over category settings,
+     * which win over the default accuracy.
+     */
+    public double getAccuracy(String categoryName, int points) {
+        String category = normalize(categoryName);
+        Double accuracy = questionAccuracy.get(category + ":" + points);
+        if (accuracy == null) {
+            accuracy = categoryAccuracy.get(category);
+        }
+        return accuracy == null ? defaultAccuracy : accuracy;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    private static double checkAccuracy(double accuracy) {
+        if (accuracy < 0.0 || accuracy > 1.0 || Double.isNaN(accuracy)) {
+            throw new IllegalArgumentException("Accuracy must be between 0 and 1: " + accuracy);
+        }
+        return accuracy;
+    }
+
+    private static String normalize(String categoryName) {
+        return categoryName == null ? "" : categoryName.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,39 +1,113 @@
 package dhbw.dgp;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
+/**
+ * A category with its questions. Point values are kept in a sorted {@code int[]} with the
+ * questions in a parallel array, so lookups are a binary search without boxing.
+ */
 public class Category {
-    private Map<Integer, Question> pointQuestionMap;
+    private int[] points;
+    private Question[] questions;
+    private int size;
     private String name;
+    // Immutable view of the point values, rebuilt after a point value was added or removed
+    private List<Integer> pointValues;
+    private Map<Integer, Question> pointQuestionMap;
 
     public Category(String name, Map<Integer, Question> questionsMap) {
         this.name = name;
-        this.pointQuestionMap = questionsMap;
+        this.points = new int[Math.max(4, questionsMap.size())];
+        this.questions = new Question[points.length];
+        for (Map.Entry<Integer, Question> entry : questionsMap.entrySet()) {
+            addOrReplaceQuestion(entry.getKey(), entry.getValue());
+        }
     }
 
     public Question getQuestion(int points) {
-        return pointQuestionMap.get(points);
+        int index = indexOf(points);
+        return index >= 0 ? questions[index] : null;
     }
 
     public void addOrReplaceQuestion(int points, Question question) {
-        pointQuestionMap.put(points, question);
+        int index = indexOf(points);
+        if (index >= 0) {
+            questions[index] = question;
+            return;
+        }
+        insertAt(-index - 1, points, question);
+    }
+
+    /**
+     * @param points The point value
+     * @return true if the category has a question with this point value
+     */
+    public boolean hasQuestion(int points) {
+        return indexOf(points) >= 0;
     }
 
     /**
-     * Gets the map of point values with their questions
+     * @return number of questions
+     */
+    public int getQuestionCount() {
+        return size;
+    }
+
+    /**
+     * Gets a point value by position, for iterating without boxing
+     * @param index Position from 0 (lowest point value) to {@link #getQuestionCount()} - 1
+     * @return The point value
+     */
+    public int getPointValue(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return points[index];
+    }
+
+    /**
+     * Gets a question by position, in the order of the point values
+     * @param index Position from 0 to {@link #getQuestionCount()} - 1
+     * @return The question
+     */
+    public Question getQuestionAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return questions[index];
+    }
+
+    /**
+     * Gets the map of point values with their questions. The map is a view sorted by points;
+     * changes to it change the category.
      * @return Map of Integer points to Question objects
      */
     public Map<Integer, Question> getPointQuestionMap() {
+        if (pointQuestionMap == null) {
+            pointQuestionMap = new PointQuestionMap();
+        }
         return pointQuestionMap;
     }
 
+    /**
+     * @return The point values in ascending order, as an immutable list that is cached until the points change
+     */
     public List<Integer> getPointValues() {
-        List<Integer> points = new ArrayList<>(pointQuestionMap.keySet());
-        Collections.sort(points);
-        return points;
+        if (pointValues == null) {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = points[i];
+            }
+            pointValues = List.of(boxed);
+        }
+        return pointValues;
     }
 
     /**
@@ -43,4 +117,122 @@ public class Category {
     public String getName() {
         return name;
     }
+
+    private int indexOf(int value) {
+        return Arrays.binarySearch(points, 0, size, value);
+    }
+
+    private void insertAt(int index, int value, Question question) {
+        if (size == points.length) {
+            points = Arrays.copyOf(points, size * 2);
+            questions = Arrays.copyOf(questions, size * 2);
+        }
+        System.arraycopy(points, index, points, index + 1, size - index);
+        System.arraycopy(questions, index, questions, index + 1, size - index);
+        points[index] = value;
+        questions[index] = question;
+        size++;
+        pointValues = null;
+    }
+
+    private Question removeAt(int index) {
+        Question removed = questions[index];
+        System.arraycopy(points, index + 1, points, index, size - index - 1);
+        System.arraycopy(questions, index + 1, questions, index, size - index - 1);
+        questions[--size] = null;
+        pointValues = null;
+        return removed;
+    }
+
+    /**
+     * Map view over the arrays of the category.
+     */
+    private final class PointQuestionMap extends AbstractMap<Integer, Question> {
+        private Set<Map.Entry<Integer, Question>> entries;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer && indexOf((Integer) key) >= 0;
+        }
+
+        @Override
+        public Question get(Object key) {
+            return key instanceof Integer ? getQuestion((Integer) key) : null;
+        }
+
+        @Override
+        public Question put(Integer key, Question value) {
+            Question previous = getQuestion(key);
+            addOrReplaceQuestion(key, value);
+            return previous;
+        }
+
+        @Override
+        public Question remove(Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            int index = indexOf((Integer) key);
+            return index >= 0 ? removeAt(index) : null;
+        }
+
+        @Override
+        public Set<Map.Entry<Integer, Question>> entrySet() {
+            if (entries == null) {
+                entries = new AbstractSet<>() {
+                    @Override
+                    public Iterator<Map.Entry<Integer, Question>> iterator() {
+                        return new EntryIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+            return entries;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Question>> {
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<Integer, Question> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            int index = last;
+            return new AbstractMap.SimpleEntry<>(points[index], questions[index]) {
+                @Override
+                public Question setValue(Question value) {
+                    questions[index] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
 }
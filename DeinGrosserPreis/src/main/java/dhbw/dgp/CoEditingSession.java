@@ -0,0 +1,390 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lets several authors edit the questions of one configuration at the same time. Every question
+ * is an immutable snapshot with its own version stamp in an atomic slot, so edits are
+ * compare-and-set operations without a global lock.
+ *
+ * <p>Each author works on a private draft ({@link #openEditor()}). On commit the draft replaces the
+ * question if nobody changed it in the meantime. Otherwise the changes are merged field by field
+ * against the version the author started from: edits to different fields (e.g. the prompt and the
+ * third answer) both survive, and only fields changed by both authors to different values are
+ * reported as conflicts.</p>
+ *
+ * <p>The structure of the configuration (categories and point values) is fixed for a session.
+ * Authors that keep their own copy of the configuration follow the commits with a
+ * {@link CommitListener}.</p>
+ */
+public class CoEditingSession {
+    private static final Map<String, CoEditingSession> SESSIONS = new ConcurrentHashMap<>();
+
+    private final String title;
+    private final String[] categoryNames;
+    private final int[][] points;
+    private final AtomicReferenceArray<VersionedQuestion>[] slots;
+    // Newest version written to the database per question; also the lock for writing a category
+    private final long[][] persisted;
+    private final DatabaseConnector databaseConnector;
+    private final List<CommitListener> commitListeners = new CopyOnWriteArrayList<>();
+    // Authors that joined via shared() and have not left yet, only changed inside SESSIONS.compute
+    private int participants;
+
+    /**
+     * Is notified after a commit was applied, on the thread of the committing author
+     */
+    public interface CommitListener {
+        void committed(int categoryIndex, int points, PersistentQuestion question);
+    }
+
+    /**
+     * @param configuration The configuration to edit; its current questions are the first versions
+     * @param databaseConnector Receives every committed question, or null to keep changes in memory only
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CoEditingSession(Configuration configuration, DatabaseConnector databaseConnector) {
+        this.title = configuration.getTitle();
+        this.databaseConnector = databaseConnector;
+        List<Category> categories = configuration.getCategories();
+        this.categoryNames = new String[categories.size()];
+        this.points = new int[categories.size()][];
+        this.slots = new AtomicReferenceArray[categories.size()];
+        this.persisted = new long[categories.size()][];
+        for (int c = 0; c < categories.size(); c++) {
+            Category category = categories.get(c);
+            categoryNames[c] = category.getName();
+            points[c] = new int[category.getQuestionCount()];
+            slots[c] = new AtomicReferenceArray<>(points[c].length);
+            persisted[c] = new long[points[c].length];
+            for (int q = 0; q < points[c].length; q++) {
+                points[c][q] = category.getPointValue(q);
+                slots[c].set(q, new VersionedQuestion(PersistentQuestion.of(category.getQuestionAt(q)), 1));
+            }
+        }
+    }
+
+    /**
+     * Joins the session of a configuration shared by all authors in this process, creating it on
+     * first use. Every author that joins must {@link #leave()} again.
+     * @param configuration The configuration
+     * @param databaseConnector Receives every committed question
+     * @return The shared session
+     */
+    public static CoEditingSession shared(Configuration configuration, DatabaseConnector databaseConnector) {
+        return SESSIONS.compute(ConfigurationStore.normalizeTitle(configuration.getTitle()), (key, session) -> {
+            CoEditingSession joined = session != null ? session : new CoEditingSession(configuration, databaseConnector);
+            joined.participants++;
+            return joined;
+        });
+    }
+
+    /**
+     * Leaves a session joined with {@link #shared}. When the last author has left, the session is
+     * closed and the next author starts a new one from the stored configuration.
+     */
+    public void leave() {
+        SESSIONS.computeIfPresent(ConfigurationStore.normalizeTitle(title), (key, session) -> {
+            if (session != this) {
+                return session;
+            }
+            return --participants > 0 ? this : null;
+        });
+    }
+
+    public void addCommitListener(CommitListener listener) {
+        commitListeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeCommitListener(CommitListener listener) {
+        commitListeners.remove(listener);
+    }
+
+    /**
+     * @param categoryIndex Position of the category
+     * @param points Point value of the question
+     * @return true if the session has this question
+     */
+    public boolean hasQuestion(int categoryIndex, int points) {
+        return categoryIndex >= 0 && categoryIndex < this.points.length
+                && Arrays.binarySearch(this.points[categoryIndex], points) >= 0;
+    }
+
+    /**
+     * Reads the newest version of a question
+     * @param categoryIndex Position of the category
+     * @param points Point value of the question
+     * @return The question with its version stamp
+     */
+    public VersionedQuestion read(int categoryIndex, int points) {
+        return slots[categoryIndex].get(slotOf(categoryIndex, points));
+    }
+
+    /**
+     * Replaces a question if it still has the expected version, merging otherwise
+     * @param categoryIndex Position of the category
+     * @param points Point value of the question
+     * @param base The version the edit started from
+     * @param edited The edited question
+     * @return The outcome with the new version or the conflicting fields
+     */
+    public EditResult commit(int categoryIndex, int points, VersionedQuestion base, PersistentQuestion edited) {
+        Objects.requireNonNull(base, "base");
+        Objects.requireNonNull(edited, "edited");
+        AtomicReferenceArray<VersionedQuestion> category = slots[categoryIndex];
+        int slot = slotOf(categoryIndex, points);
+        while (true) {
+            VersionedQuestion current = category.get(slot);
+            PersistentQuestion result = edited;
+            if (current.version() != base.version()) {
+                List<Conflict> conflicts = new ArrayList<>();
+                result = merge(base.question(), current.question(), edited, conflicts);
+                if (!conflicts.isEmpty()) {
+                    return new EditResult(current, conflicts);
+                }
+            }
+            VersionedQuestion next = new VersionedQuestion(result, current.version() + 1);
+            if (category.compareAndSet(slot, current, next)) {
+                persist(categoryIndex, slot);
+                for (CommitListener listener : commitListeners) {
+                    listener.committed(categoryIndex, points, result);
+                }
+                return new EditResult(next, List.of());
+            }
+            // Another commit came first, merge against it
+        }
+    }
+
+    /**
+     * Opens a private editor for one author
+     * @return The editor
+     */
+    public Editor openEditor() {
+        return new Editor();
+    }
+
+    /**
+     * @return A mutable configuration with the newest version of every question
+     */
+    public Configuration toConfiguration() {
+        Configuration configuration = new Configuration(title);
+        for (int c = 0; c < categoryNames.length; c++) {
+            Map<Integer, Question> questions = new TreeMap<>();
+            for (int q = 0; q < points[c].length; q++) {
+                questions.put(points[c][q], slots[c].get(q).question().toQuestion());
+            }
+            configuration.addCategory(new Category(categoryNames[c], questions));
+        }
+        return configuration;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Writes the newest version of a question. Commits that raced write in version order, and a
+     * commit whose version was already written by a later one writes nothing.
+     */
+    private void persist(int categoryIndex, int slot) {
+        if (databaseConnector == null) {
+            return;
+        }
+        synchronized (persisted[categoryIndex]) {
+            VersionedQuestion newest = slots[categoryIndex].get(slot);
+            if (newest.version() <= persisted[categoryIndex][slot]) {
+                return;
+            }
+            databaseConnector.saveQuestions(title, List.of(new DatabaseConnector.QuestionUpdate(
+                    categoryIndex, points[categoryIndex][slot], newest.question().toQuestion())));
+            persisted[categoryIndex][slot] = newest.version();
+        }
+    }
+
+    private int slotOf(int categoryIndex, int value) {
+        int slot = Arrays.binarySearch(points[categoryIndex], value);
+        if (slot < 0) {
+            throw new IllegalArgumentException("No question with " + value + " points in category " + categoryIndex);
+        }
+        return slot;
+    }
+
+    /**
+     * Three-way merge of a question: a field takes the value of whichever side changed it
+     */
+    static PersistentQuestion merge(PersistentQuestion base, PersistentQuestion theirs, PersistentQuestion mine, List<Conflict> conflicts) {
+        String prompt = mergeField("Fragetext", base.getPrompt(), theirs.getPrompt(), mine.getPrompt(), conflicts);
+
+        List<String> answers;
+        int baseCount = base.getAnswers().size();
+        if (theirs.getAnswers().size() == baseCount && mine.getAnswers().size() == baseCount) {
+            answers = new ArrayList<>(baseCount);
+            for (int a = 0; a < baseCount; a++) {
+                answers.add(mergeField("Antwort " + (a + 1), base.getAnswers().get(a),
+                        theirs.getAnswers().get(a), mine.getAnswers().get(a), conflicts));
+            }
+        } else {
+            // The number of answers changed: the list can only be taken as a whole
+            answers = mergeField("Antworten", base.getAnswers(), theirs.getAnswers(), mine.getAnswers(), conflicts);
+        }
+
+        Integer correct = mergeField("Richtige Antwort", base.getCorrectAnswerIndex(),
+                theirs.getCorrectAnswerIndex(), mine.getCorrectAnswerIndex(), conflicts);
+        if (!conflicts.isEmpty()) {
+            return null;
+        }
+        if (correct >= answers.size()) {
+            conflicts.add(new Conflict("Richtige Antwort", String.valueOf(base.getCorrectAnswerIndex() + 1),
+                    String.valueOf(theirs.getCorrectAnswerIndex() + 1), String.valueOf(mine.getCorrectAnswerIndex() + 1)));
+            return null;
+        }
+        return PersistentQuestion.of(prompt, answers, correct);
+    }
+
+    private static <T> T mergeField(String field, T base, T theirs, T mine, List<Conflict> conflicts) {
+        if (Objects.equals(mine, base) || Objects.equals(mine, theirs)) {
+            return theirs;
+        }
+        if (Objects.equals(theirs, base)) {
+            return mine;
+        }
+        conflicts.add(new Conflict(field, String.valueOf(base), String.valueOf(theirs), String.valueOf(mine)));
+        return mine;
+    }
+
+    /**
+     * An immutable question with its version stamp.
+     */
+    public record VersionedQuestion(PersistentQuestion question, long version) {
+    }
+
+    /**
+     * A field that two authors changed to different values.
+     * @param field Name of the field for the user, e.g. "Antwort 2"
+     * @param base Value both authors started from
+     * @param theirs Value committed by the other author
+     * @param mine Value of the rejected edit
+     */
+    public record Conflict(String field, String base, String theirs, String mine) {
+        @Override
+        public String toString() {
+            return field + ": \"" + mine + "\" widerspricht \"" + theirs + "\" (vorher \"" + base + "\")";
+        }
+    }
+
+    /**
+     * Outcome of a commit.
+     */
+    public static class EditResult {
+        private final VersionedQuestion question;
+        private final List<Conflict> conflicts;
+
+        EditResult(VersionedQuestion question, List<Conflict> conflicts) {
+            this.question = question;
+            this.conflicts = List.copyOf(conflicts);
+        }
+
+        public boolean isApplied() {
+            return conflicts.isEmpty();
+        }
+
+        /**
+         * @return the committed version if applied, otherwise the newest version that caused the conflicts
+         */
+        public VersionedQuestion getQuestion() {
+            return question;
+        }
+
+        public List<Conflict> getConflicts() {
+            return conflicts;
+        }
+    }
+
+    /**
+     * Editor of one author, with the same operations as {@link QuestionEditor}. Changes stay in a
+     * private draft until {@link #commit()}.
+     */
+    public class Editor {
+        private int categoryIndex = -1;
+        private int points;
+        private VersionedQuestion base;
+        private PersistentQuestion draft;
+
+        /**
+         * Starts editing a question from its newest version
+         * @param categoryIndex Position of the category
+         * @param points Point value of the question
+         * @return The question as it is now
+         */
+        public PersistentQuestion setQuestionInEditing(int categoryIndex, int points) {
+            this.base = read(categoryIndex, points);
+            this.categoryIndex = categoryIndex;
+            this.points = points;
+            this.draft = base.question();
+            return draft;
+        }
+
+        public void clearQuestionInEditing() {
+            categoryIndex = -1;
+            base = null;
+            draft = null;
+        }
+
+        public PersistentQuestion getCurrentQuestionInEditing() {
+            return draft;
+        }
+
+        public void updateQuestionText(String text) {
+            if (draft != null) {
+                draft = draft.withPrompt(text);
+            }
+        }
+
+        public void updateAnswer(int index, String answer) {
+            if (draft != null) {
+                draft = draft.withAnswer(index, answer);
+            }
+        }
+
+        public void setCorrectAnswerIndex(int index) {
+            if (draft != null) {
+                draft = draft.withCorrectAnswerIndex(index);
+            }
+        }
+
+        /**
+         * Commits the draft. If it was applied, editing continues from the committed version;
+         * on conflicts the draft is kept so the author can resolve them and commit again.
+         * @return The outcome
+         * @throws IllegalStateException if no question is in editing
+         */
+        public EditResult commit() {
+            if (draft == null) {
+                throw new IllegalStateException("Keine Frage in Bearbeitung");
+            }
+            EditResult result = CoEditingSession.this.commit(categoryIndex, points, base, draft);
+            if (result.isApplied()) {
+                base = result.getQuestion();
+                draft = base.question();
+            }
+            return result;
+        }
+
+        /**
+         * Rebases the draft on the newest version, e.g. after resolving a conflict by taking the other value
+         */
+        public void rebase() {
+            if (draft != null) {
+                base = read(categoryIndex, points);
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package dhbw.dgp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-compact storage for large question libraries. Instead of a {@code String} per prompt
+ * and an answer list per question, all texts live as UTF-8 in one shared byte arena and every
+ * question is a few ints in parallel arrays. Equal answers are stored only once, so common answers
+ * like "Ja" or "Nein" cost four bytes per use; prompts are nearly always unique and are not looked up.
+ *
+ * <p>{@link #get(int)} hands out lightweight {@link Question} views; reading a view decodes the
+ * text on demand and editing it writes back into the store, so the editor works unchanged.
+ * An edited prompt is written over the old one when it fits into its bytes; a longer prompt and
+ * replaced answers stay in the arena until the store is discarded. Answer texts are shared and
+ * are never overwritten. Like {@link Question}, the store is not thread-safe.</p>
+ */
+public class CompactQuestionStore {
+    private static final int NULL_STRING = -1;
+
+    // String table: text of string i is text[stringStart[i] .. stringStart[i + 1])
+    private byte[] text = new byte[1024];
+    private int textSize;
+    private int[] stringStart = new int[17];
+    // Hash of deduplicated strings, 0 for prompts which are not in the lookup table
+    private int[] stringHash = new int[16];
+    private int stringCount;
+    // Open addressing: string id + 1, 0 for an empty slot
+    private int[] slots = new int[32];
+    private int internedCount;
+
+    // Questions: the answers of question q are answerIds[answerStart[q] .. answerStart[q] + answerCount[q]).
+    // The prompt of q is the first promptLength[q] bytes of string promptIds[q], whose bytes are
+    // owned by q alone; a length of NULL_STRING stands for a null prompt
+    private int[] promptIds = new int[16];
+    private int[] promptLength = new int[16];
+    private int[] answerStart = new int[16];
+    private int[] answerCount = new int[16];
+    private int[] correctIndex = new int[16];
+    private int questionCount;
+    private int[] answerIds = new int[64];
+    private int answerIdCount;
+
+    /**
+     * Adds a question to the store
+     * @param question The question to copy into the store
+     * @return Index of the stored question
+     */
+    public int add(Question question) {
+        List<String> answers = question.getAnswers();
+        if (questionCount == promptIds.length) {
+            int capacity = Math.max(16, questionCount * 2);
+            promptIds = Arrays.copyOf(promptIds, capacity);
+            promptLength = Arrays.copyOf(promptLength, capacity);
+            answerStart = Arrays.copyOf(answerStart, capacity);
+            answerCount = Arrays.copyOf(answerCount, capacity);
+            correctIndex = Arrays.copyOf(correctIndex, capacity);
+        }
+        int index = questionCount++;
+        promptIds[index] = NULL_STRING;
+        setPrompt(index, question.getQuestion());
+        writeAnswers(index, answers, false);
+        correctIndex[index] = question.getCorrectAnswerIndex();
+        return index;
+    }
+
+    /**
+     * Moves all questions of a configuration into the store and replaces them with views
+     * @param configuration The configuration whose questions are replaced
+     */
+    public void compact(Configuration configuration) {
+        for (Category category : configuration.getCategories()) {
+            for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
+                if (!(entry.getValue() instanceof CompactQuestion)) {
+                    entry.setValue(get(add(entry.getValue())));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a view of a stored question. Views are cheap; changes through a view change the store.
+     * @param index Index returned by {@link #add(Question)}
+     * @return The view
+     */
+    public Question get(int index) {
+        if (index < 0 || index >= questionCount) {
+            throw new IndexOutOfBoundsException("Question index out of range: " + index);
+        }
+        return new CompactQuestion(this, index);
+    }
+
+    public int size() {
+        return questionCount;
+    }
+
+    /**
+     * @return number of distinct texts in the string table
+     */
+    public int getDistinctTextCount() {
+        return stringCount;
+    }
+
+    /**
+     * @return bytes of UTF-8 text held in the arena
+     */
+    public int getTextBytes() {
+        return textSize;
+    }
+
+    // ---------------------------------------------------------------- string table
+
+    /**
+     * Shrinks all arrays to their used size, e.g. after a bulk load
+     */
+    public void trimToSize() {
+        text = Arrays.copyOf(text, textSize);
+        stringStart = Arrays.copyOf(stringStart, stringCount + 1);
+        stringHash = Arrays.copyOf(stringHash, stringCount);
+        promptIds = Arrays.copyOf(promptIds, questionCount);
+        promptLength = Arrays.copyOf(promptLength, questionCount);
+        answerStart = Arrays.copyOf(answerStart, questionCount);
+        answerCount = Arrays.copyOf(answerCount, questionCount);
+        correctIndex = Arrays.copyOf(correctIndex, questionCount);
+        answerIds = Arrays.copyOf(answerIds, answerIdCount);
+    }
+
+    /**
+     * Sets the prompt of a question, reusing the bytes of its old prompt if the new one fits
+     */
+    private void setPrompt(int index, String prompt) {
+        if (prompt == null) {
+            // Keep the bytes, a later prompt may fit into them
+            promptLength[index] = NULL_STRING;
+            return;
+        }
+        byte[] bytes = prompt.getBytes(StandardCharsets.UTF_8);
+        int id = promptIds[index];
+        if (id != NULL_STRING && bytes.length <= stringStart[id + 1] - stringStart[id]) {
+            System.arraycopy(bytes, 0, text, stringStart[id], bytes.length);
+        } else {
+            // Prompts are unique, so they are not added to the lookup table
+            promptIds[index] = appendString(bytes, 0);
+        }
+        promptLength[index] = bytes.length;
+    }
+
+    private String prompt(int index) {
+        int length = promptLength[index];
+        return length == NULL_STRING ? null : new String(text, stringStart[promptIds[index]], length, StandardCharsets.UTF_8);
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return NULL_STRING;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0) {
+                id = appendString(bytes, hash);
+                slots[slot] = id + 1;
+                if (++internedCount * 2 > slots.length) {
+                    rehash();
+                }
+                return id;
+            }
+            if (stringHash[id] == hash && Arrays.equals(text, stringStart[id], stringStart[id + 1], bytes, 0, bytes.length)) {
+                return id;
+            }
+        }
+    }
+
+    private int appendString(byte[] bytes, int hash) {
+        if (textSize + bytes.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(textSize + bytes.length, text.length * 2));
+        }
+        if (stringCount == stringHash.length) {
+            stringHash = Arrays.copyOf(stringHash, Math.max(16, stringCount * 2));
+            stringStart = Arrays.copyOf(stringStart, stringHash.length + 1);
+        }
+        System.arraycopy(bytes, 0, text, textSize, bytes.length);
+        textSize += bytes.length;
+        int id = stringCount++;
+        stringHash[id] = hash;
+        stringStart[id + 1] = textSize;
+        return id;
+    }
+
+    private void rehash() {
+        int[] grown = new int[slots.length * 2];
+        int mask = grown.length - 1;
+        for (int id = 0; id < stringCount; id++) {
+            if (stringHash[id] == 0) {
+                continue;
+            }
+            int slot = stringHash[id] & mask;
+            while (grown[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            grown[slot] = id + 1;
+        }
+        slots = grown;
+    }
+
+    private String string(int id) {
+        if (id == NULL_STRING) {
+            return null;
+        }
+        return new String(text, stringStart[id], stringStart[id + 1] - stringStart[id], StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] bytes) {
+        int hash = 0x811C9DC5;
+        for (byte b : bytes) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        // Spread the bits, the table uses the low ones; 0 is reserved for prompts
+        hash ^= hash >>> 16;
+        return hash == 0 ? 1 : hash;
+    }
+
+    // ---------------------------------------------------------------- answers
+
+    private void writeAnswers(int index, List<String> answers, boolean existing) {
+        int count = answers.size();
+        // An edited question keeps its slots if the new answers fit
+        int start = existing && count <= answerCount[index] ? answerStart[index] : reserveAnswerIds(count);
+        for (int i = 0; i < count; i++) {
+            answerIds[start + i] = intern(answers.get(i));
+        }
+        answerStart[index] = start;
+        answerCount[index] = count;
+    }
+
+    private int reserveAnswerIds(int count) {
+        if (answerIdCount + count > answerIds.length) {
+            answerIds = Arrays.copyOf(answerIds, Math.max(answerIdCount + count, answerIds.length * 2));
+        }
+        int start = answerIdCount;
+        answerIdCount += count;
+        return start;
+    }
+
+    /**
+     * Question backed by the arrays of the store. It holds no text itself.
+     */
+    private static final class CompactQuestion extends Question {
+        private final CompactQuestionStore store;
+        private final int index;
+
+        CompactQuestion(CompactQuestionStore store, int index) {
+            this.store = store;
+            this.index = index;
+        }
+
+        @Override
+        public String getQuestion() {
+            return store.prompt(index);
+        }
+
+        @Override
+        public void setQuestion(String question) {
+            store.setPrompt(index, question);
+        }
+
+        /**
+         * @return immutable list that decodes the answers on access; later edits do not change it,
+         * because it keeps the string ids and answer texts are never overwritten
+         */
+        @Override
+        public List<String> getAnswers() {
+            int start = store.answerStart[index];
+            int[] ids = Arrays.copyOfRange(store.answerIds, start, start + store.answerCount[index]);
+            return new AbstractList<>() {
+                @Override
+                public String get(int position) {
+                    return store.string(ids[position]);
+                }
+
+                @Override
+                public int size() {
+                    return ids.length;
+                }
+            };
+        }
+
+        @Override
+        public void setAnswer(int position, String answer) {
+            if (position >= 0 && position < store.answerCount[index]) {
+                store.answerIds[store.answerStart[index] + position] = store.intern(answer);
+            }
+        }
+
+        @Override
+        public void setAnswers(List<String> newAnswers, int correctIndex) {
+            if (newAnswers == null || newAnswers.isEmpty()) {
+                throw new IllegalArgumentException("answers must not be empty");
+            }
+            if (correctIndex < 0 || correctIndex >= newAnswers.size()) {
+                throw new IllegalArgumentException("Correct answer index out of bounds: " + correctIndex);
+            }
+            store.writeAnswers(index, newAnswers, true);
+            store.correctIndex[index] = correctIndex;
+        }
+
+        @Override
+        public int getCorrectAnswerIndex() {
+            return store.correctIndex[index];
+        }
+
+        @Override
+        public void setCorrectAnswerIndex(int index) {
+            if (index < 0 || index >= store.answerCount[this.index]) {
+                throw new IllegalArgumentException("Correct answer index out of bounds: " + index);
+            }
+            store.correctIndex[this.index] = index;
+        }
+
+        @Override
+        public String getCorrectAnswer() {
+            return store.string(store.answerIds[store.answerStart[index] + store.correctIndex[index]]);
+        }
+
+        @Override
+        public int getNumberOfAnswers() {
+            return store.answerCount[index];
+        }
+
+        /**
+         * @return A regular question on the heap, independent of the store
+         */
+        @Override
+        public Question copy() {
+            return new Question(getQuestion(), getAnswers(), getCorrectAnswerIndex());
+        }
+    }
+}
@@ -2,14 +2,28 @@ package dhbw.dgp;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class Configuration {
     private String title;
-    private List<Category> categories;
+    private volatile List<Category> categories;
+    // Snapshot the categories are built from on first access
+    private final PersistentConfiguration source;
 
     public Configuration(String title) {
         this.title = title;
         this.categories = new ArrayList<>();
+        this.source = null;
+    }
+
+    /**
+     * Creates a configuration with the content of a snapshot. The mutable categories are only
+     * built when they are first accessed, so creating the configuration is cheap.
+     * @param source The snapshot
+     */
+    Configuration(PersistentConfiguration source) {
+        this.title = source.getTitle();
+        this.source = source;
     }
 
     /**
@@ -33,7 +47,8 @@ public class Configuration {
      * @return The list of categories
      */
     public List<Category> getCategories() {
-        return categories;
+        List<Category> loaded = categories;
+        return loaded != null ? loaded : buildCategories();
     }
 
     /**
@@ -41,6 +56,29 @@ public class Configuration {
      * @param category The category to add
      */
     public void addCategory(Category category) {
-        this.categories.add(category);
+        getCategories().add(category);
+    }
+
+    /**
+     * Gets the snapshot this configuration was created from, as long as its categories have
+     * never been accessed and therefore cannot have been changed
+     * @return The snapshot with the current title, or null
+     */
+    PersistentConfiguration unchangedSource() {
+        if (categories != null) {
+            return null;
+        }
+        return Objects.equals(title, source.getTitle()) ? source : source.withTitle(title);
+    }
+
+    private synchronized List<Category> buildCategories() {
+        if (categories == null) {
+            List<Category> built = new ArrayList<>(source.getCategories().size());
+            for (PersistentCategory category : source.getCategories()) {
+                built.add(category.toCategory());
+            }
+            categories = built;
+        }
+        return categories;
     }
-}
\ No newline at end of file
+}
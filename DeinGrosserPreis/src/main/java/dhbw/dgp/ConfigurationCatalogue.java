@@ -0,0 +1,142 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe catalogue of configuration snapshots, keyed by normalized title. Every stored
+ * snapshot carries a version stamp that grows with each save, so a host can load a configuration,
+ * change it and save it only if nobody else saved in between. {@link #update} changes parts of a
+ * configuration without discarding other saves and keeps the version. Lookups never lock; saves of
+ * different titles never block each other.
+ */
+public class ConfigurationCatalogue {
+    /**
+     * Version passed to {@link #save(Configuration, long)} to only create a configuration that does not exist yet
+     */
+    public static final long ABSENT = 0;
+
+    private final ConcurrentMap<String, Versioned> entries = new ConcurrentHashMap<>();
+    // Versions come from one counter, so a removed and recreated title never repeats an old version
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * @param title The title (case and surrounding whitespace are ignored)
+     * @return The stored snapshot with its version, or null if the title is unknown
+     */
+    public Versioned get(String title) {
+        return entries.get(ConfigurationStore.normalizeTitle(title));
+    }
+
+    /**
+     * Saves a configuration, replacing any stored version. The version is drawn while the entry is
+     * locked, so of two racing saves the one with the higher version is stored.
+     * @param configuration The configuration
+     * @return The new version
+     */
+    public long save(Configuration configuration) {
+        PersistentConfiguration snapshot = PersistentConfiguration.of(configuration);
+        return entries.compute(ConfigurationStore.normalizeTitle(configuration.getTitle()), (key, current) -> {
+            Versioned next = new Versioned(snapshot, versions.incrementAndGet());
+            return current != null && current.version() > next.version() ? current : next;
+        }).version();
+    }
+
+    /**
+     * Saves a configuration only if the stored version is still the expected one
+     * @param configuration The configuration
+     * @param expectedVersion Version that was loaded, or {@link #ABSENT} for a new configuration
+     * @return The new version, or -1 if another save came first
+     */
+    public long save(Configuration configuration, long expectedVersion) {
+        PersistentConfiguration snapshot = PersistentConfiguration.of(configuration);
+        String key = ConfigurationStore.normalizeTitle(configuration.getTitle());
+        Versioned next = new Versioned(snapshot, versions.incrementAndGet());
+        if (expectedVersion == ABSENT) {
+            return entries.putIfAbsent(key, next) == null ? next.version() : -1;
+        }
+        Versioned current = entries.get(key);
+        if (current == null || current.version() != expectedVersion) {
+            return -1;
+        }
+        return entries.replace(key, current, next) ? next.version() : -1;
+    }
+
+    /**
+     * Changes a stored configuration atomically and keeps its version. The function may run more
+     * than once if saves race.
+     * @param title The title of the configuration
+     * @param change Returns the changed snapshot, or null to leave the configuration unchanged
+     * @return The version, or -1 if the title is unknown or the function returned null
+     */
+    public long update(String title, UnaryOperator<PersistentConfiguration> change) {
+        String key = ConfigurationStore.normalizeTitle(title);
+        while (true) {
+            Versioned current = entries.get(key);
+            if (current == null) {
+                return -1;
+            }
+            PersistentConfiguration changed = change.apply(current.configuration());
+            if (changed == null) {
+                return -1;
+            }
+            Versioned next = new Versioned(changed, current.version());
+            if (entries.replace(key, current, next)) {
+                return next.version();
+            }
+        }
+    }
+
+    /**
+     * @param title The title of the configuration
+     * @return true if a configuration was removed
+     */
+    public boolean remove(String title) {
+        return entries.remove(ConfigurationStore.normalizeTitle(title)) != null;
+    }
+
+    /**
+     * @return Summaries of all stored configurations sorted by title
+     */
+    public List<ConfigurationSummary> getSummaries() {
+        List<ConfigurationSummary> summaries = new ArrayList<>(entries.size());
+        for (Versioned entry : entries.values()) {
+            summaries.add(entry.configuration().getSummary());
+        }
+        summaries.sort(Comparator.comparing(ConfigurationSummary::getTitle));
+        return summaries;
+    }
+
+    /**
+     * @return Snapshots of all stored configurations sorted by title
+     */
+    public List<PersistentConfiguration> getSnapshots() {
+        List<PersistentConfiguration> snapshots = new ArrayList<>(entries.size());
+        for (Versioned entry : entries.values()) {
+            snapshots.add(entry.configuration());
+        }
+        snapshots.sort(Comparator.comparing(PersistentConfiguration::getTitle));
+        return snapshots;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * A stored snapshot and its version stamp.
+     * @param configuration The snapshot
+     * @param version Greater than every version handed out before
+     */
+    public record Versioned(PersistentConfiguration configuration, long version) {
+    }
+}
@@ -0,0 +1,272 @@
+package dhbw.dgp;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact, versioned binary format for configurations with their categories and questions.
+ * All strings (titles, category names, prompts, answers) are stored once in a string table at
+ * the start and referenced by number, so answers like "Ja"/"Nein" or category names used by
+ * several configurations cost one or two bytes per use. Numbers are written as varints.
+ *
+ * <p>Layout: {@code int magic, byte version, varint stringCount, strings, varint configurationCount,
+ * configurations}. A string is {@code varint byteLength, UTF-8 bytes}; string reference 0 stands
+ * for null, 1 for the first string of the table. A configuration is {@code title, varint
+ * categoryCount} followed by the categories: {@code name, varint questionCount} and per question
+ * {@code zigzag-varint points, prompt, varint answerCount, answers, varint correctAnswerIndex}.</p>
+ *
+ * <p>The reader works directly on a {@link ByteBuffer}, e.g. a record read from disk or a mapped
+ * file, and decodes every string of the table only once.</p>
+ */
+public final class ConfigurationCodec {
+    static final int MAGIC = 0x44475042; // "DGPB"
+    static final byte VERSION = 1;
+
+    private ConfigurationCodec() {
+    }
+
+    /**
+     * Encodes a single configuration
+     * @param configuration The configuration
+     * @return The encoded bytes
+     */
+    public static byte[] encode(Configuration configuration) {
+        return encode(List.of(configuration));
+    }
+
+    /**
+     * Encodes several configurations with one shared string table
+     * @param configurations The configurations
+     * @return The encoded bytes
+     */
+    public static byte[] encode(List<Configuration> configurations) {
+        // First pass: number the distinct strings in order of appearance
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int tableBytes = 0;
+        for (Configuration configuration : configurations) {
+            tableBytes += register(configuration.getTitle(), stringIds, strings);
+            for (Category category : configuration.getCategories()) {
+                tableBytes += register(category.getName(), stringIds, strings);
+                for (Question question : category.getPointQuestionMap().values()) {
+                    tableBytes += register(question.getQuestion(), stringIds, strings);
+                    for (String answer : question.getAnswers()) {
+                        tableBytes += register(answer, stringIds, strings);
+                    }
+                }
+            }
+        }
+
+        ByteSink out = new ByteSink(tableBytes + 64);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeVarInt(strings.size());
+        for (byte[] bytes : strings) {
+            out.writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeVarInt(configurations.size());
+        for (Configuration configuration : configurations) {
+            out.writeVarInt(reference(configuration.getTitle(), stringIds));
+            out.writeVarInt(configuration.getCategories().size());
+            for (Category category : configuration.getCategories()) {
+                out.writeVarInt(reference(category.getName(), stringIds));
+                Map<Integer, Question> questions = category.getPointQuestionMap();
+                out.writeVarInt(questions.size());
+                for (Map.Entry<Integer, Question> entry : questions.entrySet()) {
+                    Question question = entry.getValue();
+                    out.writeVarInt(zigZag(entry.getKey()));
+                    out.writeVarInt(reference(question.getQuestion(), stringIds));
+                    List<String> answers = question.getAnswers();
+                    out.writeVarInt(answers.size());
+                    for (String answer : answers) {
+                        out.writeVarInt(reference(answer, stringIds));
+                    }
+                    out.writeVarInt(question.getCorrectAnswerIndex());
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a single configuration
+     * @param buffer Buffer positioned at the start of the encoded data; the position is advanced past it
+     * @return The configuration
+     * @throws IllegalArgumentException if the data is not a single configuration in a supported version
+     */
+    public static Configuration decode(ByteBuffer buffer) {
+        List<Configuration> configurations = decodeAll(buffer);
+        if (configurations.size() != 1) {
+            throw new IllegalArgumentException("Expected one configuration but found " + configurations.size());
+        }
+        return configurations.get(0);
+    }
+
+    /**
+     * Decodes all configurations
+     * @param buffer Buffer positioned at the start of the encoded data; the position is advanced past it
+     * @return The configurations in the order they were encoded
+     * @throws IllegalArgumentException if the data is damaged or in an unsupported version
+     */
+    public static List<Configuration> decodeAll(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a binary configuration");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary configuration version: " + version);
+            }
+
+            String[] strings = new String[readLength(buffer) + 1];
+            byte[] scratch = buffer.hasArray() ? null : new byte[64];
+            for (int i = 1; i < strings.length; i++) {
+                int length = readLength(buffer);
+                if (buffer.hasArray()) {
+                    strings[i] = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                    buffer.position(buffer.position() + length);
+                } else {
+                    if (scratch.length < length) {
+                        scratch = new byte[Math.max(length, scratch.length * 2)];
+                    }
+                    buffer.get(scratch, 0, length);
+                    strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                }
+            }
+
+            int configurationCount = readLength(buffer);
+            List<Configuration> configurations = new ArrayList<>(configurationCount);
+            for (int i = 0; i < configurationCount; i++) {
+                Configuration configuration = new Configuration(readString(buffer, strings));
+                int categoryCount = readLength(buffer);
+                for (int c = 0; c < categoryCount; c++) {
+                    String name = readString(buffer, strings);
+                    int questionCount = readLength(buffer);
+                    Map<Integer, Question> questions = new TreeMap<>();
+                    for (int q = 0; q < questionCount; q++) {
+                        int points = unZigZag(readVarInt(buffer));
+                        String prompt = readString(buffer, strings);
+                        String[] answers = new String[readLength(buffer)];
+                        for (int a = 0; a < answers.length; a++) {
+                            answers[a] = readString(buffer, strings);
+                        }
+                        questions.put(points, Question.withSharedAnswers(prompt,
+                                Collections.unmodifiableList(Arrays.asList(answers)), readVarInt(buffer)));
+                    }
+                    configuration.addCategory(new Category(name, questions));
+                }
+                configurations.add(configuration);
+            }
+            return configurations;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Binary configuration is truncated or damaged", ex);
+        }
+    }
+
+    private static int register(String value, Map<String, Integer> stringIds, List<byte[]> strings) {
+        if (value == null || stringIds.containsKey(value)) {
+            return 0;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.add(bytes);
+        stringIds.put(value, strings.size());
+        return bytes.length + 5;
+    }
+
+    private static int reference(String value, Map<String, Integer> stringIds) {
+        return value == null ? 0 : stringIds.get(value);
+    }
+
+    private static String readString(ByteBuffer buffer, String[] strings) {
+        return strings[readVarInt(buffer)];
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            // Every element takes at least one byte, so a larger count can only come from damaged data
+            throw new IllegalArgumentException("Invalid length in binary configuration: " + length);
+        }
+        return length;
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is too long");
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Growable byte array for writing, without the synchronization of {@link java.io.ByteArrayOutputStream}.
+     */
+    private static final class ByteSink {
+        private byte[] bytes;
+        private int size;
+
+        ByteSink(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void write(byte[] data) {
+            ensure(data.length);
+            System.arraycopy(data, 0, bytes, size, data.length);
+            size += data.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + extra, bytes.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Generates configurations by sampling questions from a {@link QuestionPool}.
+ * Each category is one tag of the pool; the point values are mapped to difficulties, so low
+ * point values get easy questions and high point values hard ones. Questions used by recently
+ * generated configurations are avoided; with the same seed and the same history of recent
+ * questions the generator always yields the same board.
+ */
+public class ConfigurationGenerator {
+    private static final int DEFAULT_RECENT_QUESTIONS = 10_000;
+
+    private final QuestionPool pool;
+    private final QuestionPool.RecentQuestions recentQuestions;
+
+    public ConfigurationGenerator(QuestionPool pool) {
+        this(pool, new QuestionPool.RecentQuestions(DEFAULT_RECENT_QUESTIONS));
+    }
+
+    /**
+     * @param pool The pool to draw questions from
+     * @param recentQuestions Questions to avoid; questions of generated configurations are added to it
+     */
+    public ConfigurationGenerator(QuestionPool pool, QuestionPool.RecentQuestions recentQuestions) {
+        this.pool = pool;
+        this.recentQuestions = recentQuestions;
+    }
+
+    /**
+     * Generates a configuration with the point values 10, 20, 30, ... like {@link CategoryBuilder}
+     * @param title The title of the configuration
+     * @param numberOfCategories Number of categories
+     * @param questionsPerCategory Number of questions per category
+     * @param seed Seed for reproducible results
+     * @return The generated configuration
+     */
+    public Configuration generate(String title, int numberOfCategories, int questionsPerCategory, long seed) {
+        int[] pointValues = new int[questionsPerCategory];
+        for (int i = 0; i < questionsPerCategory; i++) {
+            pointValues[i] = (i + 1) * 10;
+        }
+        return generate(title, numberOfCategories, pointValues, seed);
+    }
+
+    /**
+     * Generates a configuration
+     * @param title The title of the configuration
+     * @param numberOfCategories Number of categories
+     * @param pointValues Point values of every category in ascending order
+     * @param seed Seed for reproducible results
+     * @return The generated configuration
+     * @throws IllegalStateException if the pool does not have enough questions
+     */
+    public Configuration generate(String title, int numberOfCategories, int[] pointValues, long seed) {
+        if (numberOfCategories <= 0 || pointValues.length == 0) {
+            throw new IllegalArgumentException("At least one category and one point value are required");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] difficulties = new int[pointValues.length];
+        for (int level = 0; level < pointValues.length; level++) {
+            difficulties[level] = difficultyFor(level, pointValues.length);
+        }
+
+        // Pick the categories: a partial Fisher-Yates shuffle over all tags
+        List<String> tags = pool.getTags();
+        int[] order = new int[tags.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Set<Integer> usedInBoard = new HashSet<>();
+        QuestionPool.Excluded excluded = id -> usedInBoard.contains(id) || recentQuestions.contains(id);
+        List<Integer> drawn = new ArrayList<>();
+        Configuration configuration = new Configuration(title);
+        int next = 0;
+        while (configuration.getCategories().size() < numberOfCategories && next < order.length) {
+            int pick = next + random.nextInt(order.length - next);
+            int tag = order[pick];
+            order[pick] = order[next];
+            order[next++] = tag;
+
+            Map<Integer, Question> questions = new TreeMap<>();
+            List<Integer> categoryIds = new ArrayList<>(pointValues.length);
+            for (int level = 0; level < pointValues.length; level++) {
+                int id = drawNearestDifficulty(tag, difficulties[level], excluded, random);
+                if (id < 0) {
+                    break;
+                }
+                usedInBoard.add(id);
+                categoryIds.add(id);
+                questions.put(pointValues[level], pool.get(id).question().copy());
+            }
+            if (questions.size() < pointValues.length) {
+                // Not enough questions for this tag, try the next one
+                usedInBoard.removeAll(categoryIds);
+                continue;
+            }
+            drawn.addAll(categoryIds);
+            configuration.addCategory(new Category(tags.get(tag), questions));
+        }
+
+        if (configuration.getCategories().size() < numberOfCategories) {
+            throw new IllegalStateException("Der Fragenpool enthält nicht genug Fragen für "
+                    + numberOfCategories + " Kategorien mit je " + pointValues.length + " Fragen");
+        }
+        for (int id : drawn) {
+            recentQuestions.add(id);
+        }
+        return configuration;
+    }
+
+    /**
+     * Maps a point level to a difficulty, spreading the levels evenly over the difficulties of the pool
+     * @param level Index of the point value, 0 for the lowest
+     * @param levels Number of point values
+     * @return Difficulty starting at 1
+     */
+    int difficultyFor(int level, int levels) {
+        if (levels <= 1) {
+            return 1;
+        }
+        return 1 + (int) Math.round((double) level * (pool.getMaxDifficulty() - 1) / (levels - 1));
+    }
+
+    /**
+     * Draws a question of the wanted difficulty, or of the closest difficulty that still has questions left
+     */
+    private int drawNearestDifficulty(int tag, int difficulty, QuestionPool.Excluded excluded, SplittableRandom random) {
+        for (int distance = 0; distance < pool.getMaxDifficulty(); distance++) {
+            for (int candidate : new int[]{difficulty - distance, difficulty + distance}) {
+                if (pool.hasQuestions(tag, candidate)) {
+                    int id = pool.draw(tag, candidate, excluded, random);
+                    if (id >= 0) {
+                        return id;
+                    }
+                }
+                if (distance == 0) {
+                    break;
+                }
+            }
+        }
+        return -1;
+    }
+}
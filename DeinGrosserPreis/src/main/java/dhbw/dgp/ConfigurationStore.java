@@ -0,0 +1,605 @@
+package dhbw.dgp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * File-backed store for configurations. Every save appends one record to the active
+ * segment file; an in-memory index maps each title to the location of its newest record.
+ * Full segments are sealed and merged in the background, keeping only live records.
+ * Merged segments get a hint file with their index entries, so opening the store maps
+ * the hints instead of reading every record.
+ *
+ * <p>Record layout: {@code int bodyLength, int crc32(body), body}, where the body starts
+ * with the title, the number of categories and the number of questions, followed by the
+ * configuration in the {@link ConfigurationCodec} format. The index keeps title and counts,
+ * so listing needs no disk access.</p>
+ */
+public class ConfigurationStore implements AutoCloseable {
+    private static final long SEGMENT_SIZE_LIMIT = 4L * 1024 * 1024;
+    private static final int COMPACTION_THRESHOLD = 4;
+    private static final int RECORD_PREFIX_BYTES = 8;
+    private static final int HINT_MAGIC = 0x44475032; // "DGP2"
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String HINT_SUFFIX = ".hint";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> segments = new ConcurrentHashMap<>();
+    private final ExecutorService compactor;
+    private final Object writeLock = new Object();
+
+    private int activeSegmentId;
+    private FileChannel activeSegment;
+    private boolean compactionScheduled;
+    // Last version handed out, guarded by the write lock
+    private long lastVersion = ConfigurationCatalogue.ABSENT;
+
+    /**
+     * Opens the store in the given directory and rebuilds the title index
+     * @param directory Directory that holds the segment files
+     * @throws IOException if the directory cannot be read or created
+     */
+    public ConfigurationStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dgp-configuration-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        recover();
+    }
+
+    /**
+     * Appends a configuration to the log. A configuration with the same title replaces the old one.
+     * @param configuration The configuration to store
+     */
+    public void put(Configuration configuration) {
+        byte[] record = encodeRecord(configuration);
+        String key = normalizeTitle(configuration.getTitle());
+        ConfigurationSummary summary = ConfigurationSummary.of(configuration);
+        synchronized (writeLock) {
+            append(key, record, summary, ++lastVersion);
+        }
+    }
+
+    /**
+     * Appends a configuration only if the stored version is still the expected one
+     * @param configuration The configuration to store
+     * @param expectedVersion Version from {@link #getVersion}, or {@link ConfigurationCatalogue#ABSENT} for a new configuration
+     * @return The new version, or -1 if another save came first
+     */
+    public long put(Configuration configuration, long expectedVersion) {
+        byte[] record = encodeRecord(configuration);
+        String key = normalizeTitle(configuration.getTitle());
+        ConfigurationSummary summary = ConfigurationSummary.of(configuration);
+        synchronized (writeLock) {
+            IndexEntry current = index.get(key);
+            long currentVersion = current == null ? ConfigurationCatalogue.ABSENT : current.version();
+            if (currentVersion != expectedVersion) {
+                return -1;
+            }
+            append(key, record, summary, ++lastVersion);
+            return lastVersion;
+        }
+    }
+
+    /**
+     * Gets the version of a stored configuration. Only {@link #put} changes it, {@link #update} keeps it.
+     * The versions are not stored and start anew when the store is opened.
+     * @param title The title of the configuration
+     * @return The version, or {@link ConfigurationCatalogue#ABSENT} if the title is unknown
+     */
+    public long getVersion(String title) {
+        IndexEntry entry = index.get(normalizeTitle(title));
+        return entry == null ? ConfigurationCatalogue.ABSENT : entry.version();
+    }
+
+    /**
+     * Changes a stored configuration without losing concurrent saves: if another save of the
+     * same title comes first, the change is applied again to the newer version. The version of the
+     * configuration stays the same.
+     * @param title The title of the configuration
+     * @param change Changes the loaded configuration, or returns null to leave it unchanged
+     * @return false if the title is unknown or the function returned null
+     */
+    public boolean update(String title, UnaryOperator<Configuration> change) {
+        String key = normalizeTitle(title);
+        while (true) {
+            IndexEntry entry = index.get(key);
+            if (entry == null) {
+                return false;
+            }
+            Configuration current;
+            try {
+                current = readEntry(entry);
+            } catch (ClosedChannelException ex) {
+                // The segment was compacted away while reading, retry at the new location
+                if (index.get(key) == entry) {
+                    throw new UncheckedIOException("Konfiguration konnte nicht gelesen werden", ex);
+                }
+                continue;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Konfiguration konnte nicht gelesen werden", ex);
+            }
+            Configuration changed = change.apply(current);
+            if (changed == null) {
+                return false;
+            }
+            byte[] record = encodeRecord(changed);
+            synchronized (writeLock) {
+                // The entry works as version stamp: any save or compaction in between replaced it
+                if (index.get(key) == entry) {
+                    append(key, record, ConfigurationSummary.of(changed), entry.version());
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a single configuration
+     * @param title The title of the configuration
+     * @return The configuration, or null if the title is unknown
+     */
+    public Configuration get(String title) {
+        return readConfiguration(normalizeTitle(title));
+    }
+
+    /**
+     * Loads all configurations
+     * @return List of the newest version of every stored configuration
+     */
+    public List<Configuration> getAll() {
+        List<Configuration> configurations = new ArrayList<>(index.size());
+        for (String key : index.keySet()) {
+            Configuration configuration = readConfiguration(key);
+            if (configuration != null) {
+                configurations.add(configuration);
+            }
+        }
+        return configurations;
+    }
+
+    /**
+     * Lists all configurations from the in-memory index without reading any segment
+     * @return Summary of the newest version of every stored configuration
+     */
+    public List<ConfigurationSummary> getSummaries() {
+        List<ConfigurationSummary> summaries = new ArrayList<>(index.size());
+        for (IndexEntry entry : index.values()) {
+            summaries.add(entry.summary());
+        }
+        return summaries;
+    }
+
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            for (FileChannel channel : segments.values()) {
+                channel.close();
+            }
+            segments.clear();
+        }
+    }
+
+    // ---------------------------------------------------------------- recovery
+
+    private void recover() throws IOException {
+        TreeMap<Integer, Path> segmentFiles = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    // Leftover of an interrupted compaction
+                    Files.deleteIfExists(file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segmentFiles.put(parseSegmentId(name), file);
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, Path> segment : segmentFiles.entrySet()) {
+            int segmentId = segment.getKey();
+            boolean last = segmentId == segmentFiles.lastKey();
+            FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segments.put(segmentId, channel);
+            if (last || !loadHint(segmentId, channel)) {
+                scanSegment(segmentId, channel, last);
+            }
+        }
+
+        if (segmentFiles.isEmpty()) {
+            openActiveSegment(1);
+        } else {
+            activeSegmentId = segmentFiles.lastKey();
+            activeSegment = segments.get(activeSegmentId);
+        }
+    }
+
+    /**
+     * Reads the record headers of a segment. The active segment is fully verified and a
+     * torn record at its end (from a crash during append) is cut off.
+     */
+    private void scanSegment(int segmentId, FileChannel channel, boolean verify) throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer prefix = ByteBuffer.allocate(RECORD_PREFIX_BYTES + 4);
+        while (offset + RECORD_PREFIX_BYTES + 4 <= size) {
+            prefix.clear();
+            readFully(channel, prefix, offset);
+            prefix.flip();
+            int bodyLength = prefix.getInt();
+            int crc = prefix.getInt();
+            int titleLength = prefix.getInt();
+            if (titleLength == -1) {
+                // Records written before missing titles became "" store them with length -1
+                titleLength = 0;
+            }
+            long recordLength = RECORD_PREFIX_BYTES + (long) bodyLength;
+            // The body holds at least the title length, the title and the two counts
+            if (bodyLength < 12 || titleLength < 0 || titleLength > bodyLength - 12 || offset + recordLength > size) {
+                break;
+            }
+
+            ByteBuffer header;
+            if (verify) {
+                header = ByteBuffer.allocate(bodyLength);
+                readFully(channel, header, offset + RECORD_PREFIX_BYTES);
+                if (crc32(header.array()) != crc) {
+                    break;
+                }
+            } else {
+                // Only the title and the counts are needed for the index
+                header = ByteBuffer.allocate(4 + titleLength + 8);
+                readFully(channel, header, offset + RECORD_PREFIX_BYTES);
+            }
+            header.position(4 + titleLength);
+            ConfigurationSummary summary = new ConfigurationSummary(
+                    new String(header.array(), 4, titleLength, StandardCharsets.UTF_8), header.getInt(), header.getInt());
+
+            index.put(normalizeTitle(summary.getTitle()),
+                    new IndexEntry(segmentId, channel, offset, (int) recordLength, ++lastVersion, summary));
+            offset += recordLength;
+        }
+
+        if (verify && offset < size) {
+            channel.truncate(offset);
+            channel.force(true);
+        }
+    }
+
+    private boolean loadHint(int segmentId, FileChannel segment) throws IOException {
+        long segmentSize = segment.size();
+        Path hintFile = hintPath(segmentId);
+        if (!Files.exists(hintFile)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(hintFile, StandardOpenOption.READ)) {
+            MappedByteBuffer hint = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (hint.remaining() < 16 || hint.getInt() != HINT_MAGIC || hint.getLong() != segmentSize) {
+                return false;
+            }
+            int count = hint.getInt();
+            Map<String, IndexEntry> entries = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] titleBytes = new byte[hint.getInt()];
+                hint.get(titleBytes);
+                long offset = hint.getLong();
+                int length = hint.getInt();
+                ConfigurationSummary summary = new ConfigurationSummary(
+                        new String(titleBytes, StandardCharsets.UTF_8), hint.getInt(), hint.getInt());
+                entries.put(normalizeTitle(summary.getTitle()),
+                        new IndexEntry(segmentId, segment, offset, length, ++lastVersion, summary));
+            }
+            index.putAll(entries);
+            return true;
+        } catch (RuntimeException ex) {
+            // Damaged hint file, fall back to scanning the segment
+            return false;
+        }
+    }
+
+    // ---------------------------------------------------------------- segments and compaction
+
+    private void rollSegment() throws IOException {
+        openActiveSegment(activeSegmentId + 1);
+        if (!compactionScheduled && segments.size() - 1 >= COMPACTION_THRESHOLD) {
+            compactionScheduled = true;
+            compactor.execute(this::compactSafely);
+        }
+    }
+
+    private void openActiveSegment(int segmentId) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(segmentId),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments.put(segmentId, channel);
+        activeSegmentId = segmentId;
+        activeSegment = channel;
+    }
+
+    private void compactSafely() {
+        try {
+            compact();
+        } catch (IOException ex) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, ex);
+        } finally {
+            synchronized (writeLock) {
+                compactionScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * Merges all sealed segments into one. The live records are copied into a temporary file,
+     * which then atomically replaces the newest sealed segment; the older ones are deleted.
+     */
+    void compact() throws IOException {
+        List<Integer> sealed = new ArrayList<>();
+        Map<String, IndexEntry> live = new TreeMap<>();
+        synchronized (writeLock) {
+            for (Integer segmentId : segments.keySet()) {
+                if (segmentId != activeSegmentId) {
+                    sealed.add(segmentId);
+                }
+            }
+            if (sealed.size() < 2) {
+                return;
+            }
+            sealed.sort(null);
+            for (Map.Entry<String, IndexEntry> entry : index.entrySet()) {
+                if (sealed.contains(entry.getValue().segmentId())) {
+                    live.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        int targetId = sealed.get(sealed.size() - 1);
+        Path tempSegment = directory.resolve(segmentPath(targetId).getFileName() + TEMP_SUFFIX);
+        Path tempHint = directory.resolve(hintPath(targetId).getFileName() + TEMP_SUFFIX);
+        Map<String, IndexEntry> moved = new TreeMap<>();
+        ByteArrayOutputStream hintBody = new ByteArrayOutputStream();
+        DataOutputStream hintOut = new DataOutputStream(hintBody);
+
+        long offset = 0;
+        try (FileChannel target = FileChannel.open(tempSegment,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, IndexEntry> entry : live.entrySet()) {
+                IndexEntry source = entry.getValue();
+                ByteBuffer record = ByteBuffer.allocate(source.length());
+                readFully(source.channel(), record, source.offset());
+                record.flip();
+                writeFully(target, record, offset);
+
+                ConfigurationSummary summary = source.summary();
+                byte[] titleBytes = summary.getTitle() == null
+                        ? new byte[0] : summary.getTitle().getBytes(StandardCharsets.UTF_8);
+                hintOut.writeInt(titleBytes.length);
+                hintOut.write(titleBytes);
+                hintOut.writeLong(offset);
+                hintOut.writeInt(source.length());
+                hintOut.writeInt(summary.getCategoryCount());
+                hintOut.writeInt(summary.getQuestionCount());
+
+                moved.put(entry.getKey(), new IndexEntry(targetId, null, offset, source.length(), source.version(), summary));
+                offset += source.length();
+            }
+            target.force(true);
+        }
+
+        ByteArrayOutputStream hintFile = new ByteArrayOutputStream();
+        DataOutputStream hintFileOut = new DataOutputStream(hintFile);
+        hintFileOut.writeInt(HINT_MAGIC);
+        hintFileOut.writeLong(offset);
+        hintFileOut.writeInt(moved.size());
+        hintFileOut.write(hintBody.toByteArray());
+        Files.write(tempHint, hintFile.toByteArray());
+
+        synchronized (writeLock) {
+            Files.deleteIfExists(hintPath(targetId));
+            Files.move(tempSegment, segmentPath(targetId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempHint, hintPath(targetId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            FileChannel compacted = FileChannel.open(segmentPath(targetId), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileChannel oldTarget = segments.put(targetId, compacted);
+
+            // Only redirect entries that were not overwritten by a newer save in the meantime
+            for (Map.Entry<String, IndexEntry> entry : moved.entrySet()) {
+                IndexEntry location = entry.getValue();
+                index.replace(entry.getKey(), live.get(entry.getKey()),
+                        new IndexEntry(targetId, compacted, location.offset(), location.length(), location.version(), location.summary()));
+            }
+
+            for (Integer segmentId : sealed) {
+                if (segmentId == targetId) {
+                    continue;
+                }
+                FileChannel channel = segments.remove(segmentId);
+                if (channel != null) {
+                    channel.close();
+                }
+                Files.deleteIfExists(segmentPath(segmentId));
+                Files.deleteIfExists(hintPath(segmentId));
+            }
+            if (oldTarget != null) {
+                oldTarget.close();
+            }
+        }
+    }
+
+    /**
+     * Appends a record to the active segment, must be called with the write lock held
+     */
+    private void append(String key, byte[] record, ConfigurationSummary summary, long version) {
+        try {
+            long offset = activeSegment.size();
+            writeFully(activeSegment, ByteBuffer.wrap(record), offset);
+            activeSegment.force(false);
+            index.put(key, new IndexEntry(activeSegmentId, activeSegment, offset, record.length, version, summary));
+            if (offset + record.length >= SEGMENT_SIZE_LIMIT) {
+                rollSegment();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Konfiguration konnte nicht gespeichert werden", ex);
+        }
+    }
+
+    private Configuration readEntry(IndexEntry entry) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(entry.length());
+        readFully(entry.channel(), record, entry.offset());
+        return decodeRecord(record.array());
+    }
+
+    private Configuration readConfiguration(String key) {
+        while (true) {
+            IndexEntry entry = index.get(key);
+            if (entry == null) {
+                return null;
+            }
+            try {
+                return readEntry(entry);
+            } catch (ClosedChannelException ex) {
+                // The segment was compacted away while reading, retry at the new location
+                if (index.get(key) == entry) {
+                    throw new UncheckedIOException("Konfiguration konnte nicht gelesen werden", ex);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Konfiguration konnte nicht gelesen werden", ex);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- encoding
+
+    private static byte[] encodeRecord(Configuration configuration) {
+        ConfigurationSummary summary = ConfigurationSummary.of(configuration);
+        // A missing title is written as "", the key it is indexed under; the codec part keeps the null
+        String headerTitle = configuration.getTitle() == null ? "" : configuration.getTitle();
+        byte[] title = headerTitle.getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = ConfigurationCodec.encode(configuration);
+        int bodyLength = 4 + title.length + 8 + encoded.length;
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_PREFIX_BYTES + bodyLength);
+        record.putInt(bodyLength);
+        record.putInt(0); // crc, filled in below
+        record.putInt(title.length);
+        record.put(title);
+        record.putInt(summary.getCategoryCount());
+        record.putInt(summary.getQuestionCount());
+        record.put(encoded);
+        record.putInt(4, crc32(record.array(), RECORD_PREFIX_BYTES, bodyLength));
+        return record.array();
+    }
+
+    private static Configuration decodeRecord(byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        int bodyLength = buffer.getInt();
+        int crc = buffer.getInt();
+        if (crc32(record, RECORD_PREFIX_BYTES, bodyLength) != crc) {
+            throw new IOException("Beschädigter Datensatz");
+        }
+
+        // Title and counts are only needed for the index
+        int titleLength = buffer.getInt();
+        buffer.position(buffer.position() + Math.max(titleLength, 0) + 8);
+        try {
+            return ConfigurationCodec.decode(buffer);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Beschädigter Datensatz", ex);
+        }
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    static String normalizeTitle(String title) {
+        return title == null ? "" : title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Path segmentPath(int segmentId) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX));
+    }
+
+    private Path hintPath(int segmentId) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentId, HINT_SUFFIX));
+    }
+
+    private static int parseSegmentId(String fileName) {
+        return Integer.parseInt(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int crc32(byte[] bytes) {
+        return crc32(bytes, 0, bytes.length);
+    }
+
+    private static int crc32(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of segment");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+    }
+
+    /**
+     * Location, version and summary of the newest record of a configuration. The channel is captured
+     * together with the position, so a reader never combines an old position with a compacted file.
+     */
+    private record IndexEntry(int segmentId, FileChannel channel, long offset, int length, long version,
+                              ConfigurationSummary summary) {
+    }
+}
@@ -0,0 +1,48 @@
+package dhbw.dgp;
+
+
+/**
+ * Lightweight description of a stored configuration, used to list configurations
+ * without loading their categories and questions.
+ */
+public class ConfigurationSummary {
+    private final String title;
+    private final int categoryCount;
+    private final int questionCount;
+
+    public ConfigurationSummary(String title, int categoryCount, int questionCount) {
+        this.title = title;
+        this.categoryCount = categoryCount;
+        this.questionCount = questionCount;
+    }
+
+    /**
+     * Creates the summary of a loaded configuration
+     * @param configuration The configuration
+     * @return The summary
+     */
+    public static ConfigurationSummary of(Configuration configuration) {
+        int questions = 0;
+        for (Category category : configuration.getCategories()) {
+            questions += category.getQuestionCount();
+        }
+        return new ConfigurationSummary(configuration.getTitle(), configuration.getCategories().size(), questions);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    @Override
+    public String toString() {
+        return title + " (" + categoryCount + " Kategorien, " + questionCount + " Fragen)";
+    }
+}
@@ -0,0 +1,257 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks a configuration before a game is started, so problems show up in the configurator
+ * instead of in the middle of a game. Errors make a configuration unplayable (e.g. empty prompts
+ * of placeholder questions, blank or duplicate answers); warnings point out things that are
+ * probably unintended (e.g. gaps in the point values).
+ *
+ * <p>Categories are independent, so large configurations are checked in parallel: the category
+ * range is split on a fork-join pool until each part has only a few hundred questions.</p>
+ */
+public class ConfigurationValidator {
+    private static final int QUESTIONS_PER_TASK = 512;
+
+    private final ForkJoinPool pool;
+
+    public ConfigurationValidator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ConfigurationValidator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Validates a configuration
+     * @param configuration The configuration to check
+     * @return The report with all errors and warnings
+     */
+    public ValidationReport validate(Configuration configuration) {
+        List<Issue> issues = new ArrayList<>();
+        if (configuration == null) {
+            issues.add(new Issue(Severity.ERROR, -1, null, 0, "Keine Konfiguration ausgewählt"));
+            return new ValidationReport(issues);
+        }
+        if (configuration.getTitle() == null || configuration.getTitle().isBlank()) {
+            issues.add(new Issue(Severity.WARNING, -1, null, 0, "Die Konfiguration hat keinen Titel"));
+        }
+        List<Category> categories = configuration.getCategories();
+        if (categories.isEmpty()) {
+            issues.add(new Issue(Severity.ERROR, -1, null, 0, "Die Konfiguration hat keine Kategorien"));
+            return new ValidationReport(issues);
+        }
+
+        int[] questionsBefore = new int[categories.size() + 1];
+        for (int i = 0; i < categories.size(); i++) {
+            questionsBefore[i + 1] = questionsBefore[i] + categories.get(i).getQuestionCount();
+        }
+        CategoryTask task = new CategoryTask(categories, questionsBefore, 0, categories.size());
+        issues.addAll(questionsBefore[categories.size()] <= QUESTIONS_PER_TASK ? task.compute() : pool.invoke(task));
+
+        // Checks across categories
+        Set<String> names = new HashSet<>();
+        int expectedQuestions = categories.get(0).getQuestionCount();
+        boolean uneven = false;
+        for (int i = 0; i < categories.size(); i++) {
+            Category category = categories.get(i);
+            if (category.getName() != null && !category.getName().isBlank()
+                    && !names.add(category.getName().trim().toLowerCase(Locale.GERMAN))) {
+                issues.add(new Issue(Severity.WARNING, i, category.getName(), 0, "Der Kategoriename kommt mehrfach vor"));
+            }
+            uneven |= category.getQuestionCount() != expectedQuestions;
+        }
+        if (uneven) {
+            issues.add(new Issue(Severity.WARNING, -1, null, 0, "Die Kategorien haben unterschiedlich viele Fragen"));
+        }
+        return new ValidationReport(issues);
+    }
+
+    /**
+     * Checks the categories of an index range, splitting the range while it has many questions.
+     */
+    private static final class CategoryTask extends RecursiveTask<List<Issue>> {
+        private final List<Category> categories;
+        private final int[] questionsBefore;
+        private final int from;
+        private final int to;
+
+        CategoryTask(List<Category> categories, int[] questionsBefore, int from, int to) {
+            this.categories = categories;
+            this.questionsBefore = questionsBefore;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Issue> compute() {
+            if (to - from > 1 && questionsBefore[to] - questionsBefore[from] > QUESTIONS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                CategoryTask left = new CategoryTask(categories, questionsBefore, from, middle);
+                CategoryTask right = new CategoryTask(categories, questionsBefore, middle, to);
+                left.fork();
+                List<Issue> issues = right.compute();
+                List<Issue> merged = new ArrayList<>(left.join());
+                merged.addAll(issues);
+                return merged;
+            }
+            List<Issue> issues = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                checkCategory(i, categories.get(i), issues);
+            }
+            return issues;
+        }
+    }
+
+    private static void checkCategory(int index, Category category, List<Issue> issues) {
+        String name = category.getName();
+        if (name == null || name.isBlank()) {
+            issues.add(new Issue(Severity.ERROR, index, name, 0, "Die Kategorie hat keinen Namen"));
+        }
+        int count = category.getQuestionCount();
+        if (count == 0) {
+            issues.add(new Issue(Severity.ERROR, index, name, 0, "Die Kategorie hat keine Fragen"));
+            return;
+        }
+
+        // Point values are sorted; they should start at the step and grow by it (10, 20, 30, ...)
+        int step = category.getPointValue(0);
+        for (int q = 0; q < count; q++) {
+            int points = category.getPointValue(q);
+            if (points <= 0) {
+                issues.add(new Issue(Severity.ERROR, index, name, points, "Der Punktwert muss positiv sein"));
+            } else if (step > 0 && points != step * (q + 1)) {
+                issues.add(new Issue(Severity.WARNING, index, name, points,
+                        "Lücke in den Punktwerten, erwartet " + step * (q + 1) + " Punkte"));
+                step = 0; // report a gap only once per category
+            }
+            checkQuestion(index, name, points, category.getQuestionAt(q), issues);
+        }
+    }
+
+    private static void checkQuestion(int index, String categoryName, int points, Question question, List<Issue> issues) {
+        if (question == null) {
+            issues.add(new Issue(Severity.ERROR, index, categoryName, points, "Die Frage fehlt"));
+            return;
+        }
+        if (question.getQuestion() == null || question.getQuestion().isBlank()) {
+            issues.add(new Issue(Severity.ERROR, index, categoryName, points, "Der Fragetext ist leer"));
+        }
+        List<String> answers = question.getAnswers();
+        if (answers.size() < 2) {
+            issues.add(new Issue(Severity.WARNING, index, categoryName, points, "Die Frage hat nur eine Antwort"));
+        }
+        Set<String> seen = new HashSet<>();
+        for (int a = 0; a < answers.size(); a++) {
+            String answer = answers.get(a);
+            if (answer == null || answer.isBlank()) {
+                issues.add(new Issue(Severity.ERROR, index, categoryName, points, "Antwort " + (a + 1) + " ist leer"));
+            } else if (!seen.add(answer.trim().toLowerCase(Locale.GERMAN))) {
+                // Answers are compared like Question.isCorrectAnswer does, so duplicates would be ambiguous
+                issues.add(new Issue(Severity.ERROR, index, categoryName, points,
+                        "Antwort " + (a + 1) + " kommt mehrfach vor: " + answer.trim()));
+            }
+        }
+        int correct = question.getCorrectAnswerIndex();
+        if (correct < 0 || correct >= answers.size()) {
+            issues.add(new Issue(Severity.ERROR, index, categoryName, points, "Die richtige Antwort ist ungültig"));
+        }
+    }
+
+    /**
+     * Severity of an issue
+     */
+    public enum Severity {
+        ERROR,
+        WARNING
+    }
+
+    /**
+     * A problem found in a configuration.
+     * @param severity ERROR if the configuration cannot be played
+     * @param categoryIndex Position of the category, -1 for the whole configuration
+     * @param categoryName Name of the category, null for the whole configuration
+     * @param points Point value of the question, 0 for the whole category
+     * @param message Description for the user
+     */
+    public record Issue(Severity severity, int categoryIndex, String categoryName, int points, String message) {
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(severity == Severity.ERROR ? "Fehler: " : "Warnung: ");
+            if (categoryIndex >= 0) {
+                text.append(categoryName == null || categoryName.isBlank() ? "Kategorie " + (categoryIndex + 1) : categoryName);
+                if (points != 0) {
+                    text.append(" (").append(points).append(" Punkte)");
+                }
+                text.append(": ");
+            }
+            return text.append(message).toString();
+        }
+    }
+
+    /**
+     * Result of a validation.
+     */
+    public static class ValidationReport {
+        private final List<Issue> issues;
+
+        ValidationReport(List<Issue> issues) {
+            List<Issue> sorted = new ArrayList<>(issues);
+            sorted.sort(Comparator.comparingInt(Issue::categoryIndex).thenComparingInt(Issue::points));
+            this.issues = List.copyOf(sorted);
+        }
+
+        /**
+         * @return all issues ordered by category and point value
+         */
+        public List<Issue> getIssues() {
+            return issues;
+        }
+
+        public List<Issue> getErrors() {
+            List<Issue> errors = new ArrayList<>();
+            for (Issue issue : issues) {
+                if (issue.severity() == Severity.ERROR) {
+                    errors.add(issue);
+                }
+            }
+            return errors;
+        }
+
+        public boolean hasErrors() {
+            for (Issue issue : issues) {
+                if (issue.severity() == Severity.ERROR) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Formats the issues for a message, errors first
+         * @param maxLines Maximum number of issues to list
+         * @return One issue per line
+         */
+        public String format(int maxLines) {
+            List<Issue> ordered = new ArrayList<>(issues);
+            ordered.sort(Comparator.comparing(Issue::severity));
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < Math.min(maxLines, ordered.size()); i++) {
+                text.append(ordered.get(i)).append('\n');
+            }
+            if (ordered.size() > maxLines) {
+                text.append("... und ").append(ordered.size() - maxLines).append(" weitere\n");
+            }
+            return text.toString();
+        }
+    }
+}
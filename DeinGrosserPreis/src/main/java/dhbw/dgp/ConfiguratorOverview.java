@@ -1,39 +1,334 @@
 package dhbw.dgp;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Class for managing game configurations
  */
 public class ConfiguratorOverview {
-    private List<Configuration> configurations;
+    private final DatabaseConnector databaseConnector;
+    // Copy-on-write: the GUI iterates it while imports may run on other threads
+    private volatile List<Configuration> configurations;
     private Configuration currentConfiguration;
+    // Stored version the current configuration is based on, and the title key it belongs to
+    private String baseVersionKey;
+    private long baseVersion = ConfigurationCatalogue.ABSENT;
+    // Created here and never saved: their title may belong to a stored configuration they must not replace
+    private final Set<Configuration> unsavedConfigurations = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Joined co-editing session of the current configuration and the listener that applies its commits
+    private CoEditingSession coEditingSession;
+    private CoEditingSession.CommitListener coEditingListener;
+    // Commits arrive on the thread of the committing author and are applied on the EDT
+    private final EdtEventQueue<CommittedQuestion> committedQuestions = new EdtEventQueue<>(this::applyCommitsOnEdt);
+    private Consumer<List<CoEditingSession.Conflict>> conflictListener = conflicts -> { };
+    private QuestionSearchIndex searchIndex;
+    // Builds and queries the duplicate detector in save order, off the thread that saves
+    private final ExecutorService duplicateChecker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dgp-duplicate-checker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only used on the duplicate checker thread
+    private DuplicateDetector duplicateDetector;
+    private volatile List<DuplicateDetector.DuplicateCandidate> duplicateCandidates = List.of();
 
     /**
-     * Constructor that initializes the configurations list and loads configurations from the database
+     * Constructor that uses the default database backend
      */
     public ConfiguratorOverview() {
-        this.configurations = new ArrayList<>();
-        loadConfigurationsFromDatabase();
+        this(DatabaseConnectors.getDefault());
     }
 
     /**
-     * Loads configurations from the database
+     * Constructor for the given database backend. Configurations are loaded on first use.
+     * @param databaseConnector The backend used to load and save configurations
      */
-    private void loadConfigurationsFromDatabase() {
-        this.configurations = DatabaseConnector.loadConfigurations();
+    public ConfiguratorOverview(DatabaseConnector databaseConnector) {
+        this.databaseConnector = databaseConnector;
     }
 
     /**
-     * Saves the current configuration to the database
+     * Loads all configurations from the database unless they have been loaded already
+     * @return The loaded configurations
      */
-    public void saveConfigurationToDatabase() {
-        if (currentConfiguration != null) {
-            DatabaseConnector.saveConfiguration(currentConfiguration);
+    private List<Configuration> loadedConfigurations() {
+        List<Configuration> loaded = configurations;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = configurations;
+                if (loaded == null) {
+                    loaded = new CopyOnWriteArrayList<>(databaseConnector.loadConfigurations());
+                    configurations = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Lists title, category count and question count of all stored configurations
+     * without loading their questions
+     * @return The summaries sorted by title
+     */
+    public List<ConfigurationSummary> getConfigurationSummaries() {
+        return databaseConnector.listConfigurations();
+    }
+
+    /**
+     * Loads a single configuration from the database and makes it the current configuration
+     * @param title The title of the configuration
+     * @return The configuration, or null if no configuration has this title
+     */
+    public Configuration openConfiguration(String title) {
+        // Read before loading, so a save in between makes the next save fail instead of overwriting it
+        long version = databaseConnector.getVersion(title);
+        Configuration configuration = databaseConnector.loadConfiguration(title);
+        if (configuration != null) {
+            makeCurrent(configuration, version);
+        }
+        return configuration;
+    }
+
+    /**
+     * Saves the current configuration to the database unless someone else saved a configuration
+     * with its title since it was opened. Questions that are nearly identical to questions of
+     * other configurations are searched in the background; once the check has finished they are
+     * available via {@link #getDuplicateCandidates()}.
+     * @return false if no configuration is open or another save came first; nothing is written then
+     */
+    public boolean saveConfigurationToDatabase() {
+        if (currentConfiguration == null) {
+            return false;
         }
+        String key = ConfigurationStore.normalizeTitle(currentConfiguration.getTitle());
+        // A renamed configuration must not replace another stored configuration
+        long expectedVersion = key.equals(baseVersionKey) ? baseVersion : ConfigurationCatalogue.ABSENT;
+        long version = databaseConnector.saveConfiguration(currentConfiguration, expectedVersion);
+        if (version < 0) {
+            return false;
+        }
+        baseVersionKey = key;
+        baseVersion = version;
+        unsavedConfigurations.remove(currentConfiguration);
+
+        Configuration saved = PersistentConfiguration.of(currentConfiguration).toConfiguration();
+        duplicateChecker.execute(() -> {
+            DuplicateDetector detector = loadedDuplicateDetector();
+            duplicateCandidates = detector.findDuplicates(saved);
+            detector.index(saved);
+        });
+        if (searchIndex != null) {
+            searchIndex.update(currentConfiguration);
+        }
+        return true;
+    }
+
+    /**
+     * Makes a configuration the current one and leaves the co-editing session of the previous one
+     * @param version Stored version the next save is based on
+     */
+    private void makeCurrent(Configuration configuration, long version) {
+        if (configuration != currentConfiguration) {
+            closeCoEditingSession();
+        }
+        currentConfiguration = configuration;
+        baseVersionKey = configuration == null ? null : ConfigurationStore.normalizeTitle(configuration.getTitle());
+        baseVersion = version;
+    }
+
+    /**
+     * Makes a configuration the current one, based on the version that is stored now. A configuration
+     * that was never saved is based on no version, so its first save cannot replace a stored one.
+     */
+    private void makeCurrent(Configuration configuration) {
+        makeCurrent(configuration, configuration == null || unsavedConfigurations.contains(configuration)
+                ? ConfigurationCatalogue.ABSENT : databaseConnector.getVersion(configuration.getTitle()));
+    }
+
+    /**
+     * Makes a configuration that was created here and is not stored yet the current one
+     */
+    private void makeCurrentUnsaved(Configuration configuration) {
+        unsavedConfigurations.add(configuration);
+        makeCurrent(configuration, ConfigurationCatalogue.ABSENT);
+    }
+
+    /**
+     * Creates an editor whose changes are saved question by question. With a
+     * {@link WriteBehindDatabaseConnector} they are written in the background.
+     * @return The editor
+     */
+    public QuestionEditor createQuestionEditor() {
+        QuestionEditor editor = new QuestionEditor();
+        editor.setChangeListener(new QuestionSaver());
+        return editor;
+    }
+
+    /**
+     * Sets the listener for edits that were not committed to the co-editing session because
+     * another author changed the same fields to different values at the same time. It is called
+     * on the thread of the question editor.
+     * @param listener Receives the conflicting fields
+     */
+    public void setConflictListener(Consumer<List<CoEditingSession.Conflict>> listener) {
+        this.conflictListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * Joins the co-editing session of the current configuration, so several authors can edit
+     * its questions at the same time. Questions committed by any author are applied to the current
+     * configuration on the event dispatch thread, and questions changed with
+     * {@link #createQuestionEditor()} are committed to the session. The session is left when
+     * another configuration becomes current.
+     * @return The session shared with the other authors
+     * @throws IllegalStateException if no configuration is open
+     */
+    public CoEditingSession openCoEditingSession() {
+        if (currentConfiguration == null) {
+            throw new IllegalStateException("Keine Konfiguration geöffnet");
+        }
+        if (coEditingSession == null) {
+            Configuration configuration = currentConfiguration;
+            CoEditingSession session = CoEditingSession.shared(configuration, databaseConnector);
+            coEditingListener = (categoryIndex, points, question) ->
+                    committedQuestions.post(new CommittedQuestion(session, categoryIndex, points));
+            session.addCommitListener(coEditingListener);
+            coEditingSession = session;
+            // Take over what the other authors committed before joining
+            Configuration newest = session.toConfiguration();
+            for (int c = 0; c < newest.getCategories().size(); c++) {
+                for (Map.Entry<Integer, Question> entry : newest.getCategories().get(c).getPointQuestionMap().entrySet()) {
+                    applyCommit(configuration, c, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return coEditingSession;
+    }
+
+    /**
+     * Leaves the co-editing session of the current configuration, if one was joined
+     */
+    public void closeCoEditingSession() {
+        if (coEditingSession != null) {
+            coEditingSession.removeCommitListener(coEditingListener);
+            coEditingSession.leave();
+            coEditingSession = null;
+            coEditingListener = null;
+        }
+    }
+
+    /**
+     * Copies a committed question into the question of the configuration. It is changed in place,
+     * so an open {@link QuestionEditor} keeps editing the same object; therefore it must only run on
+     * the thread of the editors.
+     */
+    private static void applyCommit(Configuration configuration, int categoryIndex, int points, Question committed) {
+        List<Category> categories = configuration.getCategories();
+        if (categoryIndex >= categories.size()) {
+            return;
+        }
+        Question question = categories.get(categoryIndex).getQuestion(points);
+        if (question != null) {
+            question.setQuestion(committed.getQuestion());
+            question.setAnswers(committed.getAnswers(), committed.getCorrectAnswerIndex());
+        }
+    }
+
+    /**
+     * Applies commits of the co-editing session to the current configuration. The newest version is
+     * read from the session, so notifications that arrive out of order never apply an older one.
+     */
+    private void applyCommitsOnEdt(List<CommittedQuestion> commits) {
+        for (CommittedQuestion commit : commits) {
+            // Commits of a session that was left in the meantime are dropped
+            if (commit.session() == coEditingSession) {
+                applyCommit(currentConfiguration, commit.categoryIndex(), commit.points(),
+                        commit.session().read(commit.categoryIndex(), commit.points()).question().toQuestion());
+            }
+        }
+    }
+
+    private int categoryIndexOf(Category category) {
+        List<Category> categories = currentConfiguration.getCategories();
+        for (int index = 0; index < categories.size(); index++) {
+            if (categories.get(index) == category) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Saves the changes of one question editor question by question. While a co-editing session is
+     * open, a changed question is committed to it against the version its editing started from; the
+     * session writes it and passes it on to the other authors. Fields another author changed since
+     * are merged, and fields both changed to different values are reported to the conflict listener.
+     */
+    private final class QuestionSaver implements QuestionEditor.ChangeListener {
+        // Version of the question in editing that the next commit is based on
+        private CoEditingSession baseSession;
+        private int baseCategoryIndex = -1;
+        private int basePoints;
+        private CoEditingSession.VersionedQuestion base;
+
+        @Override
+        public void editingStarted(Category category, int points, Question question) {
+            base = null;
+            if (currentConfiguration == null || coEditingSession == null) {
+                return;
+            }
+            int index = categoryIndexOf(category);
+            if (index >= 0 && coEditingSession.hasQuestion(index, points)) {
+                baseSession = coEditingSession;
+                baseCategoryIndex = index;
+                basePoints = points;
+                base = coEditingSession.read(index, points);
+            }
+        }
+
+        @Override
+        public void questionChanged(Category category, int points, Question question) {
+            if (currentConfiguration == null) {
+                return;
+            }
+            int index = categoryIndexOf(category);
+            if (index < 0) {
+                return;
+            }
+            if (coEditingSession == null || !coEditingSession.hasQuestion(index, points)) {
+                databaseConnector.saveQuestions(currentConfiguration.getTitle(),
+                        List.of(new DatabaseConnector.QuestionUpdate(index, points, question.copy())));
+                return;
+            }
+            if (base == null || baseSession != coEditingSession || baseCategoryIndex != index || basePoints != points) {
+                // Editing started before the session was joined: it is based on the newest version
+                editingStarted(category, points, question);
+            }
+            CoEditingSession.EditResult result = coEditingSession.commit(index, points, base, PersistentQuestion.of(question));
+            if (result.isApplied()) {
+                base = result.getQuestion();
+            } else {
+                conflictListener.accept(result.getConflicts());
+            }
+        }
+    }
+
+    /**
+     * A question committed to a co-editing session, waiting to be applied on the EDT.
+     */
+    private record CommittedQuestion(CoEditingSession session, int categoryIndex, int points) {
     }
 
     /**
@@ -44,8 +339,8 @@ public class ConfiguratorOverview {
         var builder = ConfigurationBuilder.createConfiguration();
         builder.setTitle(title);
         builder.setNumberOfQuestions(questionsPerCategory);
-        this.currentConfiguration = builder.getConfiguration();
-        configurations.add(currentConfiguration);
+        makeCurrentUnsaved(builder.getConfiguration());
+        loadedConfigurations().add(currentConfiguration);
         return builder;
     }
 
@@ -53,26 +348,127 @@ public class ConfiguratorOverview {
         return createNewConfiguration("Neue Konfiguration", 3);
     }
 
+    /**
+     * Creates a new configuration filled with questions sampled from a question pool
+     * @param generator The generator that samples the questions
+     * @param title The title of the new configuration
+     * @param numberOfCategories Number of categories
+     * @param questionsPerCategory Number of questions per category
+     * @param seed Seed for reproducible results
+     * @return The generated configuration, which is now the current configuration
+     */
+    public Configuration createGeneratedConfiguration(ConfigurationGenerator generator, String title,
+                                                      int numberOfCategories, int questionsPerCategory, long seed) {
+        Configuration configuration = generator.generate(title, numberOfCategories, questionsPerCategory, seed);
+        makeCurrentUnsaved(configuration);
+        loadedConfigurations().add(configuration);
+        return configuration;
+    }
+
+    /**
+     * Imports a CSV or JSON question bank and saves every imported configuration to the database.
+     * Stored configurations are never replaced: the title of a CSV file defaults to its file name,
+     * so importing "Erdkunde.csv" must not overwrite a stored "Erdkunde".
+     * @param file The file to import
+     * @return The import result including all rows that were skipped and all titles that were
+     *         not saved because they already exist
+     * @throws IOException if the file cannot be read
+     */
+    public QuestionImporter.ImportResult importQuestionBank(Path file) throws IOException {
+        QuestionImporter.ImportResult result = new QuestionImporter().importFile(file);
+        List<String> existingTitles = new ArrayList<>();
+        for (Configuration configuration : result.getConfigurations()) {
+            if (databaseConnector.saveConfiguration(configuration, ConfigurationCatalogue.ABSENT) < 0) {
+                existingTitles.add(configuration.getTitle());
+                continue;
+            }
+            if (searchIndex != null) {
+                searchIndex.update(configuration);
+            }
+            duplicateChecker.execute(() -> {
+                if (duplicateDetector != null) {
+                    duplicateDetector.index(configuration);
+                }
+            });
+            List<Configuration> loaded = configurations;
+            if (loaded != null) {
+                loaded.add(configuration);
+            }
+        }
+        return result.withExistingTitles(existingTitles);
+    }
+
+    /**
+     * Searches all stored questions by words in the question, its answers or its category.
+     * The index is built from the database on the first search and kept up to date on save.
+     * @param query Words to search for; the last one may be incomplete
+     * @param limit Maximum number of hits
+     * @return The matching questions
+     */
+    public List<QuestionSearchIndex.SearchHit> searchQuestions(String query, int limit) {
+        if (searchIndex == null) {
+            QuestionSearchIndex index = new QuestionSearchIndex();
+            forEachStoredConfiguration(index::update);
+            searchIndex = index;
+        }
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Gets the near-duplicate questions found by the last finished check of a save
+     * @return Pairs of a question of the saved configuration and a similar stored question
+     */
+    public List<DuplicateDetector.DuplicateCandidate> getDuplicateCandidates() {
+        return duplicateCandidates;
+    }
+
+    /**
+     * Builds the duplicate detector from the database on first use. Runs on the duplicate checker thread.
+     */
+    private DuplicateDetector loadedDuplicateDetector() {
+        if (duplicateDetector == null) {
+            DuplicateDetector detector = new DuplicateDetector();
+            forEachStoredConfiguration(detector::index);
+            duplicateDetector = detector;
+        }
+        return duplicateDetector;
+    }
+
+    /**
+     * Loads the stored configurations one at a time
+     */
+    private void forEachStoredConfiguration(Consumer<Configuration> action) {
+        for (ConfigurationSummary summary : databaseConnector.listConfigurations()) {
+            Configuration configuration = databaseConnector.loadConfiguration(summary.getTitle());
+            if (configuration != null) {
+                action.accept(configuration);
+            }
+        }
+    }
+
     /**
      * Edits an existing configuration
      */
     public void editConfiguration(Configuration configuration) {
-        if (configuration != null && configurations.contains(configuration)) {
-            this.currentConfiguration = configuration;
+        if (configuration != null && loadedConfigurations().contains(configuration)) {
+            makeCurrent(configuration);
         }
     }
 
     /**
-     * Duplicates an existing configuration
+     * Duplicates an existing configuration. The copy shares the snapshot of the original and
+     * builds its own categories and questions only when they are first accessed.
      * @return The duplicated configuration
      */
     public Configuration duplicateConfiguration() {
         if (currentConfiguration == null) {
             return null;
         }
-        Configuration copy = copyConfiguration(currentConfiguration);
-        copy.setTitle(currentConfiguration.getTitle() + " (Kopie)");
-        configurations.add(copy);
+        Configuration copy = PersistentConfiguration.of(currentConfiguration)
+                .withTitle(currentConfiguration.getTitle() + " (Kopie)")
+                .toConfiguration();
+        unsavedConfigurations.add(copy);
+        loadedConfigurations().add(copy);
         return copy;
     }
 
@@ -81,7 +477,8 @@ public class ConfiguratorOverview {
      * @return True if the configuration was deleted, false otherwise
      */
     public boolean deleteConfiguration() {
-        return configurations.remove(currentConfiguration);
+        unsavedConfigurations.remove(currentConfiguration);
+        return loadedConfigurations().remove(currentConfiguration);
     }
 
     /**
@@ -89,7 +486,7 @@ public class ConfiguratorOverview {
      * @return The list of configurations
      */
     public List<Configuration> getConfigurations() {
-        return configurations;
+        return loadedConfigurations();
     }
 
     public Configuration getCurrentConfiguration() {
@@ -97,18 +494,6 @@ public class ConfiguratorOverview {
     }
 
     public void setCurrentConfiguration(Configuration configuration) {
-        this.currentConfiguration = configuration;
-    }
-
-    private Configuration copyConfiguration(Configuration configuration) {
-        Configuration copy = new Configuration(configuration.getTitle());
-        for (Category category : configuration.getCategories()) {
-            Map<Integer, Question> questionMap = new TreeMap<>();
-            for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
-                questionMap.put(entry.getKey(), entry.getValue().copy());
-            }
-            copy.addCategory(new Category(category.getName(), questionMap));
-        }
-        return copy;
+        makeCurrent(configuration);
     }
 }
@@ -0,0 +1,143 @@
+package dhbw.dgp;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small fixed-size pool of JDBC connections. Connections are opened lazily and
+ * handed out as {@link Lease}s that return the connection to the pool when closed.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String jdbcUrl;
+    private final BlockingQueue<Connection> idle;
+    private final List<Connection> all;
+    private final int maxSize;
+    private boolean closed;
+
+    public ConnectionPool(String jdbcUrl, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.jdbcUrl = jdbcUrl;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+        this.all = new ArrayList<>(maxSize);
+    }
+
+    /**
+     * Borrows a connection. Blocks while all connections are in use.
+     * @return A lease that must be closed after use
+     * @throws SQLException if no connection could be opened
+     */
+    public Lease borrow() throws SQLException {
+        Connection connection = idle.poll();
+        if (connection == null) {
+            connection = openIfBelowLimit();
+        }
+        if (connection == null) {
+            try {
+                connection = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", ex);
+            }
+            if (connection == null) {
+                throw new SQLException("No database connection available");
+            }
+        }
+        if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+            discard(connection);
+            return borrow();
+        }
+        return new Lease(connection);
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        closed = true;
+        SQLException failure = null;
+        for (Connection connection : all) {
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                failure = ex;
+            }
+        }
+        all.clear();
+        idle.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private synchronized Connection openIfBelowLimit() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        if (all.size() >= maxSize) {
+            return null;
+        }
+        Connection connection = DriverManager.getConnection(jdbcUrl);
+        all.add(connection);
+        return connection;
+    }
+
+    private synchronized void discard(Connection connection) {
+        all.remove(connection);
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void release(Connection connection) {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException ex) {
+            discard(connection);
+            return;
+        }
+        synchronized (this) {
+            if (closed || !all.contains(connection)) {
+                return;
+            }
+        }
+        idle.offer(connection);
+    }
+
+    /**
+     * A borrowed connection. Closing the lease returns the connection to the pool.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Connection connection;
+        private boolean released;
+
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        public Connection connection() {
+            return connection;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(connection);
+            }
+        }
+    }
+}
@@ -23,7 +23,12 @@ public class ConsoleGame {
     public void run() {
         System.out.println("Willkommen bei \"Der Große Preis\"!");
         Configuration configuration = selectConfiguration();
-        gameManager.loadGame(configuration);
+        ConfigurationValidator.ValidationReport report = gameManager.loadValidatedGame(configuration);
+        System.out.print(report.format(20));
+        if (report.hasErrors()) {
+            System.out.println("Die Konfiguration kann nicht gespielt werden.");
+            return;
+        }
         setupTeams();
 
         if (gameManager.getTeams().isEmpty()) {
@@ -36,8 +41,8 @@ public class ConsoleGame {
     }
 
     private Configuration selectConfiguration() {
-        List<Configuration> configurations = configuratorOverview.getConfigurations();
-        if (configurations.isEmpty()) {
+        List<ConfigurationSummary> summaries = configuratorOverview.getConfigurationSummaries();
+        if (summaries.isEmpty()) {
             ConfigurationBuilder builder = configuratorOverview.createNewConfiguration();
             builder.setTitle("Ad-hoc Spiel");
             configuratorOverview.setCurrentConfiguration(builder.getConfiguration());
@@ -45,14 +50,14 @@ public class ConsoleGame {
         }
 
         System.out.println("\nVerfügbare Konfigurationen:");
-        for (int i = 0; i < configurations.size(); i++) {
-            System.out.printf(" %d) %s%n", i + 1, configurations.get(i).getTitle());
+        for (int i = 0; i < summaries.size(); i++) {
+            ConfigurationSummary summary = summaries.get(i);
+            System.out.printf(" %d) %s (%d Kategorien, %d Fragen)%n",
+                    i + 1, summary.getTitle(), summary.getCategoryCount(), summary.getQuestionCount());
         }
 
-        int selection = readInt("Bitte Konfiguration wählen: ", 1, configurations.size());
-        Configuration configuration = configurations.get(selection - 1);
-        configuratorOverview.setCurrentConfiguration(configuration);
-        return configuration;
+        int selection = readInt("Bitte Konfiguration wählen: ", 1, summaries.size());
+        return configuratorOverview.openConfiguration(summaries.get(selection - 1).getTitle());
     }
 
     private void setupTeams() {
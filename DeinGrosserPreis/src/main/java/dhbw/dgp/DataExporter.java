@@ -0,0 +1,288 @@
+package dhbw.dgp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes configurations and game results as CSV or JSON in a single pass. Every value is
+ * escaped straight into the buffered writer, so no string for the whole export is built and
+ * the memory needed does not grow with the amount of data.
+ *
+ * <p>The CSV layout for configurations is the one read by {@link QuestionImporter}; questions
+ * with more answers than there are answer columns continue in additional columns.</p>
+ */
+public class DataExporter {
+    private static final int CSV_ANSWER_COLUMNS = 4;
+    private static final char CSV_DELIMITER = ';';
+
+    /**
+     * Export formats
+     */
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    private final Format format;
+
+    public DataExporter(Format format) {
+        if (format == null) {
+            throw new IllegalArgumentException("format must not be null");
+        }
+        this.format = format;
+    }
+
+    /**
+     * Exports all configurations of a database, loading only one configuration at a time
+     * @param databaseConnector The database to export
+     * @param writer Target of the export, is flushed but not closed
+     */
+    public void exportDatabase(DatabaseConnector databaseConnector, Writer writer) throws IOException {
+        List<ConfigurationSummary> summaries = databaseConnector.listConfigurations();
+        exportConfigurations(() -> summaries.stream()
+                .map(summary -> databaseConnector.loadConfiguration(summary.getTitle()))
+                .filter(configuration -> configuration != null)
+                .iterator(), writer);
+    }
+
+    /**
+     * Exports configurations with all categories, questions and answers
+     * @param configurations The configurations, consumed once
+     * @param writer Target of the export, is flushed but not closed
+     */
+    public void exportConfigurations(Iterable<Configuration> configurations, Writer writer) throws IOException {
+        Writer out = buffered(writer);
+        if (format == Format.CSV) {
+            out.write("configuration;category;points;question;correct");
+            for (int i = 1; i <= CSV_ANSWER_COLUMNS; i++) {
+                out.write(";answer" + i);
+            }
+            out.write('\n');
+            for (Configuration configuration : configurations) {
+                writeConfigurationCsv(configuration, out);
+            }
+        } else {
+            out.write('[');
+            boolean first = true;
+            for (Configuration configuration : configurations) {
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                out.write('\n');
+                writeConfigurationJson(configuration, out);
+            }
+            out.write("\n]\n");
+        }
+        out.flush();
+    }
+
+    /**
+     * Exports the final standings and the outcome of every played question of a game
+     * @param gameManager The game to export
+     * @param writer Target of the export, is flushed but not closed
+     */
+    public void exportGameResult(GameManager gameManager, Writer writer) throws IOException {
+        Writer out = buffered(writer);
+        List<Map.Entry<Team, Integer>> standings = gameManager.getPointsManager().getLeaderboard();
+        List<GameOverview.QuestionOutcome> outcomes = gameManager.getGameOverview().getQuestionOutcomes();
+
+        if (format == Format.CSV) {
+            // Two tables separated by an empty line: standings, then questions in the order they were played
+            out.write("rank;team;points\n");
+            int rank = 1;
+            for (Map.Entry<Team, Integer> entry : standings) {
+                out.write(Integer.toString(rank++));
+                out.write(CSV_DELIMITER);
+                writeCsvValue(entry.getKey().getName(), out);
+                out.write(CSV_DELIMITER);
+                out.write(Integer.toString(entry.getValue()));
+                out.write('\n');
+            }
+            out.write("\nnumber;category;points;team;correct;awarded\n");
+            int number = 1;
+            for (GameOverview.QuestionOutcome outcome : outcomes) {
+                out.write(Integer.toString(number++));
+                out.write(CSV_DELIMITER);
+                writeCsvValue(outcome.category().getName(), out);
+                out.write(CSV_DELIMITER);
+                out.write(Integer.toString(outcome.points()));
+                out.write(CSV_DELIMITER);
+                writeCsvValue(outcome.team() == null ? "" : outcome.team().getName(), out);
+                out.write(CSV_DELIMITER);
+                out.write(Boolean.toString(outcome.correct()));
+                out.write(CSV_DELIMITER);
+                out.write(Integer.toString(outcome.getAwardedPoints()));
+                out.write('\n');
+            }
+        } else {
+            out.write("{\"standings\":[");
+            int rank = 1;
+            for (Map.Entry<Team, Integer> entry : standings) {
+                out.write(rank > 1 ? ",\n  " : "\n  ");
+                out.write("{\"rank\":");
+                out.write(Integer.toString(rank++));
+                out.write(",\"team\":");
+                writeJsonString(entry.getKey().getName(), out);
+                out.write(",\"points\":");
+                out.write(Integer.toString(entry.getValue()));
+                out.write('}');
+            }
+            out.write("\n],\"questions\":[");
+            boolean first = true;
+            for (GameOverview.QuestionOutcome outcome : outcomes) {
+                out.write(first ? "\n  " : ",\n  ");
+                first = false;
+                out.write("{\"category\":");
+                writeJsonString(outcome.category().getName(), out);
+                out.write(",\"points\":");
+                out.write(Integer.toString(outcome.points()));
+                out.write(",\"team\":");
+                if (outcome.team() == null) {
+                    out.write("null");
+                } else {
+                    writeJsonString(outcome.team().getName(), out);
+                }
+                out.write(",\"correct\":");
+                out.write(Boolean.toString(outcome.correct()));
+                out.write(",\"awarded\":");
+                out.write(Integer.toString(outcome.getAwardedPoints()));
+                out.write('}');
+            }
+            out.write("\n]}\n");
+        }
+        out.flush();
+    }
+
+    private static void writeConfigurationCsv(Configuration configuration, Writer out) throws IOException {
+        for (Category category : configuration.getCategories()) {
+            for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
+                Question question = entry.getValue();
+                writeCsvValue(configuration.getTitle(), out);
+                out.write(CSV_DELIMITER);
+                writeCsvValue(category.getName(), out);
+                out.write(CSV_DELIMITER);
+                out.write(Integer.toString(entry.getKey()));
+                out.write(CSV_DELIMITER);
+                writeCsvValue(question.getQuestion(), out);
+                out.write(CSV_DELIMITER);
+                out.write(Integer.toString(question.getCorrectAnswerIndex()));
+                List<String> answers = question.getAnswers();
+                for (int i = 0; i < Math.max(answers.size(), CSV_ANSWER_COLUMNS); i++) {
+                    out.write(CSV_DELIMITER);
+                    if (i < answers.size()) {
+                        writeCsvValue(answers.get(i), out);
+                    }
+                }
+                out.write('\n');
+            }
+        }
+    }
+
+    private static void writeConfigurationJson(Configuration configuration, Writer out) throws IOException {
+        out.write("{\"title\":");
+        writeJsonString(configuration.getTitle(), out);
+        out.write(",\"categories\":[");
+        boolean firstCategory = true;
+        for (Category category : configuration.getCategories()) {
+            if (!firstCategory) {
+                out.write(',');
+            }
+            firstCategory = false;
+            out.write("{\"name\":");
+            writeJsonString(category.getName(), out);
+            out.write(",\"questions\":[");
+            boolean firstQuestion = true;
+            for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
+                if (!firstQuestion) {
+                    out.write(',');
+                }
+                firstQuestion = false;
+                Question question = entry.getValue();
+                out.write("{\"points\":");
+                out.write(Integer.toString(entry.getKey()));
+                out.write(",\"question\":");
+                writeJsonString(question.getQuestion(), out);
+                out.write(",\"answers\":[");
+                List<String> answers = question.getAnswers();
+                for (int i = 0; i < answers.size(); i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    writeJsonString(answers.get(i), out);
+                }
+                out.write("],\"correct\":");
+                out.write(Integer.toString(question.getCorrectAnswerIndex()));
+                out.write('}');
+            }
+            out.write("]}");
+        }
+        out.write("]}");
+    }
+
+    private static void writeCsvValue(String value, Writer out) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == CSV_DELIMITER || c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static void writeJsonString(String value, Writer out) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 32) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+    private static Writer buffered(Writer writer) {
+        return writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+    }
+}
@@ -1,101 +1,103 @@
 package dhbw.dgp;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.TreeMap;
 
 /**
- * Class for handling database operations related to configurations
+ * Storage backend for game configurations.
+ * Use {@link DatabaseConnectors#getDefault()} for the backend selected by the system properties.
  */
-public class DatabaseConnector {
-    private static final List<Configuration> IN_MEMORY_CONFIGURATIONS = new ArrayList<>();
+public interface DatabaseConnector extends AutoCloseable {
+    /**
+     * Loads configurations from the database
+     * @return List of Configuration objects sorted by title
+     */
+    List<Configuration> loadConfigurations();
 
-    static {
-        IN_MEMORY_CONFIGURATIONS.add(createSampleConfiguration());
-    }
+    /**
+     * Lists the stored configurations without loading their categories and questions
+     * @return Summaries sorted by title
+     */
+    List<ConfigurationSummary> listConfigurations();
 
     /**
-     * Loads configurations from the database
-     * @return List of Configuration objects loaded from the database
+     * Loads a single configuration with all categories and questions
+     * @param title The title of the configuration (case is ignored)
+     * @return The configuration, or null if no configuration has this title
      */
-    public static List<Configuration> loadConfigurations() {
-        List<Configuration> configurations = new ArrayList<>();
-        for (Configuration configuration : IN_MEMORY_CONFIGURATIONS) {
-            configurations.add(copyConfiguration(configuration));
-        }
-        configurations.sort(Comparator.comparing(Configuration::getTitle));
-        return configurations;
-    }
+    Configuration loadConfiguration(String title);
 
     /**
-     * Saves a configuration to the database
+     * Saves a configuration to the database. A configuration with the same title
+     * (ignoring case) is replaced.
      * @param configuration The Configuration object to save
      */
-    public static void saveConfiguration(Configuration configuration) {
-        if (configuration == null) {
-            return;
-        }
+    void saveConfiguration(Configuration configuration);
 
-        Optional<Configuration> existing = IN_MEMORY_CONFIGURATIONS.stream()
-                .filter(cfg -> cfg.getTitle().equalsIgnoreCase(configuration.getTitle()))
-                .findFirst();
-
-        Configuration copy = copyConfiguration(configuration);
+    /**
+     * Saves a configuration only if nobody else saved it since the expected version was read.
+     * @param configuration The Configuration object to save
+     * @param expectedVersion Version from {@link #getVersion}, or {@link ConfigurationCatalogue#ABSENT}
+     *                        if no configuration with this title may be stored yet
+     * @return The new version, or -1 if another save came first; nothing is written then
+     */
+    long saveConfiguration(Configuration configuration, long expectedVersion);
 
-        existing.ifPresentOrElse(cfg -> {
-            IN_MEMORY_CONFIGURATIONS.remove(cfg);
-            IN_MEMORY_CONFIGURATIONS.add(copy);
-        }, () -> IN_MEMORY_CONFIGURATIONS.add(copy));
-    }
+    /**
+     * Gets the version of a stored configuration. Every {@link #saveConfiguration} changes it,
+     * {@link #saveQuestions} keeps it. Read the version before loading the configuration, so a
+     * save in between is noticed.
+     * @param title The title of the configuration (case is ignored)
+     * @return The version, or {@link ConfigurationCatalogue#ABSENT} if no configuration has this title
+     */
+    long getVersion(String title);
 
-    private static Configuration copyConfiguration(Configuration configuration) {
-        Configuration copy = new Configuration(configuration.getTitle());
-        for (Category category : configuration.getCategories()) {
-            Map<Integer, Question> questionMap = new TreeMap<>();
-            for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
-                questionMap.put(entry.getKey(), entry.getValue().copy());
+    /**
+     * Saves changed questions of a stored configuration. The default implementation loads the
+     * configuration, replaces the questions and saves it again. The SQL and in-memory backends
+     * write only the changed questions; the file backend still writes the whole configuration.
+     * @param title The title of the configuration (case is ignored)
+     * @param updates The changed questions
+     * @return false if the configuration is not stored or lacks one of the questions; nothing is written then
+     */
+    default boolean saveQuestions(String title, List<QuestionUpdate> updates) {
+        Configuration configuration = loadConfiguration(title);
+        if (configuration == null) {
+            return false;
+        }
+        List<Category> categories = configuration.getCategories();
+        for (QuestionUpdate update : updates) {
+            if (update.categoryIndex() < 0 || update.categoryIndex() >= categories.size()
+                    || categories.get(update.categoryIndex()).getQuestion(update.points()) == null) {
+                return false;
             }
-            copy.addCategory(new Category(category.getName(), questionMap));
         }
-        return copy;
+        for (QuestionUpdate update : updates) {
+            categories.get(update.categoryIndex()).addOrReplaceQuestion(update.points(), update.question());
+        }
+        saveConfiguration(configuration);
+        return true;
     }
 
-    private static Configuration createSampleConfiguration() {
-        Configuration configuration = new Configuration("Der Große Preis – Standard");
-
-        configuration.addCategory(createCategory("Geographie", new String[][]{
-                {"10", "Welche Stadt ist die Hauptstadt von Frankreich?", "Paris", "Berlin", "Rom", "Madrid", "0"},
-                {"20", "Welcher Fluss fließt durch Budapest?", "Donau", "Elbe", "Themse", "Rhein", "0"},
-                {"30", "Welcher Kontinent hat die meisten Länder?", "Afrika", "Europa", "Asien", "Südamerika", "0"}
-        }));
-
-        configuration.addCategory(createCategory("Wissenschaft", new String[][]{
-                {"10", "Welche chemische Formel hat Wasser?", "H2O", "CO2", "NaCl", "O2", "0"},
-                {"20", "Wie viele Planeten hat unser Sonnensystem?", "8", "7", "9", "10", "0"},
-                {"30", "Wie heißt der Prozess, bei dem Pflanzen Licht in Energie umwandeln?", "Photosynthese", "Fermentation", "Metabolismus", "Osmose", "0"}
-        }));
-
-        configuration.addCategory(createCategory("Sport", new String[][]{
-                {"10", "Wie viele Spieler stehen beim Fußball pro Team auf dem Platz?", "11", "9", "10", "12", "0"},
-                {"20", "In welcher Sportart ist Serena Williams eine Legende?", "Tennis", "Basketball", "Golf", "Leichtathletik", "0"},
-                {"30", "Welches Land richtete die Olympischen Spiele 2016 aus?", "Brasilien", "China", "Großbritannien", "Griechenland", "0"}
-        }));
+    /**
+     * @return true if no configuration is stored
+     */
+    default boolean isEmpty() {
+        return loadConfigurations().isEmpty();
+    }
 
-        return configuration;
+    /**
+     * Releases files and connections held by the backend
+     */
+    @Override
+    default void close() {
     }
 
-    private static Category createCategory(String name, String[][] data) {
-        Map<Integer, Question> questions = new TreeMap<>();
-        for (String[] row : data) {
-            int points = Integer.parseInt(row[0]);
-            String prompt = row[1];
-            List<String> answers = List.of(row[2], row[3], row[4], row[5]);
-            int correctIndex = Integer.parseInt(row[6]);
-            questions.put(points, new Question(prompt, answers, correctIndex));
-        }
-        return new Category(name, questions);
+    /**
+     * A changed question of a configuration.
+     * @param categoryIndex Position of the category in the configuration
+     * @param points Point value of the question
+     * @param question Snapshot of the question, must not be changed afterwards
+     */
+    record QuestionUpdate(int categoryIndex, int points, Question question) {
     }
 }
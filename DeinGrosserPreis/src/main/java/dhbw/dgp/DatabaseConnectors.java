@@ -0,0 +1,68 @@
+package dhbw.dgp;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Creates the database backend selected by system properties:
+ * <ul>
+ *     <li>{@value #BACKEND_PROPERTY}: {@code file} (default), {@code sql} or {@code memory}</li>
+ *     <li>{@value #DATA_DIRECTORY_PROPERTY}: directory for the file and SQL backends
+ *     (default: ~/.dgp/configurations)</li>
+ * </ul>
+ * Edited questions are written in the background by a {@link WriteBehindDatabaseConnector}.
+ */
+public final class DatabaseConnectors {
+    public static final String BACKEND_PROPERTY = "dgp.database";
+    public static final String DATA_DIRECTORY_PROPERTY = "dgp.dataDir";
+    private static final long WRITE_BEHIND_WINDOW_MILLIS = 500;
+
+    private static DatabaseConnector defaultConnector;
+
+    private DatabaseConnectors() {
+    }
+
+    /**
+     * Gets the shared backend of this application. It is created on first use and seeded with
+     * the sample configuration when it is empty.
+     * @return The shared database connector
+     */
+    public static synchronized DatabaseConnector getDefault() {
+        if (defaultConnector == null) {
+            DatabaseConnector connector = create(System.getProperty(BACKEND_PROPERTY, "file"), dataDirectory());
+            if (connector.isEmpty()) {
+                connector.saveConfiguration(SampleConfigurations.createSampleConfiguration());
+            }
+            connector = new WriteBehindDatabaseConnector(connector, WRITE_BEHIND_WINDOW_MILLIS);
+            Runtime.getRuntime().addShutdownHook(new Thread(connector::close, "dgp-database-shutdown"));
+            defaultConnector = connector;
+        }
+        return defaultConnector;
+    }
+
+    /**
+     * Creates a new backend
+     * @param backend {@code file}, {@code sql} or {@code memory}
+     * @param directory Directory for the file and SQL backends
+     * @return The database connector
+     */
+    public static DatabaseConnector create(String backend, Path directory) {
+        switch (backend.trim().toLowerCase(Locale.ROOT)) {
+            case "memory":
+                return new InMemoryDatabaseConnector();
+            case "sql":
+                return new SqlDatabaseConnector(directory);
+            case "file":
+                return new FileDatabaseConnector(directory);
+            default:
+                throw new IllegalArgumentException("Unknown database backend: " + backend);
+        }
+    }
+
+    private static Path dataDirectory() {
+        String configured = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        return configured != null && !configured.isBlank()
+                ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".dgp", "configurations");
+    }
+}
@@ -0,0 +1,302 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Finds near-duplicate questions with MinHash signatures and locality-sensitive hashing.
+ * Every question (prompt plus answers) is reduced to a set of character shingles and a short
+ * signature whose agreement estimates the Jaccard similarity of two questions. Signatures are
+ * split into bands; only questions that share at least one band bucket are compared, so
+ * checking a question costs roughly constant time instead of a pass over the whole library.
+ * Questions without any words, like unfilled placeholders, are ignored.
+ *
+ * <p>Replacing a configuration marks its old questions as deleted; signatures and buckets are
+ * rebuilt without them once more than half of all indexed questions are deleted.</p>
+ */
+public class DuplicateDetector {
+    private static final int SHINGLE_LENGTH = 4;
+    // 20 bands of 5 rows: pairs with similarity 0.7 become candidates with ~97% probability,
+    // pairs with similarity 0.4 only with ~18%
+    private static final int BANDS = 20;
+    private static final int ROWS_PER_BAND = 5;
+    private static final int SIGNATURE_LENGTH = BANDS * ROWS_PER_BAND;
+    private static final double DEFAULT_THRESHOLD = 0.7;
+
+    private static final long[] HASH_SEEDS = new SplittableRandom(0x44475044L).longs(SIGNATURE_LENGTH).toArray();
+
+    private final double threshold;
+    private final List<QuestionRef> documents = new ArrayList<>();
+    private final List<int[]> signatures = new ArrayList<>();
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+    private final Map<String, int[]> documentsByConfiguration = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    // Marks documents already collected by candidatesFor, without allocating a set per call
+    private int[] visited = new int[0];
+    private int visitStamp;
+
+    public DuplicateDetector() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param threshold Minimum estimated similarity (0 to 1) for two questions to count as duplicates
+     */
+    public DuplicateDetector(double threshold) {
+        if (threshold <= 0.0 || threshold > 1.0) {
+            throw new IllegalArgumentException("threshold must be in (0, 1]: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * Adds a configuration or replaces the indexed version with the same title
+     * @param configuration The configuration
+     */
+    public synchronized void index(Configuration configuration) {
+        String key = ConfigurationStore.normalizeTitle(configuration.getTitle());
+        int[] old = documentsByConfiguration.remove(key);
+        if (old != null) {
+            for (int document : old) {
+                deleted.set(document);
+            }
+            deletedCount += old.length;
+        }
+
+        List<Integer> added = new ArrayList<>();
+        for (Category category : configuration.getCategories()) {
+            for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
+                int[] signature = signature(entry.getValue());
+                if (signature == null) {
+                    continue;
+                }
+                added.add(addDocument(new QuestionRef(configuration.getTitle(), category.getName(),
+                        entry.getKey(), entry.getValue().getQuestion()), signature));
+            }
+        }
+        documentsByConfiguration.put(key, added.stream().mapToInt(Integer::intValue).toArray());
+        if (deletedCount > documents.size() / 2) {
+            compact();
+        }
+    }
+
+    private int addDocument(QuestionRef question, int[] signature) {
+        int document = documents.size();
+        documents.add(question);
+        signatures.add(signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), k -> new Bucket()).add(document);
+        }
+        return document;
+    }
+
+    /**
+     * Renumbers the live documents and rebuilds the buckets without the deleted ones.
+     * The signatures are kept, so no question is hashed again.
+     */
+    private void compact() {
+        List<QuestionRef> liveDocuments = new ArrayList<>(documents);
+        List<int[]> liveSignatures = new ArrayList<>(signatures);
+        documents.clear();
+        signatures.clear();
+        buckets.clear();
+        for (Map.Entry<String, int[]> configuration : documentsByConfiguration.entrySet()) {
+            int[] renumbered = configuration.getValue();
+            for (int i = 0; i < renumbered.length; i++) {
+                renumbered[i] = addDocument(liveDocuments.get(renumbered[i]), liveSignatures.get(renumbered[i]));
+            }
+        }
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    /**
+     * Finds indexed questions that are near-duplicates of the questions of a configuration.
+     * Questions of the configuration itself are not reported against each other.
+     * @param configuration The configuration to check
+     * @return Candidates sorted by descending similarity
+     */
+    public synchronized List<DuplicateCandidate> findDuplicates(Configuration configuration) {
+        String key = ConfigurationStore.normalizeTitle(configuration.getTitle());
+        List<DuplicateCandidate> candidates = new ArrayList<>();
+        for (Category category : configuration.getCategories()) {
+            for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
+                int[] signature = signature(entry.getValue());
+                if (signature == null) {
+                    continue;
+                }
+                QuestionRef question = new QuestionRef(configuration.getTitle(), category.getName(), entry.getKey(), entry.getValue().getQuestion());
+                for (int document : candidatesFor(signature, -1)) {
+                    QuestionRef other = documents.get(document);
+                    if (ConfigurationStore.normalizeTitle(other.configurationTitle()).equals(key)) {
+                        continue;
+                    }
+                    double similarity = similarity(signature, signatures.get(document));
+                    if (similarity >= threshold) {
+                        candidates.add(new DuplicateCandidate(question, other, similarity));
+                    }
+                }
+            }
+        }
+        candidates.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+        return candidates;
+    }
+
+    /**
+     * Finds all pairs of near-duplicate questions in the index
+     * @return Every pair once, sorted by descending similarity
+     */
+    public synchronized List<DuplicateCandidate> findAllDuplicates() {
+        List<DuplicateCandidate> pairs = new ArrayList<>();
+        for (int document = 0; document < documents.size(); document++) {
+            if (deleted.get(document)) {
+                continue;
+            }
+            int[] signature = signatures.get(document);
+            // Report each pair once, from the document with the smaller number
+            for (int other : candidatesFor(signature, document)) {
+                double similarity = similarity(signature, signatures.get(other));
+                if (similarity >= threshold) {
+                    pairs.add(new DuplicateCandidate(documents.get(document), documents.get(other), similarity));
+                }
+            }
+        }
+        pairs.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+        return pairs;
+    }
+
+    /**
+     * @param after Only documents with a higher number are returned
+     * @return live documents that share at least one band with the signature
+     */
+    private int[] candidatesFor(int[] signature, int after) {
+        if (visited.length < documents.size()) {
+            visited = Arrays.copyOf(visited, Math.max(documents.size(), visited.length * 2));
+        }
+        if (++visitStamp == 0) {
+            Arrays.fill(visited, 0);
+            visitStamp = 1;
+        }
+        int[] candidates = new int[16];
+        int count = 0;
+        for (int band = 0; band < BANDS; band++) {
+            Bucket bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (int i = 0; i < bucket.size; i++) {
+                int document = bucket.documents[i];
+                if (document > after && visited[document] != visitStamp && !deleted.get(document)) {
+                    visited[document] = visitStamp;
+                    if (count == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, count * 2);
+                    }
+                    candidates[count++] = document;
+                }
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * Computes the MinHash signature of a question from the shingles of its normalized text
+     * @return The signature, or null if the question contains no words
+     */
+    static int[] signature(Question question) {
+        List<String> words = new ArrayList<>();
+        QuestionSearchIndex.tokenize(question.getQuestion(), words);
+        for (String answer : question.getAnswers()) {
+            QuestionSearchIndex.tokenize(answer, words);
+        }
+        if (words.isEmpty()) {
+            // All empty questions would share one signature and count as duplicates of each other
+            return null;
+        }
+        String text = String.join(" ", words);
+
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = shingleHash(text, start, Math.min(text.length(), start + SHINGLE_LENGTH));
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int hash = (int) mix(shingle ^ HASH_SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long shingleHash(String text, int start, int end) {
+        long hash = 1125899906842597L;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * 64-bit finalizer from SplitMix64
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long hash = band;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++) {
+            hash = mix(hash * 31 + signature[row]);
+        }
+        return hash;
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    /**
+     * Growable list of the documents that share one band value.
+     */
+    private static final class Bucket {
+        private int[] documents = new int[2];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+    }
+
+    /**
+     * Location of an indexed question.
+     */
+    public record QuestionRef(String configurationTitle, String categoryName, int points, String question) {
+    }
+
+    /**
+     * Two questions whose estimated similarity reached the threshold.
+     * @param question The checked question
+     * @param duplicate The similar question found in the index
+     * @param similarity Estimated Jaccard similarity between 0 and 1
+     */
+    public record DuplicateCandidate(QuestionRef question, QuestionRef duplicate, double similarity) {
+    }
+}
@@ -0,0 +1,53 @@
+package dhbw.dgp;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Hands events from background threads to the event dispatch thread in batches. However many
+ * events arrive while the EDT is busy, at most one task is waiting in the Swing event queue, and
+ * it delivers everything collected so far in one call.
+ * @param <T> Type of the events
+ */
+public class EdtEventQueue<T> {
+    private final Queue<T> events = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Consumer<List<T>> handler;
+
+    /**
+     * @param handler Called on the event dispatch thread with the events in arrival order
+     */
+    public EdtEventQueue(Consumer<List<T>> handler) {
+        this.handler = Objects.requireNonNull(handler, "handler");
+    }
+
+    /**
+     * Adds an event. Safe to call from any thread.
+     * @param event The event
+     */
+    public void post(T event) {
+        events.add(Objects.requireNonNull(event, "event"));
+        if (scheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        // Reset first, so an event posted during the handler schedules the next batch
+        scheduled.set(false);
+        List<T> batch = new ArrayList<>();
+        T event;
+        while ((event = events.poll()) != null) {
+            batch.add(event);
+        }
+        if (!batch.isEmpty()) {
+            handler.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dhbw.dgp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Stores configurations in a log-structured {@link ConfigurationStore} on disk.
+ * The store only knows whole configurations, so every save, including a save of single
+ * questions, appends the complete configuration record.
+ */
+public class FileDatabaseConnector implements DatabaseConnector {
+    // Configurations without a title come first
+    private static final Comparator<String> BY_TITLE = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final ConfigurationStore store;
+
+    /**
+     * @param directory Directory that holds the segment files
+     */
+    public FileDatabaseConnector(Path directory) {
+        try {
+            this.store = new ConfigurationStore(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Konfigurationsspeicher konnte nicht geöffnet werden: " + directory, ex);
+        }
+    }
+
+    @Override
+    public List<Configuration> loadConfigurations() {
+        List<Configuration> configurations = store.getAll();
+        configurations.sort(Comparator.comparing(Configuration::getTitle, BY_TITLE));
+        return configurations;
+    }
+
+    @Override
+    public List<ConfigurationSummary> listConfigurations() {
+        List<ConfigurationSummary> summaries = store.getSummaries();
+        summaries.sort(Comparator.comparing(ConfigurationSummary::getTitle, BY_TITLE));
+        return summaries;
+    }
+
+    @Override
+    public Configuration loadConfiguration(String title) {
+        return store.get(title);
+    }
+
+    @Override
+    public void saveConfiguration(Configuration configuration) {
+        if (configuration == null) {
+            return;
+        }
+        store.put(configuration);
+    }
+
+    /**
+     * Versions are kept in memory only; after a restart every configuration gets a new version.
+     */
+    @Override
+    public long saveConfiguration(Configuration configuration, long expectedVersion) {
+        return store.put(configuration, expectedVersion);
+    }
+
+    @Override
+    public long getVersion(String title) {
+        return store.getVersion(title);
+    }
+
+    /**
+     * Replaces the questions and appends the whole configuration again. The store has no
+     * per-question records; the write-behind window keeps this to one record per configuration
+     * and window.
+     */
+    @Override
+    public boolean saveQuestions(String title, List<QuestionUpdate> updates) {
+        return store.update(title, configuration -> {
+            List<Category> categories = configuration.getCategories();
+            for (QuestionUpdate update : updates) {
+                if (update.categoryIndex() < 0 || update.categoryIndex() >= categories.size()
+                        || !categories.get(update.categoryIndex()).hasQuestion(update.points())) {
+                    return null;
+                }
+            }
+            for (QuestionUpdate update : updates) {
+                categories.get(update.categoryIndex()).addOrReplaceQuestion(update.points(), update.question());
+            }
+            return configuration;
+        });
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return store.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        try {
+            store.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -4,34 +4,31 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
 import java.awt.BorderLayout;
-import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
-import java.awt.GridLayout;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Swing-based host UI that cooperates with the PlayerServer for remote answers.
  */
 public class GameFrame extends JFrame {
-    private static final Color COLOR_PRIMARY = new Color(0x1976D2);
-    private static final Color COLOR_PENDING = new Color(0x455A64);
-    private static final Color COLOR_CORRECT = new Color(0x388E3C);
-    private static final Color COLOR_INCORRECT = new Color(0xD32F2F);
-
     private final GameManager gameManager;
     private final ConfiguratorOverview configuratorOverview;
     private final PlayerServer playerServer;
 
-    private JPanel scoreboardPanel;
+    private ScoreboardPanel scoreboardPanel;
+    private JPanel playerStatsPanel;
     private JLabel currentTeamLabel;
     private JLabel questionLabel;
-    private final Map<String, JButton> questionButtons = new HashMap<>();
+    private BoardPanel boardPanel;
+    private final ToastLayer toastLayer = new ToastLayer();
+    private PresenterDisplay presenterDisplay;
+    // Server events reach the EDT in batches instead of one invokeLater per event
+    private final EdtEventQueue<PlayerServer.QuestionResult> questionResults = new EdtEventQueue<>(this::handleQuestionResultsOnEdt);
+    private final EdtEventQueue<Team> expiredTurns = new EdtEventQueue<>(teams -> handleTurnExpiredOnEdt());
 
     public GameFrame() {
         super("Der Große Preis");
@@ -46,6 +43,9 @@ public class GameFrame extends JFrame {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
+                if (presenterDisplay != null) {
+                    presenterDisplay.close();
+                }
                 playerServer.stop();
             }
         });
@@ -56,6 +56,7 @@ public class GameFrame extends JFrame {
     private PlayerServer startPlayerServer() {
         try {
             PlayerServer server = new PlayerServer(gameManager, this::onQuestionAnswered);
+            server.setTurnExpiredListener(expiredTurns::post);
             server.start();
             return server;
         } catch (IOException ex) {
@@ -70,14 +71,21 @@ public class GameFrame extends JFrame {
     }
 
     private void initialiseGame() {
-        Configuration configuration = chooseConfiguration();
-        if (configuration == null) {
-            playerServer.stop();
-            dispose();
-            return;
+        Configuration configuration;
+        while (true) {
+            configuration = chooseConfiguration();
+            if (configuration == null) {
+                playerServer.stop();
+                dispose();
+                return;
+            }
+            ConfigurationValidator.ValidationReport report = gameManager.loadValidatedGame(configuration);
+            if (!report.hasErrors()) {
+                break;
+            }
+            JOptionPane.showMessageDialog(this, "Die Konfiguration kann nicht gespielt werden:\n\n" + report.format(15),
+                    "Ungültige Konfiguration", JOptionPane.ERROR_MESSAGE);
         }
-
-        gameManager.loadGame(configuration);
         collectTeams();
         if (gameManager.getTeams().isEmpty()) {
             JOptionPane.showMessageDialog(this, "Es wurden keine Teams angelegt.", "Spiel beendet", JOptionPane.INFORMATION_MESSAGE);
@@ -86,45 +94,37 @@ public class GameFrame extends JFrame {
             return;
         }
 
-        buildUi(configuration);
+        buildUi();
         updateCurrentTeamLabel();
         updateScoreboard();
         showPlayerInfo();
+        playerServer.startTurnCountdown();
     }
 
     private Configuration chooseConfiguration() {
-        List<Configuration> configurations = configuratorOverview.getConfigurations();
-        if (configurations.isEmpty()) {
+        List<ConfigurationSummary> summaries = configuratorOverview.getConfigurationSummaries();
+        if (summaries.isEmpty()) {
             ConfigurationBuilder builder = configuratorOverview.createNewConfiguration();
             builder.setTitle("Ad-hoc Spiel");
             return builder.getConfiguration();
         }
 
-        String[] titles = configurations.stream()
-                .map(Configuration::getTitle)
-                .toArray(String[]::new);
+        ConfigurationSummary[] options = summaries.toArray(new ConfigurationSummary[0]);
 
-        String selectedTitle = (String) JOptionPane.showInputDialog(
+        ConfigurationSummary selected = (ConfigurationSummary) JOptionPane.showInputDialog(
                 this,
                 "Konfiguration auswählen:",
                 "Konfiguration",
                 JOptionPane.PLAIN_MESSAGE,
                 null,
-                titles,
-                titles[0]);
+                options,
+                options[0]);
 
-        if (selectedTitle == null) {
+        if (selected == null) {
             return null;
         }
 
-        for (Configuration configuration : configurations) {
-            if (configuration.getTitle().equals(selectedTitle)) {
-                configuratorOverview.setCurrentConfiguration(configuration);
-                return configuration;
-            }
-        }
-
-        return configurations.get(0);
+        return configuratorOverview.openConfiguration(selected.getTitle());
     }
 
     private void collectTeams() {
@@ -142,10 +142,11 @@ public class GameFrame extends JFrame {
         }
     }
 
-    private void buildUi(Configuration configuration) {
+    private void buildUi() {
         add(buildHeaderPanel(), BorderLayout.NORTH);
-        add(buildBoardPanel(configuration), BorderLayout.CENTER);
+        add(buildBoardPanel(), BorderLayout.CENTER);
         add(buildSidebar(), BorderLayout.EAST);
+        setGlassPane(toastLayer);
     }
 
     private JPanel buildHeaderPanel() {
@@ -170,38 +171,9 @@ public class GameFrame extends JFrame {
         return container;
     }
 
-    private JScrollPane buildBoardPanel(Configuration configuration) {
-        List<Category> categories = configuration.getCategories();
-
-        JPanel boardPanel = new JPanel();
-        boardPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
-        boardPanel.setLayout(new GridLayout(1, Math.max(categories.size(), 1), 12, 12));
-
-        questionButtons.clear();
-
-        for (Category category : categories) {
-            JPanel column = new JPanel(new BorderLayout(0, 8));
-            JLabel categoryLabel = new JLabel(category.getName(), SwingConstants.CENTER);
-            categoryLabel.setFont(categoryLabel.getFont().deriveFont(Font.BOLD, 16f));
-            column.add(categoryLabel, BorderLayout.NORTH);
-
-            JPanel buttonsPanel = new JPanel(new GridLayout(category.getPointValues().size(), 1, 8, 8));
-            buttonsPanel.setBorder(new EmptyBorder(4, 4, 4, 4));
-
-            for (Integer points : category.getPointValues()) {
-                JButton button = new JButton(points + " Punkte");
-                button.setFont(button.getFont().deriveFont(Font.BOLD, 14f));
-                button.setBackground(COLOR_PRIMARY);
-                button.setForeground(Color.WHITE);
-                button.addActionListener(e -> handleQuestionSelection(category, points, button));
-
-                buttonsPanel.add(button);
-                questionButtons.put(buttonKey(category.getName(), points), button);
-            }
-
-            column.add(buttonsPanel, BorderLayout.CENTER);
-            boardPanel.add(column);
-        }
+    private JScrollPane buildBoardPanel() {
+        boardPanel = new BoardPanel(gameManager.getGameOverview());
+        boardPanel.setSelectionListener(this::handleQuestionSelection);
 
         JScrollPane scrollPane = new JScrollPane(boardPanel);
         scrollPane.setBorder(null);
@@ -213,98 +185,148 @@ public class GameFrame extends JFrame {
         sidebar.setPreferredSize(new Dimension(260, 0));
         sidebar.setBorder(new EmptyBorder(10, 10, 10, 10));
 
-        scoreboardPanel = new JPanel();
-        scoreboardPanel.setLayout(new BoxLayout(scoreboardPanel, BoxLayout.Y_AXIS));
+        scoreboardPanel = new ScoreboardPanel();
         scoreboardPanel.setBorder(new TitledBorder("Punktestand"));
+        scoreboardPanel.setTeams(gameManager.getTeams());
+
+        playerStatsPanel = new JPanel();
+        playerStatsPanel.setLayout(new BoxLayout(playerStatsPanel, BoxLayout.Y_AXIS));
+        playerStatsPanel.setBorder(new TitledBorder("Beste Spieler"));
 
         sidebar.add(scoreboardPanel, BorderLayout.NORTH);
+        sidebar.add(playerStatsPanel, BorderLayout.CENTER);
+
+        JButton presenterButton = new JButton("Präsentationsmodus");
+        presenterButton.addActionListener(e -> openPresenterDisplay());
+        sidebar.add(presenterButton, BorderLayout.SOUTH);
         return sidebar;
     }
 
-    private void handleQuestionSelection(Category category, int points, JButton button) {
+    /**
+     * Opens the full-screen view for the projector on the screen of this window
+     */
+    private void openPresenterDisplay() {
+        if (presenterDisplay == null) {
+            presenterDisplay = new PresenterDisplay(gameManager);
+        }
+        presenterDisplay.refresh();
+        presenterDisplay.open(this);
+    }
+
+    private void handleQuestionSelection(Category category, int points) {
         if (playerServer.isQuestionActive()) {
-            JOptionPane.showMessageDialog(this, "Bitte warte, bis die aktuelle Frage beantwortet ist.", "Frage aktiv", JOptionPane.INFORMATION_MESSAGE);
+            toastLayer.show(ToastLayer.Kind.INFO, "Frage aktiv", "Bitte warte, bis die aktuelle Frage beantwortet ist.");
             return;
         }
 
         Team currentTeam = gameManager.getCurrentTeam();
         if (currentTeam == null) {
-            JOptionPane.showMessageDialog(this, "Es ist kein Team aktiv.", "Hinweis", JOptionPane.WARNING_MESSAGE);
+            toastLayer.show(ToastLayer.Kind.WARNING, "Hinweis", "Es ist kein Team aktiv.");
             return;
         }
 
         Question question = gameManager.getGameOverview().getQuestion(category, points);
         if (question == null) {
-            button.setEnabled(false);
-            JOptionPane.showMessageDialog(this, "Für diese Auswahl existiert keine Frage.", "Fehler", JOptionPane.ERROR_MESSAGE);
+            boardPanel.setState(category, points, BoardPanel.MISSING);
+            toastLayer.show(ToastLayer.Kind.ERROR, "Fehler", "Für diese Auswahl existiert keine Frage.");
             return;
         }
 
         try {
             playerServer.presentQuestion(category, points, question, currentTeam);
         } catch (IllegalStateException ex) {
-            JOptionPane.showMessageDialog(this, ex.getMessage(), "Frage aktiv", JOptionPane.WARNING_MESSAGE);
+            toastLayer.show(ToastLayer.Kind.WARNING, "Frage aktiv", ex.getMessage());
             return;
         }
 
-        button.setEnabled(false);
-        button.setBackground(COLOR_PENDING);
+        boardPanel.setState(category, points, BoardPanel.PENDING);
+        if (presenterDisplay != null) {
+            presenterDisplay.showQuestion(category, points, question);
+        }
         questionLabel.setText(formatQuestionText(category.getName(), points, question.getQuestion()));
     }
 
     private void onQuestionAnswered(PlayerServer.QuestionResult result) {
-        SwingUtilities.invokeLater(() -> handleQuestionAnsweredOnEdt(result));
+        questionResults.post(result);
     }
 
-    private void handleQuestionAnsweredOnEdt(PlayerServer.QuestionResult result) {
+    /**
+     * Shows all results that arrived since the last batch; scoreboard and statistics are updated once
+     */
+    private void handleQuestionResultsOnEdt(List<PlayerServer.QuestionResult> results) {
         updateScoreboard();
-
-        JButton button = questionButtons.get(buttonKey(result.getCategoryName(), result.getPoints()));
-        if (button != null) {
-            button.setEnabled(false);
-            button.setBackground(result.isCorrect() ? COLOR_CORRECT : COLOR_INCORRECT);
+        updatePlayerStatistics();
+
+        String message = null;
+        for (PlayerServer.QuestionResult result : results) {
+            boardPanel.setState(result.getCategory(), result.getPoints(), result.isCorrect() ? BoardPanel.CORRECT : BoardPanel.INCORRECT);
+
+            String participant = result.getPlayerName() == null || result.getPlayerName().isBlank()
+                    ? "Team \"" + result.getTeamName() + "\""
+                    : "Spieler \"" + result.getPlayerName() + "\" (Team \"" + result.getTeamName() + "\")";
+
+            ToastLayer.Kind kind;
+            String title;
+            if (result.isTimedOut()) {
+                message = "Zeit abgelaufen für " + participant + ". Richtige Antwort: " + result.getCorrectAnswer();
+                kind = ToastLayer.Kind.WARNING;
+                title = "Zeit abgelaufen";
+            } else if (result.isCorrect()) {
+                message = participant + " hat die Frage richtig beantwortet und erhält " + result.getPoints() + " Punkte.";
+                kind = ToastLayer.Kind.SUCCESS;
+                title = "Richtige Antwort";
+            } else {
+                message = participant + " hat leider falsch geantwortet. Richtige Antwort: " + result.getCorrectAnswer();
+                kind = ToastLayer.Kind.ERROR;
+                title = "Falsche Antwort";
+            }
+            toastLayer.show(kind, title, message);
         }
 
-        String participant = result.getPlayerName() == null || result.getPlayerName().isBlank()
-                ? "Team \"" + result.getTeamName() + "\""
-                : "Spieler \"" + result.getPlayerName() + "\" (Team \"" + result.getTeamName() + "\")";
-
-        String message = result.isCorrect()
-                ? participant + " hat die Frage richtig beantwortet und erhält " + result.getPoints() + " Punkte."
-                : participant + " hat leider falsch geantwortet. Richtige Antwort: " + result.getCorrectAnswer();
-
         questionLabel.setText("<html><div style='text-align:center; font-size:16px;'>" + escapeHtml(message) + "</div></html>");
-        JOptionPane.showMessageDialog(
-                this,
-                message,
-                result.isCorrect() ? "Richtige Antwort" : "Falsche Antwort",
-                result.isCorrect() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE
-        );
 
-        gameManager.nextTeam();
+        // The player server already advanced to the next team
         updateCurrentTeamLabel();
+        if (presenterDisplay != null) {
+            presenterDisplay.hideQuestion();
+        }
+    }
+
+    private void handleTurnExpiredOnEdt() {
+        updateCurrentTeamLabel();
+        if (presenterDisplay != null) {
+            presenterDisplay.refresh();
+        }
+        Team currentTeam = gameManager.getCurrentTeam();
+        if (currentTeam != null) {
+            questionLabel.setText("<html><div style='text-align:center; font-size:16px;'>"
+                    + escapeHtml("Zeit abgelaufen – jetzt ist Team \"" + currentTeam.getName() + "\" an der Reihe.")
+                    + "</div></html>");
+        }
     }
 
     private void updateScoreboard() {
-        scoreboardPanel.removeAll();
-
-        List<Map.Entry<Team, Integer>> leaderboard = gameManager.getPointsManager().getLeaderboard();
-        if (leaderboard.isEmpty()) {
-            for (Team team : gameManager.getTeams()) {
-                JLabel label = new JLabel(team.getName() + ": 0");
-                label.setBorder(new EmptyBorder(2, 0, 2, 0));
-                scoreboardPanel.add(label);
-            }
-        } else {
-            for (Map.Entry<Team, Integer> entry : leaderboard) {
-                JLabel label = new JLabel(entry.getKey().getName() + ": " + entry.getValue());
-                label.setBorder(new EmptyBorder(2, 0, 2, 0));
-                scoreboardPanel.add(label);
-            }
+        // The scoreboard only repaints teams whose score or rank changed
+        PointsManager pointsManager = gameManager.getPointsManager();
+        for (Team team : gameManager.getTeams()) {
+            scoreboardPanel.setScore(team, pointsManager.getPoints(team));
+        }
+    }
+
+    private void updatePlayerStatistics() {
+        playerStatsPanel.removeAll();
+
+        List<PlayerStatistics.PlayerStats> topPlayers = gameManager.getPlayerStatistics().getTopPlayers();
+        for (int i = 0; i < topPlayers.size(); i++) {
+            PlayerStatistics.PlayerStats stats = topPlayers.get(i);
+            JLabel label = new JLabel((i + 1) + ". " + stats.playerName() + " (" + stats.teamName() + "): "
+                    + stats.points() + " – " + stats.correctAnswers() + "/" + (stats.correctAnswers() + stats.incorrectAnswers()));
+            label.setBorder(new EmptyBorder(2, 0, 2, 0));
+            playerStatsPanel.add(label);
         }
 
-        scoreboardPanel.revalidate();
-        scoreboardPanel.repaint();
+        playerStatsPanel.revalidate();
+        playerStatsPanel.repaint();
     }
 
     private void updateCurrentTeamLabel() {
@@ -340,10 +362,6 @@ public class GameFrame extends JFrame {
         return JOptionPane.showInputDialog(this, message);
     }
 
-    private String buttonKey(String categoryName, int points) {
-        return categoryName + ":" + points;
-    }
-
     private String formatQuestionText(String categoryName, int points, String prompt) {
         String text = (prompt == null || prompt.isBlank()) ? "Keine Frage hinterlegt." : prompt;
         return "<html><div style='text-align:center; font-size:16px;'>"
@@ -8,12 +8,16 @@ public class GameManager {
     private List<Team> teams;
     private int currentTeamIndex;
     private PointsManager pointsManager;
+    private PlayerStatistics playerStatistics;
     private GameOverview gameOverview;
 
+    private static final ConfigurationValidator VALIDATOR = new ConfigurationValidator();
+
     public GameManager() {
         this.teams = new ArrayList<>();
         this.currentTeamIndex = -1;
         this.pointsManager = new PointsManager();
+        this.playerStatistics = new PlayerStatistics();
         this.gameOverview = new GameOverview();
     }
 
@@ -33,6 +37,37 @@ public class GameManager {
         }
     }
 
+    /**
+     * Validates a configuration and loads it only if it has no errors
+     * @param configuration The configuration to load
+     * @return The validation report with all errors and warnings
+     */
+    public ConfigurationValidator.ValidationReport loadValidatedGame(Configuration configuration) {
+        ConfigurationValidator.ValidationReport report = VALIDATOR.validate(configuration);
+        if (!report.hasErrors()) {
+            loadGame(configuration);
+        }
+        return report;
+    }
+
+    /**
+     * Starts a new game with the loaded configuration and the existing teams.
+     * All questions become available again and every team starts with 0 points.
+     * @param startingTeamIndex Index of the team that takes the first turn
+     */
+    public void resetGame(int startingTeamIndex) {
+        if (configuration != null && gameOverview.hasCategories(configuration.getCategories())) {
+            // Same board as before: reuse the overview instead of building a new one per game
+            gameOverview.reset();
+        } else {
+            loadGame(configuration);
+        }
+        for (Team team : teams) {
+            pointsManager.updatePoints(team, 0);
+        }
+        currentTeamIndex = teams.isEmpty() ? -1 : Math.floorMod(startingTeamIndex, teams.size());
+    }
+
     /**
      * Creates a new team and adds it to the list of teams
      * @param name The name of the team
@@ -47,6 +82,20 @@ public class GameManager {
         }
     }
 
+    /**
+     * Registers a player as member of a team
+     * @param team The team the player joins
+     * @param playerName The name of the player
+     * @return The ID of the player in the player statistics
+     */
+    public int joinTeam(Team team, String playerName) {
+        if (team == null) {
+            throw new IllegalArgumentException("team must not be null");
+        }
+        team.addPlayer(playerName.trim());
+        return playerStatistics.registerPlayer(playerName, team.getName());
+    }
+
     /**
      * Gets the currently active team
      * @return The active team
@@ -119,7 +168,7 @@ public class GameManager {
         }
 
         boolean isCorrect = question.isCorrectAnswer(givenAnswer);
-        boolean marked = gameOverview.markQuestionAsAnswered(category, points);
+        boolean marked = gameOverview.markQuestionAsAnswered(category, points, team, isCorrect);
 
         if (marked && isCorrect) {
             pointsManager.addPoints(team, points);
@@ -128,6 +177,19 @@ public class GameManager {
         return isCorrect;
     }
 
+    /**
+     * Closes a question that nobody answered in time. No points are awarded.
+     * @param category category containing the question
+     * @param points point value
+     * @return true if the question was still available
+     */
+    public boolean expireQuestion(Category category, int points) {
+        if (category == null) {
+            throw new IllegalArgumentException("category must not be null");
+        }
+        return gameOverview.markQuestionAsAnswered(category, points);
+    }
+
     public Category getCategoryByName(String name) {
         if (configuration == null) {
             return null;
@@ -157,6 +219,10 @@ public class GameManager {
         return pointsManager;
     }
 
+    public PlayerStatistics getPlayerStatistics() {
+        return playerStatistics;
+    }
+
     public Configuration getConfiguration() {
         return configuration;
     }
@@ -20,6 +20,9 @@ public class GameOverview {
     // Maps each category to a list of point values for answered questions
     private Map<Category, List<Integer>> answeredQuestions;
 
+    // Outcome of every closed question in the order the questions were played
+    private List<QuestionOutcome> outcomes;
+
     /**
      * Constructor for GameOverview
      */
@@ -27,6 +30,7 @@ public class GameOverview {
         this.categories = new ArrayList<>();
         this.availableQuestions = new HashMap<>();
         this.answeredQuestions = new HashMap<>();
+        this.outcomes = new ArrayList<>();
     }
 
     /**
@@ -37,14 +41,47 @@ public class GameOverview {
         categories.add(category);
 
         // Initialize the lists for new questions with all available point values
-        List<Integer> pointsList = new ArrayList<>(category.getPointQuestionMap().keySet());
-        Collections.sort(pointsList);
-        availableQuestions.put(category, pointsList);
+        availableQuestions.put(category, new ArrayList<>(category.getPointValues()));
 
         // Initialize empty list for answered questions
         answeredQuestions.put(category, new ArrayList<>());
     }
 
+    /**
+     * Makes every question available again and forgets all outcomes. The existing collections
+     * are reused, so starting another game with the same categories allocates nothing.
+     */
+    public void reset() {
+        outcomes.clear();
+        for (int c = 0; c < categories.size(); c++) {
+            Category category = categories.get(c);
+            List<Integer> available = availableQuestions.get(category);
+            available.clear();
+            // Adding one by one reuses the cached boxed values without addAll's array copy
+            List<Integer> pointValues = category.getPointValues();
+            for (int i = 0; i < pointValues.size(); i++) {
+                available.add(pointValues.get(i));
+            }
+            answeredQuestions.get(category).clear();
+        }
+    }
+
+    /**
+     * @param categories The categories of a configuration
+     * @return true if this overview was built from exactly these categories, in this order
+     */
+    boolean hasCategories(List<Category> categories) {
+        if (categories.size() != this.categories.size()) {
+            return false;
+        }
+        for (int c = 0; c < categories.size(); c++) {
+            if (categories.get(c) != this.categories.get(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Marks a question as answered
      * @param category The category of the question
@@ -52,15 +89,30 @@ public class GameOverview {
      * @return true if the question was successfully marked as answered, false otherwise
      */
     public boolean markQuestionAsAnswered(Category category, int points) {
-        // Check if the category exists and the question is available (not yet answered)
-        if (availableQuestions.containsKey(category) && availableQuestions.get(category).contains(points)) {
-            // Remove from new questions
-            availableQuestions.get(category).remove(Integer.valueOf(points));
-
-            // Add to answered questions
-            answeredQuestions.get(category).add(points);
+        return markQuestionAsAnswered(category, points, null, false);
+    }
 
-            return true;
+    /**
+     * Marks a question as answered and records who answered it
+     * @param category The category of the question
+     * @param points The point value of the question
+     * @param team The team that answered, or null if nobody answered
+     * @param correct Whether the answer was correct
+     * @return true if the question was successfully marked as answered, false otherwise
+     */
+    public boolean markQuestionAsAnswered(Category category, int points, Team team, boolean correct) {
+        // Check if the category exists and the question is available (not yet answered)
+        List<Integer> available = availableQuestions.get(category);
+        if (available == null) {
+            return false;
+        }
+        for (int i = 0; i < available.size(); i++) {
+            if (available.get(i) == points) {
+                // Move the boxed value itself, so no Integer is allocated
+                answeredQuestions.get(category).add(available.remove(i));
+                outcomes.add(new QuestionOutcome(category, points, team, correct));
+                return true;
+            }
         }
         return false;
     }
@@ -72,10 +124,7 @@ public class GameOverview {
      * @return The question or null if not found
      */
     public Question getQuestion(Category category, int points) {
-        if (category != null && category.getPointQuestionMap().containsKey(points)) {
-            return category.getPointQuestionMap().get(points);
-        }
-        return null;
+        return category == null ? null : category.getQuestion(points);
     }
 
     /**
@@ -102,6 +151,14 @@ public class GameOverview {
         return answeredQuestions;
     }
 
+    /**
+     * Gets the outcome of every answered or expired question
+     * @return Unmodifiable list in the order the questions were played
+     */
+    public List<QuestionOutcome> getQuestionOutcomes() {
+        return Collections.unmodifiableList(outcomes);
+    }
+
     public boolean hasAvailableQuestions() {
         for (List<Integer> points : availableQuestions.values()) {
             if (!points.isEmpty()) {
@@ -110,4 +167,20 @@ public class GameOverview {
         }
         return false;
     }
+
+    /**
+     * Result of a single played question.
+     * @param category The category of the question
+     * @param points The point value of the question
+     * @param team The team that answered, or null if the question expired
+     * @param correct Whether the team answered correctly
+     */
+    public record QuestionOutcome(Category category, int points, Team team, boolean correct) {
+        /**
+         * @return points awarded for this question
+         */
+        public int getAwardedPoints() {
+            return correct ? points : 0;
+        }
+    }
 }
@@ -0,0 +1,327 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless Monte-Carlo simulation of complete games played by bot teams.
+ * Games are split across a fork-join pool; every leaf task reuses a single
+ * GameManager and works with its own random number generator, so no Swing,
+ * HTTP or shared mutable state is involved.
+ */
+public class GameSimulator {
+    private static final long GAMES_PER_TASK = 1_024;
+
+    private final Configuration configuration;
+    private final List<BotProfile> bots;
+    private final ForkJoinPool pool;
+
+    // Precomputed per configuration: sorted point values and accuracy per bot, category and point index
+    private final int[][] pointValues;
+    private final double[][][] accuracy;
+
+    public GameSimulator(Configuration configuration, List<BotProfile> bots) {
+        this(configuration, bots, ForkJoinPool.commonPool());
+    }
+
+    public GameSimulator(Configuration configuration, List<BotProfile> bots, ForkJoinPool pool) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration");
+        this.bots = List.copyOf(bots);
+        this.pool = Objects.requireNonNull(pool, "pool");
+        if (this.bots.isEmpty()) {
+            throw new IllegalArgumentException("At least one bot is required");
+        }
+        // Bots become teams of the simulated games, which must be told apart by name
+        Set<String> names = new HashSet<>();
+        for (BotProfile bot : this.bots) {
+            String name = bot.getName() == null ? "" : bot.getName().trim().toLowerCase(Locale.ROOT);
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Duplicate bot name: " + bot.getName());
+            }
+        }
+
+        List<Category> categories = configuration.getCategories();
+        this.pointValues = new int[categories.size()][];
+        for (int c = 0; c < categories.size(); c++) {
+            Category category = categories.get(c);
+            pointValues[c] = new int[category.getQuestionCount()];
+            for (int q = 0; q < pointValues[c].length; q++) {
+                pointValues[c][q] = category.getPointValue(q);
+            }
+        }
+
+        this.accuracy = new double[this.bots.size()][categories.size()][];
+        for (int b = 0; b < this.bots.size(); b++) {
+            for (int c = 0; c < categories.size(); c++) {
+                double[] values = new double[pointValues[c].length];
+                for (int p = 0; p < values.length; p++) {
+                    values[p] = this.bots.get(b).getAccuracy(categories.get(c).getName(), pointValues[c][p]);
+                }
+                accuracy[b][c] = values;
+            }
+        }
+    }
+
+    /**
+     * Simulates the given number of games
+     * @param games Number of games to play
+     * @param seed Seed for reproducible results
+     * @return The aggregated result of all games
+     */
+    public SimulationResult run(long games, long seed) {
+        if (games <= 0) {
+            return new SimulationResult(bots.size());
+        }
+        return pool.invoke(new SimulationTask(0, games, new SplittableRandom(seed)));
+    }
+
+    private final class SimulationTask extends RecursiveTask<SimulationResult> {
+        private final long firstGame;
+        private final long games;
+        private final SplittableRandom random;
+
+        SimulationTask(long firstGame, long games, SplittableRandom random) {
+            this.firstGame = firstGame;
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (games <= GAMES_PER_TASK) {
+                return new GameRunner(random).play(firstGame, games);
+            }
+            long half = games / 2;
+            SimulationTask left = new SimulationTask(firstGame, half, random.split());
+            SimulationTask right = new SimulationTask(firstGame + half, games - half, random);
+            left.fork();
+            SimulationResult result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+
+    /**
+     * Plays games sequentially on one thread, reusing all game objects between games.
+     */
+    private final class GameRunner {
+        private final SplittableRandom random;
+        private final GameManager gameManager;
+        private final List<Team> teams;
+        private final List<Category> categories;
+        private final int totalQuestions;
+        private final int[] halftimePoints;
+
+        GameRunner(SplittableRandom random) {
+            this.random = random;
+            this.gameManager = new GameManager();
+            gameManager.loadGame(configuration);
+            for (BotProfile bot : bots) {
+                gameManager.createTeam(bot.getName());
+            }
+            this.teams = gameManager.getTeams();
+            this.categories = configuration.getCategories();
+            int questions = 0;
+            for (int[] points : pointValues) {
+                questions += points.length;
+            }
+            this.totalQuestions = questions;
+            this.halftimePoints = new int[teams.size()];
+        }
+
+        SimulationResult play(long firstGame, long games) {
+            SimulationResult result = new SimulationResult(teams.size());
+            for (long game = firstGame; game < firstGame + games; game++) {
+                playGame((int) (game % teams.size()), result);
+            }
+            return result;
+        }
+
+        private void playGame(int startingTeam, SimulationResult result) {
+            gameManager.resetGame(startingTeam);
+            GameOverview overview = gameManager.getGameOverview();
+            int teamIndex = startingTeam;
+            int answered = 0;
+            Arrays.fill(halftimePoints, 0);
+
+            while (gameManager.hasAvailableQuestions()) {
+                Team team = teams.get(teamIndex);
+                long pick = pickQuestion(bots.get(teamIndex), teamIndex, overview);
+                int categoryIndex = (int) (pick >>> 32);
+                int pointIndex = (int) pick;
+                Category category = categories.get(categoryIndex);
+                int points = pointValues[categoryIndex][pointIndex];
+
+                boolean correct = random.nextDouble() < accuracy[teamIndex][categoryIndex][pointIndex];
+                Question question = overview.getQuestion(category, points);
+                gameManager.answerQuestion(category, points, team, correct ? question.getCorrectAnswer() : null);
+
+                if (++answered == totalQuestions / 2) {
+                    for (int t = 0; t < teams.size(); t++) {
+                        halftimePoints[t] = gameManager.getPointsForTeam(teams.get(t));
+                    }
+                }
+
+                gameManager.nextTeam();
+                teamIndex = (teamIndex + 1) % teams.size();
+            }
+
+            result.record(gameManager.getPointsManager(), teams, halftimePoints);
+        }
+
+        /**
+         * @return category index in the upper and point index in the lower 32 bits
+         */
+        private long pickQuestion(BotProfile bot, int teamIndex, GameOverview overview) {
+            long best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            int seen = 0;
+
+            for (int c = 0; c < categories.size(); c++) {
+                List<Integer> available = overview.getAvailableQuestions().get(categories.get(c));
+                if (available == null) {
+                    continue;
+                }
+                for (int i = 0; i < available.size(); i++) {
+                    int points = available.get(i);
+                    int pointIndex = Arrays.binarySearch(pointValues[c], points);
+                    double score;
+                    switch (bot.getStrategy()) {
+                        case HIGHEST_POINTS:
+                            score = points;
+                            break;
+                        case LOWEST_POINTS:
+                            score = -points;
+                            break;
+                        case BEST_EXPECTED_VALUE:
+                            score = accuracy[teamIndex][c][pointIndex] * points;
+                            break;
+                        default:
+                            // Reservoir sampling: every available question wins with equal probability
+                            score = random.nextInt(++seen) == 0 ? seen : bestScore;
+                            break;
+                    }
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = ((long) c << 32) | pointIndex;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Aggregated outcome of many simulated games.
+     */
+    public static class SimulationResult {
+        private long games;
+        private long ties;
+        private long comebacks;
+        private final long[] wins;
+        private final long[] totalPoints;
+        private long totalWinningMargin;
+
+        SimulationResult(int teamCount) {
+            this.wins = new long[teamCount];
+            this.totalPoints = new long[teamCount];
+        }
+
+        void record(PointsManager pointsManager, List<Team> teams, int[] halftimePoints) {
+            games++;
+            int winner = -1;
+            int best = Integer.MIN_VALUE;
+            int second = Integer.MIN_VALUE;
+            for (int t = 0; t < teams.size(); t++) {
+                int points = pointsManager.getPoints(teams.get(t));
+                totalPoints[t] += points;
+                if (points > best) {
+                    second = best;
+                    best = points;
+                    winner = t;
+                } else if (points > second) {
+                    second = points;
+                }
+            }
+
+            if (teams.size() > 1 && best == second) {
+                ties++;
+                return;
+            }
+            wins[winner]++;
+            if (teams.size() > 1) {
+                totalWinningMargin += best - second;
+            }
+
+            // A comeback: the winner was behind at least one other team at halftime
+            for (int t = 0; t < teams.size(); t++) {
+                if (halftimePoints[t] > halftimePoints[winner]) {
+                    comebacks++;
+                    break;
+                }
+            }
+        }
+
+        void merge(SimulationResult other) {
+            games += other.games;
+            ties += other.ties;
+            comebacks += other.comebacks;
+            totalWinningMargin += other.totalWinningMargin;
+            for (int t = 0; t < wins.length; t++) {
+                wins[t] += other.wins[t];
+                totalPoints[t] += other.totalPoints[t];
+            }
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getTies() {
+            return ties;
+        }
+
+        public long getWins(int teamIndex) {
+            return wins[teamIndex];
+        }
+
+        public double getWinRate(int teamIndex) {
+            return games == 0 ? 0.0 : (double) wins[teamIndex] / games;
+        }
+
+        public double getAveragePoints(int teamIndex) {
+            return games == 0 ? 0.0 : (double) totalPoints[teamIndex] / games;
+        }
+
+        /**
+         * @return share of decided games won by a team that trailed at halftime
+         */
+        public double getComebackRate() {
+            long decided = games - ties;
+            return decided == 0 ? 0.0 : (double) comebacks / decided;
+        }
+
+        public double getAverageWinningMargin() {
+            long decided = games - ties;
+            return decided == 0 ? 0.0 : (double) totalWinningMargin / decided;
+        }
+
+        @Override
+        public String toString() {
+            List<String> teamStats = new ArrayList<>(wins.length);
+            for (int t = 0; t < wins.length; t++) {
+                teamStats.add(String.format("team %d: win rate %.3f, avg points %.1f", t, getWinRate(t), getAveragePoints(t)));
+            }
+            return String.format("%d games, %d ties, comeback rate %.3f, avg margin %.1f, %s",
+                    games, ties, getComebackRate(), getAverageWinningMargin(), teamStats);
+        }
+    }
+}
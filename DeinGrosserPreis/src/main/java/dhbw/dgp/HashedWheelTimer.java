@@ -0,0 +1,232 @@
+package dhbw.dgp;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timer that keeps all pending timeouts in a ring of buckets ("timing wheel")
+ * and advances it with a single worker thread. Scheduling and cancelling are O(1),
+ * so thousands of concurrently ticking countdowns cost one thread.
+ * Timeouts fire with a precision of one tick.
+ */
+public class HashedWheelTimer implements AutoCloseable {
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final String threadName;
+    private volatile boolean started;
+    private volatile boolean running = true;
+    private long startNanos;
+    private volatile Thread worker;
+
+    /**
+     * @param tickDuration Duration of one tick
+     * @param unit Unit of the tick duration
+     * @param ticksPerWheel Number of buckets, rounded up to a power of two
+     */
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this(tickDuration, unit, ticksPerWheel, "dgp-countdown-timer");
+    }
+
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel, String threadName) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 20)) {
+            throw new IllegalArgumentException("ticksPerWheel out of range: " + ticksPerWheel);
+        }
+        int size = Integer.highestOneBit(ticksPerWheel - 1 == 0 ? 1 : ticksPerWheel - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.threadName = threadName;
+    }
+
+    /**
+     * Schedules a task to run once after the given delay. The task runs on the timer thread
+     * and should therefore be short.
+     * @param task The task to run
+     * @param delay The delay
+     * @param unit The unit of the delay
+     * @return Handle that can be used to cancel the timeout
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task");
+        if (!running) {
+            throw new IllegalStateException("Timer has been stopped");
+        }
+        startIfNeeded();
+        long deadline = System.nanoTime() - startNanos + Math.max(0L, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the worker thread. Pending timeouts are discarded.
+     */
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void startIfNeeded() {
+        if (started) {
+            return;
+        }
+        synchronized (this) {
+            if (!started) {
+                startNanos = System.nanoTime();
+                worker = new Thread(this::runWorker, threadName);
+                worker.setDaemon(true);
+                worker.start();
+                started = true;
+            }
+        }
+    }
+
+    private void runWorker() {
+        long tick = 0;
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos;
+            while ((sleepNanos = deadline - (System.nanoTime() - startNanos)) > 0 && running) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            if (!running) {
+                break;
+            }
+
+            transferPendingTimeouts(tick);
+            wheel[(int) (tick & mask)].expireTimeouts(System.nanoTime() - startNanos);
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts(long currentTick) {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state.get() != Timeout.STATE_PENDING) {
+                continue;
+            }
+            long targetTick = Math.max(timeout.deadline / tickNanos, currentTick);
+            timeout.remainingRounds = (targetTick - currentTick) / wheel.length;
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+        private static final int STATE_PENDING = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        // Only accessed by the worker thread
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout. The task will not run unless it has already started.
+         * @return true if the timeout was cancelled by this call
+         */
+        public boolean cancel() {
+            return state.compareAndSet(STATE_PENDING, STATE_CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    Thread current = Thread.currentThread();
+                    current.getUncaughtExceptionHandler().uncaughtException(current, ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts that share a slot of the wheel.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.state.get() != Timeout.STATE_PENDING) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.next = null;
+            timeout.previous = null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps configurations in memory only. Nothing survives a restart.
+ * Configurations are stored as immutable snapshots in a {@link ConfigurationCatalogue}, so saving
+ * never shares state with the caller and many threads can load and save in parallel.
+ */
+public class InMemoryDatabaseConnector implements DatabaseConnector {
+    private final ConfigurationCatalogue catalogue = new ConfigurationCatalogue();
+
+    @Override
+    public List<Configuration> loadConfigurations() {
+        List<PersistentConfiguration> snapshots = catalogue.getSnapshots();
+        List<Configuration> result = new ArrayList<>(snapshots.size());
+        for (PersistentConfiguration configuration : snapshots) {
+            result.add(configuration.toConfiguration());
+        }
+        return result;
+    }
+
+    @Override
+    public List<ConfigurationSummary> listConfigurations() {
+        return catalogue.getSummaries();
+    }
+
+    @Override
+    public Configuration loadConfiguration(String title) {
+        ConfigurationCatalogue.Versioned entry = catalogue.get(title);
+        return entry == null ? null : entry.configuration().toConfiguration();
+    }
+
+    @Override
+    public void saveConfiguration(Configuration configuration) {
+        if (configuration == null) {
+            return;
+        }
+        catalogue.save(configuration);
+    }
+
+    @Override
+    public long saveConfiguration(Configuration configuration, long expectedVersion) {
+        return catalogue.save(configuration, expectedVersion);
+    }
+
+    @Override
+    public long getVersion(String title) {
+        ConfigurationCatalogue.Versioned entry = catalogue.get(title);
+        return entry == null ? ConfigurationCatalogue.ABSENT : entry.version();
+    }
+
+    @Override
+    public boolean saveQuestions(String title, List<QuestionUpdate> updates) {
+        return catalogue.update(title, configuration -> {
+            for (QuestionUpdate update : updates) {
+                List<PersistentCategory> categories = configuration.getCategories();
+                if (update.categoryIndex() < 0 || update.categoryIndex() >= categories.size()
+                        || categories.get(update.categoryIndex()).getQuestion(update.points()) == null) {
+                    return null;
+                }
+                // Only the path to the changed question is copied
+                configuration = configuration.withQuestion(update.categoryIndex(), update.points(), PersistentQuestion.of(update.question()));
+            }
+            return configuration;
+        }) > 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return catalogue.isEmpty();
+    }
+
+    /**
+     * @return The catalogue behind this backend
+     */
+    public ConfigurationCatalogue getCatalogue() {
+        return catalogue;
+    }
+}
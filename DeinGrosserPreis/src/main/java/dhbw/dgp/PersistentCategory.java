@@ -0,0 +1,111 @@
+package dhbw.dgp;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable category. Point values are kept sorted in a plain array, so lookups are a binary search
+ * and an edit copies only the two arrays of this category.
+ */
+public final class PersistentCategory {
+    private static final int[] NO_POINTS = new int[0];
+    private static final PersistentQuestion[] NO_QUESTIONS = new PersistentQuestion[0];
+
+    private final String name;
+    private final int[] points;
+    private final PersistentQuestion[] questions;
+
+    private PersistentCategory(String name, int[] points, PersistentQuestion[] questions) {
+        this.name = name;
+        this.points = points;
+        this.questions = questions;
+    }
+
+    /**
+     * @param name The name of the category
+     * @return A category without questions
+     */
+    public static PersistentCategory empty(String name) {
+        return new PersistentCategory(name, NO_POINTS, NO_QUESTIONS);
+    }
+
+    /**
+     * Takes a snapshot of a mutable category
+     * @param category The category
+     * @return The snapshot
+     */
+    public static PersistentCategory of(Category category) {
+        int[] points = new int[category.getQuestionCount()];
+        PersistentQuestion[] questions = new PersistentQuestion[points.length];
+        for (int q = 0; q < points.length; q++) {
+            points[q] = category.getPointValue(q);
+            questions[q] = PersistentQuestion.of(category.getQuestionAt(q));
+        }
+        return new PersistentCategory(category.getName(), points, questions);
+    }
+
+    /**
+     * @return A mutable category with the same content
+     */
+    public Category toCategory() {
+        Map<Integer, Question> questionMap = new TreeMap<>();
+        for (int i = 0; i < points.length; i++) {
+            questionMap.put(points[i], questions[i].toQuestion());
+        }
+        return new Category(name, questionMap);
+    }
+
+    public PersistentCategory withName(String name) {
+        return new PersistentCategory(name, points, questions);
+    }
+
+    /**
+     * Adds or replaces the question for a point value
+     * @param pointValue The point value
+     * @param question The question
+     * @return The changed category
+     */
+    public PersistentCategory withQuestion(int pointValue, PersistentQuestion question) {
+        int index = Arrays.binarySearch(points, pointValue);
+        if (index >= 0) {
+            PersistentQuestion[] updated = questions.clone();
+            updated[index] = question;
+            return new PersistentCategory(name, points, updated);
+        }
+        int insertAt = -index - 1;
+        int[] newPoints = new int[points.length + 1];
+        PersistentQuestion[] newQuestions = new PersistentQuestion[questions.length + 1];
+        System.arraycopy(points, 0, newPoints, 0, insertAt);
+        System.arraycopy(questions, 0, newQuestions, 0, insertAt);
+        newPoints[insertAt] = pointValue;
+        newQuestions[insertAt] = question;
+        System.arraycopy(points, insertAt, newPoints, insertAt + 1, points.length - insertAt);
+        System.arraycopy(questions, insertAt, newQuestions, insertAt + 1, questions.length - insertAt);
+        return new PersistentCategory(name, newPoints, newQuestions);
+    }
+
+    /**
+     * @param pointValue The point value
+     * @return The question, or null if there is none for this point value
+     */
+    public PersistentQuestion getQuestion(int pointValue) {
+        int index = Arrays.binarySearch(points, pointValue);
+        return index >= 0 ? questions[index] : null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return copy of the sorted point values
+     */
+    public int[] getPointValues() {
+        return points.clone();
+    }
+
+    public int getQuestionCount() {
+        return points.length;
+    }
+}
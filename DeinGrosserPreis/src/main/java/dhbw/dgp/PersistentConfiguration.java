@@ -0,0 +1,102 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable configuration with structural sharing. Changing the title shares all categories,
+ * and changing a question copies only the category list and the affected category.
+ * This makes snapshots and duplicates cheap compared to copying every question.
+ */
+public final class PersistentConfiguration {
+    private final String title;
+    private final List<PersistentCategory> categories;
+    private final int questionCount;
+
+    private PersistentConfiguration(String title, List<PersistentCategory> immutableCategories) {
+        this.title = title;
+        this.categories = immutableCategories;
+        int questions = 0;
+        for (PersistentCategory category : immutableCategories) {
+            questions += category.getQuestionCount();
+        }
+        this.questionCount = questions;
+    }
+
+    /**
+     * @param title The title
+     * @return A configuration without categories
+     */
+    public static PersistentConfiguration empty(String title) {
+        return new PersistentConfiguration(title, List.of());
+    }
+
+    /**
+     * Takes a snapshot of a mutable configuration. A configuration that was created from a
+     * snapshot and never changed returns that snapshot without copying anything.
+     * @param configuration The configuration
+     * @return The snapshot
+     */
+    public static PersistentConfiguration of(Configuration configuration) {
+        PersistentConfiguration source = configuration.unchangedSource();
+        if (source != null) {
+            return source;
+        }
+        List<PersistentCategory> categories = new ArrayList<>(configuration.getCategories().size());
+        for (Category category : configuration.getCategories()) {
+            categories.add(PersistentCategory.of(category));
+        }
+        return new PersistentConfiguration(configuration.getTitle(), Collections.unmodifiableList(categories));
+    }
+
+    /**
+     * @return A mutable configuration with the same content. Its categories are built on first access.
+     */
+    public Configuration toConfiguration() {
+        return new Configuration(this);
+    }
+
+    public PersistentConfiguration withTitle(String title) {
+        return new PersistentConfiguration(title, categories);
+    }
+
+    public PersistentConfiguration withCategory(int index, PersistentCategory category) {
+        List<PersistentCategory> updated = new ArrayList<>(categories);
+        updated.set(index, category);
+        return new PersistentConfiguration(title, Collections.unmodifiableList(updated));
+    }
+
+    public PersistentConfiguration withAddedCategory(PersistentCategory category) {
+        List<PersistentCategory> updated = new ArrayList<>(categories.size() + 1);
+        updated.addAll(categories);
+        updated.add(category);
+        return new PersistentConfiguration(title, Collections.unmodifiableList(updated));
+    }
+
+    /**
+     * Adds or replaces a single question
+     * @param categoryIndex Index of the category
+     * @param points The point value
+     * @param question The question
+     * @return The changed configuration
+     */
+    public PersistentConfiguration withQuestion(int categoryIndex, int points, PersistentQuestion question) {
+        return withCategory(categoryIndex, categories.get(categoryIndex).withQuestion(points, question));
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * @return immutable list of categories
+     */
+    public List<PersistentCategory> getCategories() {
+        return categories;
+    }
+
+    public ConfigurationSummary getSummary() {
+        return new ConfigurationSummary(title, categories.size(), questionCount);
+    }
+}
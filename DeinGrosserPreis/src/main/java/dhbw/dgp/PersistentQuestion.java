@@ -0,0 +1,90 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable question. Every {@code with...} method returns a new question and leaves this one untouched.
+ */
+public final class PersistentQuestion {
+    private final String prompt;
+    private final List<String> answers;
+    private final int correctAnswerIndex;
+
+    private PersistentQuestion(String prompt, List<String> immutableAnswers, int correctAnswerIndex) {
+        if (immutableAnswers.isEmpty()) {
+            throw new IllegalArgumentException("answers must not be empty");
+        }
+        if (correctAnswerIndex < 0 || correctAnswerIndex >= immutableAnswers.size()) {
+            throw new IllegalArgumentException("Correct answer index out of bounds: " + correctAnswerIndex);
+        }
+        this.prompt = prompt;
+        this.answers = immutableAnswers;
+        this.correctAnswerIndex = correctAnswerIndex;
+    }
+
+    /**
+     * @param prompt The question text
+     * @param answers The answer options
+     * @param correctAnswerIndex Index of the correct answer
+     * @return The new question
+     */
+    public static PersistentQuestion of(String prompt, List<String> answers, int correctAnswerIndex) {
+        Objects.requireNonNull(answers, "answers");
+        return new PersistentQuestion(prompt, Collections.unmodifiableList(new ArrayList<>(answers)), correctAnswerIndex);
+    }
+
+    /**
+     * Takes a snapshot of a mutable question. The answer list is shared, not copied.
+     * @param question The question
+     * @return The snapshot
+     */
+    public static PersistentQuestion of(Question question) {
+        return new PersistentQuestion(question.getQuestion(), question.getAnswers(), question.getCorrectAnswerIndex());
+    }
+
+    /**
+     * @return A mutable question with the same content
+     */
+    public Question toQuestion() {
+        return Question.withSharedAnswers(prompt, answers, correctAnswerIndex);
+    }
+
+    public PersistentQuestion withPrompt(String prompt) {
+        return new PersistentQuestion(prompt, answers, correctAnswerIndex);
+    }
+
+    public PersistentQuestion withAnswer(int position, String answer) {
+        if (position < 0 || position >= answers.size()) {
+            return this;
+        }
+        List<String> updated = new ArrayList<>(answers);
+        updated.set(position, answer);
+        return new PersistentQuestion(prompt, Collections.unmodifiableList(updated), correctAnswerIndex);
+    }
+
+    public PersistentQuestion withCorrectAnswerIndex(int index) {
+        return new PersistentQuestion(prompt, answers, index);
+    }
+
+    public String getPrompt() {
+        return prompt;
+    }
+
+    /**
+     * @return immutable list of answer options
+     */
+    public List<String> getAnswers() {
+        return answers;
+    }
+
+    public int getCorrectAnswerIndex() {
+        return correctAnswerIndex;
+    }
+
+    public String getCorrectAnswer() {
+        return answers.get(correctAnswerIndex);
+    }
+}
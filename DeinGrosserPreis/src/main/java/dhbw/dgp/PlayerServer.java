@@ -16,6 +16,7 @@ import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.LinkedHashMap;
@@ -24,6 +25,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -31,6 +33,11 @@ import java.util.function.Consumer;
  */
 public class PlayerServer implements AutoCloseable {
     private static final String REMOTE_PLAYER_UI_URL = "https://finn1574.github.io/Gro-e-Preis/";
+    private static final Duration DEFAULT_QUESTION_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_TURN_TIMEOUT = Duration.ofSeconds(60);
+
+    // Shared by all servers in this JVM, so every running countdown costs one thread in total
+    private static final HashedWheelTimer COUNTDOWN_TIMER = new HashedWheelTimer(100, TimeUnit.MILLISECONDS, 512);
 
     private final GameManager gameManager;
     private final Consumer<QuestionResult> resultConsumer;
@@ -39,7 +46,14 @@ public class PlayerServer implements AutoCloseable {
 
     private final Object lock = new Object();
     private CurrentQuestion currentQuestion;
-    private String lastMessage = "";
+    // Written by HTTP workers and the countdown timer, read by status requests
+    private volatile String lastMessage = "";
+    private Duration questionTimeout = DEFAULT_QUESTION_TIMEOUT;
+    private Duration turnTimeout = DEFAULT_TURN_TIMEOUT;
+    private HashedWheelTimer.Timeout turnCountdown;
+    private long turnSequence;
+    private Consumer<Team> turnExpiredListener = team -> { };
+    private final SpectatorChannel spectatorChannel = new SpectatorChannel();
 
     public PlayerServer(GameManager gameManager, Consumer<QuestionResult> resultConsumer) {
         this(gameManager, resultConsumer, 8080);
@@ -56,16 +70,131 @@ public class PlayerServer implements AutoCloseable {
         httpServer.createContext("/", new RootHandler());
         httpServer.createContext("/api/state", new StateHandler());
         httpServer.createContext("/api/answer", new AnswerHandler());
+        httpServer.createContext("/api/join", new JoinHandler());
+        httpServer.createContext("/api/spectate", new SpectatorHandler());
         httpServer.setExecutor(Executors.newCachedThreadPool());
         httpServer.start();
     }
 
     public void stop() {
+        synchronized (lock) {
+            cancelTurnCountdown();
+            if (currentQuestion != null && currentQuestion.countdown != null) {
+                currentQuestion.countdown.cancel();
+            }
+        }
+        spectatorChannel.close();
         if (httpServer != null) {
             httpServer.stop(0);
         }
     }
 
+    /**
+     * Sets how long players have to answer a presented question
+     * @param timeout The answer time, or Duration.ZERO to wait forever
+     */
+    public void setQuestionTimeout(Duration timeout) {
+        synchronized (lock) {
+            this.questionTimeout = Objects.requireNonNull(timeout, "timeout");
+        }
+    }
+
+    /**
+     * Sets how long the active team has to choose a question
+     * @param timeout The time per turn, or Duration.ZERO to wait forever
+     */
+    public void setTurnTimeout(Duration timeout) {
+        synchronized (lock) {
+            this.turnTimeout = Objects.requireNonNull(timeout, "timeout");
+        }
+    }
+
+    /**
+     * Sets how many spectators may follow the game at the same time. Further spectators
+     * are turned away until one leaves.
+     * @param maxSpectators The limit, by default {@link SpectatorChannel#DEFAULT_MAX_SUBSCRIBERS}
+     */
+    public void setMaxSpectators(int maxSpectators) {
+        spectatorChannel.setMaxSubscribers(maxSpectators);
+    }
+
+    /**
+     * Sets the listener that is notified when a team lost its turn because it did not choose
+     * a question in time. The listener receives the team that is active now and is called
+     * from the timer thread.
+     */
+    public void setTurnExpiredListener(Consumer<Team> listener) {
+        this.turnExpiredListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * Starts the countdown for the turn of the currently active team.
+     * Any running turn countdown is replaced.
+     */
+    public void startTurnCountdown() {
+        synchronized (lock) {
+            cancelTurnCountdown();
+            if (turnTimeout.isZero() || !gameManager.hasAvailableQuestions()) {
+                return;
+            }
+            long sequence = ++turnSequence;
+            turnCountdown = COUNTDOWN_TIMER.schedule(() -> expireTurn(sequence), turnTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelTurnCountdown() {
+        turnSequence++;
+        if (turnCountdown != null) {
+            turnCountdown.cancel();
+            turnCountdown = null;
+        }
+    }
+
+    private void expireTurn(long sequence) {
+        Team nextTeam;
+        synchronized (lock) {
+            if (sequence != turnSequence || (currentQuestion != null && !currentQuestion.answered)) {
+                return;
+            }
+            Team expiredTeam = gameManager.getCurrentTeam();
+            gameManager.nextTeam();
+            nextTeam = gameManager.getCurrentTeam();
+            lastMessage = expiredTeam == null
+                    ? ""
+                    : "Zeit abgelaufen: Team " + expiredTeam.getName() + " hat keine Frage gewählt.";
+            turnCountdown = null;
+        }
+        startTurnCountdown();
+        publishSpectatorState();
+        turnExpiredListener.accept(nextTeam);
+    }
+
+    private void expireQuestion(CurrentQuestion expected) {
+        synchronized (lock) {
+            if (currentQuestion != expected || expected.answered) {
+                return;
+            }
+            expected.answered = true;
+            currentQuestion = null;
+            lastMessage = "Zeit abgelaufen. Die richtige Antwort lautet: " + expected.correctAnswer + ".";
+        }
+
+        gameManager.expireQuestion(expected.category, expected.points);
+        gameManager.nextTeam();
+        startTurnCountdown();
+        publishSpectatorState();
+
+        resultConsumer.accept(new QuestionResult(
+                expected.category,
+                expected.points,
+                expected.activeTeamName,
+                "",
+                false,
+                expected.correctAnswer,
+                true
+        ));
+    }
+
     @Override
     public void close() {
         stop();
@@ -86,17 +215,39 @@ public class PlayerServer implements AutoCloseable {
             if (currentQuestion != null && !currentQuestion.answered) {
                 throw new IllegalStateException("Es ist bereits eine Frage aktiv.");
             }
+            cancelTurnCountdown();
             List<String> answers = new ArrayList<>(question.getAnswers());
-            currentQuestion = new CurrentQuestion(
-                    category.getName(),
+            CurrentQuestion presented = new CurrentQuestion(
+                    category,
                     points,
                     question.getQuestion() == null ? "" : question.getQuestion(),
                     answers,
                     activeTeam.getName(),
                     question.getCorrectAnswer()
             );
+            if (!questionTimeout.isZero()) {
+                presented.deadlineNanos = presented.presentedAtNanos + questionTimeout.toNanos();
+                presented.countdown = COUNTDOWN_TIMER.schedule(() -> expireQuestion(presented),
+                        questionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            currentQuestion = presented;
             lastMessage = "";
         }
+        publishSpectatorState();
+    }
+
+    /**
+     * Sends the current game state to all spectators. The state is serialized once,
+     * independent of the number of spectators.
+     */
+    public void publishSpectatorState() {
+        if (spectatorChannel.getSubscriberCount() > 0) {
+            spectatorChannel.publish(buildStateJson(""));
+        }
+    }
+
+    public int getSpectatorCount() {
+        return spectatorChannel.getSubscriberCount();
     }
 
     private void clearCurrentQuestion() {
@@ -158,7 +309,8 @@ public class PlayerServer implements AutoCloseable {
                 return;
             }
 
-            String json = buildStateJson();
+            Map<String, String> query = parseFormEncoded(exchange.getRequestURI().getRawQuery());
+            String json = buildStateJson(query.getOrDefault("player", "").trim());
             byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
 
             Headers headers = exchange.getResponseHeaders();
@@ -191,74 +343,40 @@ public class PlayerServer implements AutoCloseable {
             String answerIndexStr = params.get("answer");
 
             ResponsePayload payload;
-            CurrentQuestion snapshot;
+            CurrentQuestion snapshot = null;
+            String rejection;
             synchronized (lock) {
-                if (currentQuestion == null || currentQuestion.answered) {
-                    payload = ResponsePayload.error("Keine aktive Frage.");
-                    sendJson(exchange, payload);
-                    return;
+                rejection = rejectionReason(teamName, playerName, answerIndexStr);
+                if (rejection == null) {
+                    // Only an accepted answer claims the question and stops its countdown
+                    snapshot = currentQuestion.copy();
+                    currentQuestion.answered = true;
+                    if (currentQuestion.countdown != null) {
+                        currentQuestion.countdown.cancel();
+                    }
                 }
-                snapshot = currentQuestion.copy();
-                currentQuestion.answered = true;
-            }
-
-            if (teamName.isEmpty()) {
-                payload = ResponsePayload.error("Bitte ein Team auswählen.");
-                resetQuestionIfNotAnswered();
-                sendJson(exchange, payload);
-                return;
             }
-
-            if (playerName.isEmpty()) {
-                payload = ResponsePayload.error("Bitte zuerst einen Spielernamen festlegen.");
-                resetQuestionIfNotAnswered();
-                sendJson(exchange, payload);
+            if (rejection != null) {
+                sendJson(exchange, ResponsePayload.error(rejection));
                 return;
             }
 
             Team team = gameManager.getTeamByName(teamName);
-            if (team == null) {
-                payload = ResponsePayload.error("Unbekanntes Team.");
-                resetQuestionIfNotAnswered();
-                sendJson(exchange, payload);
-                return;
-            }
-
-            if (!snapshot.activeTeamName.equalsIgnoreCase(teamName)) {
-                payload = ResponsePayload.error("Dieses Team ist gerade nicht an der Reihe.");
-                resetQuestionIfNotAnswered();
-                sendJson(exchange, payload);
-                return;
-            }
-
-            int answerIndex;
-            try {
-                answerIndex = Integer.parseInt(answerIndexStr);
-            } catch (NumberFormatException ex) {
-                payload = ResponsePayload.error("Ungültige Antwortauswahl.");
-                resetQuestionIfNotAnswered();
-                sendJson(exchange, payload);
-                return;
-            }
-
-            if (answerIndex < 0 || answerIndex >= snapshot.answers.size()) {
-                payload = ResponsePayload.error("Antwort existiert nicht.");
-                resetQuestionIfNotAnswered();
-                sendJson(exchange, payload);
-                return;
-            }
-
+            int answerIndex = Integer.parseInt(answerIndexStr);
             String givenAnswer = snapshot.answers.get(answerIndex);
+            long latencyMillis = (System.nanoTime() - snapshot.presentedAtNanos) / 1_000_000L;
 
             boolean correct = gameManager.answerQuestion(
-                    gameManager.getCategoryByName(snapshot.categoryName),
+                    snapshot.category,
                     snapshot.points,
                     team,
                     givenAnswer
             );
+            int playerId = gameManager.joinTeam(team, playerName);
+            gameManager.getPlayerStatistics().recordAnswer(playerId, snapshot.points, correct, latencyMillis);
 
             QuestionResult result = new QuestionResult(
-                    snapshot.categoryName,
+                    snapshot.category,
                     snapshot.points,
                     team.getName(),
                     playerName,
@@ -274,18 +392,114 @@ public class PlayerServer implements AutoCloseable {
 
             lastMessage = payload.message();
             clearCurrentQuestion();
+            gameManager.nextTeam();
+            startTurnCountdown();
+            publishSpectatorState();
             resultConsumer.accept(result);
             sendJson(exchange, payload);
         }
 
-        private void resetQuestionIfNotAnswered() {
-            synchronized (lock) {
-                if (currentQuestion != null && !currentQuestion.answered) {
-                    // leave question active
-                } else if (currentQuestion != null && currentQuestion.answered) {
-                    clearCurrentQuestion();
-                }
+        /**
+         * Checks an answer against the active question without changing it, so a rejected
+         * request leaves the question and its countdown running. Must hold the lock.
+         * @return The message for the player, or null if the answer is accepted
+         */
+        private String rejectionReason(String teamName, String playerName, String answerIndexStr) {
+            if (currentQuestion == null || currentQuestion.answered) {
+                return "Keine aktive Frage.";
+            }
+            if (teamName.isEmpty()) {
+                return "Bitte ein Team auswählen.";
+            }
+            if (playerName.isEmpty()) {
+                return "Bitte zuerst einen Spielernamen festlegen.";
+            }
+            if (gameManager.getTeamByName(teamName) == null) {
+                return "Unbekanntes Team.";
+            }
+            if (!currentQuestion.activeTeamName.equalsIgnoreCase(teamName)) {
+                return "Dieses Team ist gerade nicht an der Reihe.";
+            }
+            int answerIndex;
+            try {
+                answerIndex = Integer.parseInt(answerIndexStr);
+            } catch (NumberFormatException ex) {
+                return "Ungültige Antwortauswahl.";
             }
+            if (answerIndex < 0 || answerIndex >= currentQuestion.answers.size()) {
+                return "Antwort existiert nicht.";
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Streams the game state as server-sent events to read-only spectators. The handler only
+     * connects the stream to the spectator channel and returns; the channel writes the events.
+     */
+    private final class SpectatorHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if ("OPTIONS".equalsIgnoreCase(exchange.getRequestMethod())) {
+                handlePreflight(exchange);
+                return;
+            }
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                sendPlainText(exchange, 405, "Method Not Allowed");
+                return;
+            }
+
+            SpectatorChannel.Subscriber subscriber = spectatorChannel.subscribe(buildStateJson(""));
+            if (subscriber == null) {
+                sendPlainText(exchange, 503, "Zu viele Zuschauer.");
+                return;
+            }
+
+            try {
+                exchange.getRequestBody().close();
+                Headers headers = exchange.getResponseHeaders();
+                headers.set("Content-Type", "text/event-stream; charset=utf-8");
+                headers.set("Cache-Control", "no-cache");
+                applyCorsHeaders(headers);
+                exchange.sendResponseHeaders(200, 0);
+                subscriber.connect(exchange.getResponseBody());
+            } catch (IOException ex) {
+                subscriber.close();
+                exchange.close();
+            }
+        }
+    }
+
+    private final class JoinHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if ("OPTIONS".equalsIgnoreCase(exchange.getRequestMethod())) {
+                handlePreflight(exchange);
+                return;
+            }
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                sendPlainText(exchange, 405, "Method Not Allowed");
+                return;
+            }
+
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Map<String, String> params = parseFormEncoded(body);
+
+            String teamName = params.getOrDefault("team", "").trim();
+            String playerName = params.getOrDefault("player", "").trim();
+            if (playerName.isEmpty()) {
+                sendJson(exchange, ResponsePayload.error("Bitte zuerst einen Spielernamen festlegen."));
+                return;
+            }
+
+            Team team = gameManager.getTeamByName(teamName);
+            if (team == null) {
+                sendJson(exchange, ResponsePayload.error("Unbekanntes Team."));
+                return;
+            }
+
+            gameManager.joinTeam(team, playerName);
+            sendJson(exchange, ResponsePayload.success(playerName + " spielt für Team " + team.getName() + "."));
         }
     }
 
@@ -432,7 +646,7 @@ public class PlayerServer implements AutoCloseable {
         return URLDecoder.decode(value, StandardCharsets.UTF_8);
     }
 
-    private String buildStateJson() {
+    private String buildStateJson(String playerName) {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
         Team currentTeam = gameManager.getCurrentTeam();
@@ -457,7 +671,7 @@ public class PlayerServer implements AutoCloseable {
             sb.append("\"question\":null,");
         } else {
             sb.append("\"question\":{");
-            sb.append("\"category\":\"").append(escapeJson(snapshot.categoryName)).append("\",");
+            sb.append("\"category\":\"").append(escapeJson(snapshot.category.getName())).append("\",");
             sb.append("\"points\":").append(snapshot.points).append(",");
             sb.append("\"prompt\":\"").append(escapeJson(snapshot.prompt)).append("\",");
             sb.append("\"answers\":[");
@@ -468,7 +682,14 @@ public class PlayerServer implements AutoCloseable {
                 sb.append("\"").append(escapeJson(snapshot.answers.get(i))).append("\"");
             }
             sb.append("],");
-            sb.append("\"team\":\"").append(escapeJson(snapshot.activeTeamName)).append("\"");
+            sb.append("\"team\":\"").append(escapeJson(snapshot.activeTeamName)).append("\",");
+            sb.append("\"remainingSeconds\":");
+            if (snapshot.deadlineNanos == 0L) {
+                sb.append("null");
+            } else {
+                long remainingNanos = Math.max(0L, snapshot.deadlineNanos - System.nanoTime());
+                sb.append(TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999L));
+            }
             sb.append("},");
         }
 
@@ -494,17 +715,48 @@ public class PlayerServer implements AutoCloseable {
         }
         sb.append("],");
 
+        PlayerStatistics statistics = gameManager.getPlayerStatistics();
+        sb.append("\"players\":[");
+        List<PlayerStatistics.PlayerStats> topPlayers = statistics.getTopPlayers();
+        for (int i = 0; i < topPlayers.size(); i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            appendPlayerStatsJson(sb, topPlayers.get(i));
+        }
+        sb.append("],");
+
+        sb.append("\"player\":");
+        PlayerStatistics.PlayerStats ownStats = playerName.isEmpty() ? null : statistics.getStats(playerName);
+        if (ownStats == null) {
+            sb.append("null");
+        } else {
+            appendPlayerStatsJson(sb, ownStats);
+        }
+        sb.append(",");
+
         sb.append("\"message\":");
-        if (lastMessage == null || lastMessage.isBlank()) {
+        String message = lastMessage;
+        if (message == null || message.isBlank()) {
             sb.append("null");
         } else {
-            sb.append("\"").append(escapeJson(lastMessage)).append("\"");
+            sb.append("\"").append(escapeJson(message)).append("\"");
         }
 
         sb.append("}");
         return sb.toString();
     }
 
+    private void appendPlayerStatsJson(StringBuilder sb, PlayerStatistics.PlayerStats stats) {
+        sb.append("{\"name\":\"").append(escapeJson(stats.playerName()))
+                .append("\",\"team\":\"").append(escapeJson(stats.teamName()))
+                .append("\",\"points\":").append(stats.points())
+                .append(",\"correct\":").append(stats.correctAnswers())
+                .append(",\"incorrect\":").append(stats.incorrectAnswers())
+                .append(",\"averageLatencyMillis\":").append(stats.averageLatencyMillis())
+                .append("}");
+    }
+
     private String buildIndexHtml() {
         return """
                 <!DOCTYPE html>
@@ -582,6 +834,11 @@ public class PlayerServer implements AutoCloseable {
                         <div id="scoreboard" class="scoreboard"></div>
                         <div id="message" class="message"></div>
                     </div>
+                    <div class="card">
+                        <h2>Spieler</h2>
+                        <div id="playerStats" class="info-text hidden"></div>
+                        <div id="topPlayers" class="scoreboard"></div>
+                    </div>
                 </div>
                 <script>
                     const identity = {
@@ -610,6 +867,8 @@ public class PlayerServer implements AutoCloseable {
                         activeTeam: document.getElementById('activeTeam'),
                         answers: document.getElementById('answers'),
                         scoreboard: document.getElementById('scoreboard'),
+                        playerStats: document.getElementById('playerStats'),
+                        topPlayers: document.getElementById('topPlayers'),
                         message: document.getElementById('message'),
                         serverDescription: document.getElementById('serverDescription'),
                         serverInput: document.getElementById('serverInput'),
@@ -646,6 +905,7 @@ public class PlayerServer implements AutoCloseable {
                         identity.team = team;
                         localStorage.setItem('dgpPlayerTeam', identity.team);
                         applyIdentityUI();
+                        joinTeam();
                     });
 
                     elements.confirmServerBtn.addEventListener('click', () => {
@@ -791,12 +1051,34 @@ public class PlayerServer implements AutoCloseable {
                         }
                     }
 
+                    async function joinTeam() {
+                        if (!serverState.base || !identity.name || !identity.team) {
+                            return;
+                        }
+                        const formData = new URLSearchParams();
+                        formData.append('team', identity.team);
+                        formData.append('player', identity.name);
+                        try {
+                            await fetch(apiUrl('/api/join'), {
+                                method: 'POST',
+                                mode: 'cors',
+                                headers: { 'Content-Type': 'application/x-www-form-urlencoded' },
+                                body: formData.toString()
+                            });
+                        } catch (e) {
+                            console.error('Beitritt fehlgeschlagen', e);
+                        }
+                    }
+
                     async function fetchState() {
                         if (!serverState.base) {
                             return;
                         }
                         try {
-                            const response = await fetch(apiUrl('/api/state'), { mode: 'cors' });
+                            const stateUrl = identity.name
+                                    ? apiUrl('/api/state') + '?player=' + encodeURIComponent(identity.name)
+                                    : apiUrl('/api/state');
+                            const response = await fetch(stateUrl, { mode: 'cors' });
                             if (!response.ok) {
                                 throw new Error('HTTP ' + response.status);
                             }
@@ -837,6 +1119,7 @@ public class PlayerServer implements AutoCloseable {
                         elements.questionPrompt.textContent = promptText;
                         elements.activeTeam.textContent = state.question && state.questionActive
                                 ? 'Aktives Team: ' + (state.question.team || '-')
+                                        + (state.question.remainingSeconds != null ? ' – noch ' + state.question.remainingSeconds + ' s' : '')
                                 : '';
 
                         elements.answers.innerHTML = '';
@@ -874,6 +1157,24 @@ public class PlayerServer implements AutoCloseable {
                             });
                         }
 
+                        elements.topPlayers.innerHTML = '';
+                        if (state.players) {
+                            state.players.forEach((entry, index) => {
+                                const div = document.createElement('div');
+                                div.className = 'scoreboard-item';
+                                div.textContent = (index + 1) + '. ' + entry.name + ' (' + entry.team + '): ' + entry.points;
+                                elements.topPlayers.appendChild(div);
+                            });
+                        }
+
+                        elements.playerStats.classList.toggle('hidden', !state.player);
+                        if (state.player) {
+                            elements.playerStats.textContent = 'Deine Punkte: ' + state.player.points
+                                    + ' – richtig: ' + state.player.correct
+                                    + ', falsch: ' + state.player.incorrect
+                                    + ', Ø Antwortzeit: ' + (state.player.averageLatencyMillis / 1000).toFixed(1) + ' s';
+                        }
+
                         elements.message.textContent = state.message || '';
 
                         applyIdentityUI();
@@ -943,6 +1244,7 @@ public class PlayerServer implements AutoCloseable {
                     applyIdentityUI();
                     applyServerUI();
                     if (serverState.base) {
+                        joinTeam();
                         fetchState();
                     }
                     setInterval(fetchState, 1500);
@@ -986,48 +1288,71 @@ public class PlayerServer implements AutoCloseable {
     }
 
     private static class CurrentQuestion {
-        final String categoryName;
+        // The presented category itself, its name need not be unique
+        final Category category;
         final int points;
         final String prompt;
         final List<String> answers;
         final String activeTeamName;
         final String correctAnswer;
+        final long presentedAtNanos;
+        long deadlineNanos;
+        HashedWheelTimer.Timeout countdown;
         boolean answered;
 
-        CurrentQuestion(String categoryName, int points, String prompt, List<String> answers, String activeTeamName, String correctAnswer) {
-            this.categoryName = categoryName;
+        CurrentQuestion(Category category, int points, String prompt, List<String> answers, String activeTeamName, String correctAnswer) {
+            this(category, points, prompt, answers, activeTeamName, correctAnswer, System.nanoTime());
+        }
+
+        private CurrentQuestion(Category category, int points, String prompt, List<String> answers, String activeTeamName,
+                                String correctAnswer, long presentedAtNanos) {
+            this.category = category;
             this.points = points;
             this.prompt = prompt;
             this.answers = answers;
             this.activeTeamName = activeTeamName;
             this.correctAnswer = correctAnswer;
+            this.presentedAtNanos = presentedAtNanos;
             this.answered = false;
         }
 
         CurrentQuestion copy() {
-            return new CurrentQuestion(categoryName, points, prompt, new ArrayList<>(answers), activeTeamName, correctAnswer);
+            CurrentQuestion copy = new CurrentQuestion(category, points, prompt, new ArrayList<>(answers), activeTeamName, correctAnswer, presentedAtNanos);
+            copy.deadlineNanos = deadlineNanos;
+            return copy;
         }
     }
 
     public static class QuestionResult {
-        private final String categoryName;
+        private final Category category;
         private final int points;
         private final String teamName;
         private final String playerName;
         private final boolean correct;
         private final String correctAnswer;
+        private final boolean timedOut;
 
-        public QuestionResult(String categoryName, int points, String teamName, String playerName, boolean correct, String correctAnswer) {
-            this.categoryName = categoryName;
+        public QuestionResult(Category category, int points, String teamName, String playerName, boolean correct, String correctAnswer) {
+            this(category, points, teamName, playerName, correct, correctAnswer, false);
+        }
+
+        public QuestionResult(Category category, int points, String teamName, String playerName, boolean correct,
+                              String correctAnswer, boolean timedOut) {
+            this.category = category;
             this.points = points;
             this.teamName = teamName;
             this.playerName = playerName;
             this.correct = correct;
             this.correctAnswer = correctAnswer;
+            this.timedOut = timedOut;
+        }
+
+        public Category getCategory() {
+            return category;
         }
 
         public String getCategoryName() {
-            return categoryName;
+            return category.getName();
         }
 
         public int getPoints() {
@@ -1049,6 +1374,13 @@ public class PlayerServer implements AutoCloseable {
         public String getCorrectAnswer() {
             return correctAnswer;
         }
+
+        /**
+         * @return true if nobody answered before the countdown ran out
+         */
+        public boolean isTimedOut() {
+            return timedOut;
+        }
     }
 
     private record ResponsePayload(boolean success, String message, int statusCode) {
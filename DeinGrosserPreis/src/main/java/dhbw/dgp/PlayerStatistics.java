@@ -0,0 +1,203 @@
+package dhbw.dgp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks points, correct and incorrect answers and answer latency per player.
+ * Players get a dense integer ID on their first join; all counters are stored in
+ * primitive arrays indexed by that ID. The list of top players is maintained
+ * incrementally, so reading it never scans all players.
+ */
+public class PlayerStatistics {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int TOP_PLAYER_LIMIT = 10;
+
+    private final Map<String, Integer> playerIds;
+    private final Object lock = new Object();
+
+    private String[] names;
+    private String[] teamNames;
+    private int[] points;
+    private int[] correctAnswers;
+    private int[] incorrectAnswers;
+    private long[] totalLatencyMillis;
+    private int playerCount;
+
+    // Player IDs of the best players, sorted descending by points
+    private final int[] topPlayerIds;
+    private int topPlayerCount;
+    private volatile List<PlayerStats> topPlayers;
+
+    public PlayerStatistics() {
+        this.playerIds = new ConcurrentHashMap<>();
+        this.names = new String[INITIAL_CAPACITY];
+        this.teamNames = new String[INITIAL_CAPACITY];
+        this.points = new int[INITIAL_CAPACITY];
+        this.correctAnswers = new int[INITIAL_CAPACITY];
+        this.incorrectAnswers = new int[INITIAL_CAPACITY];
+        this.totalLatencyMillis = new long[INITIAL_CAPACITY];
+        this.topPlayerIds = new int[TOP_PLAYER_LIMIT];
+        this.topPlayers = List.of();
+    }
+
+    /**
+     * Registers a player or updates the team of an already known player
+     * @param playerName The name of the player
+     * @param teamName The team the player plays for
+     * @return The ID of the player
+     */
+    public int registerPlayer(String playerName, String teamName) {
+        if (playerName == null || playerName.isBlank()) {
+            throw new IllegalArgumentException("playerName must not be blank");
+        }
+        String key = normalize(playerName);
+        synchronized (lock) {
+            Integer existing = playerIds.get(key);
+            if (existing != null) {
+                teamNames[existing] = teamName;
+                return existing;
+            }
+            int id = playerCount;
+            if (id == names.length) {
+                grow(id * 2);
+            }
+            names[id] = playerName.trim();
+            teamNames[id] = teamName;
+            playerCount = id + 1;
+            playerIds.put(key, id);
+            return id;
+        }
+    }
+
+    /**
+     * Records an answer given by a player
+     * @param playerId The ID returned by {@link #registerPlayer(String, String)}
+     * @param awardedPoints The points awarded for the answer
+     * @param correct Whether the answer was correct
+     * @param latencyMillis Time between presenting the question and receiving the answer
+     */
+    public void recordAnswer(int playerId, int awardedPoints, boolean correct, long latencyMillis) {
+        synchronized (lock) {
+            if (playerId < 0 || playerId >= playerCount) {
+                throw new IllegalArgumentException("Unknown player ID: " + playerId);
+            }
+            if (correct) {
+                correctAnswers[playerId]++;
+                points[playerId] += awardedPoints;
+            } else {
+                incorrectAnswers[playerId]++;
+            }
+            totalLatencyMillis[playerId] += Math.max(0L, latencyMillis);
+            updateTopPlayers(playerId);
+        }
+    }
+
+    /**
+     * Gets the ID of a player
+     * @param playerName The name of the player
+     * @return The player ID, or -1 if the player is unknown
+     */
+    public int getPlayerId(String playerName) {
+        if (playerName == null) {
+            return -1;
+        }
+        Integer id = playerIds.get(normalize(playerName));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the statistics of a single player
+     * @param playerName The name of the player
+     * @return The statistics, or null if the player is unknown
+     */
+    public PlayerStats getStats(String playerName) {
+        int id = getPlayerId(playerName);
+        return id < 0 ? null : getStats(id);
+    }
+
+    public PlayerStats getStats(int playerId) {
+        synchronized (lock) {
+            if (playerId < 0 || playerId >= playerCount) {
+                return null;
+            }
+            return statsOf(playerId);
+        }
+    }
+
+    /**
+     * @return the best players sorted descending by points, at most {@value #TOP_PLAYER_LIMIT} entries
+     */
+    public List<PlayerStats> getTopPlayers() {
+        return topPlayers;
+    }
+
+    public int getPlayerCount() {
+        synchronized (lock) {
+            return playerCount;
+        }
+    }
+
+    private void updateTopPlayers(int playerId) {
+        int position = -1;
+        for (int i = 0; i < topPlayerCount; i++) {
+            if (topPlayerIds[i] == playerId) {
+                position = i;
+                break;
+            }
+        }
+
+        if (position < 0) {
+            if (topPlayerCount < TOP_PLAYER_LIMIT) {
+                position = topPlayerCount++;
+            } else if (points[playerId] > points[topPlayerIds[TOP_PLAYER_LIMIT - 1]]) {
+                position = TOP_PLAYER_LIMIT - 1;
+            } else {
+                return;
+            }
+            topPlayerIds[position] = playerId;
+        }
+
+        // Points only grow, so the player can only move up
+        while (position > 0 && points[topPlayerIds[position - 1]] < points[playerId]) {
+            topPlayerIds[position] = topPlayerIds[position - 1];
+            position--;
+        }
+        topPlayerIds[position] = playerId;
+
+        PlayerStats[] stats = new PlayerStats[topPlayerCount];
+        for (int i = 0; i < topPlayerCount; i++) {
+            stats[i] = statsOf(topPlayerIds[i]);
+        }
+        topPlayers = List.of(stats);
+    }
+
+    private PlayerStats statsOf(int id) {
+        int answered = correctAnswers[id] + incorrectAnswers[id];
+        long averageLatency = answered == 0 ? 0L : totalLatencyMillis[id] / answered;
+        return new PlayerStats(id, names[id], teamNames[id], points[id], correctAnswers[id], incorrectAnswers[id], averageLatency);
+    }
+
+    private void grow(int capacity) {
+        names = Arrays.copyOf(names, capacity);
+        teamNames = Arrays.copyOf(teamNames, capacity);
+        points = Arrays.copyOf(points, capacity);
+        correctAnswers = Arrays.copyOf(correctAnswers, capacity);
+        incorrectAnswers = Arrays.copyOf(incorrectAnswers, capacity);
+        totalLatencyMillis = Arrays.copyOf(totalLatencyMillis, capacity);
+    }
+
+    private static String normalize(String playerName) {
+        return playerName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable view of the statistics of one player.
+     */
+    public record PlayerStats(int playerId, String playerName, String teamName, int points,
+                              int correctAnswers, int incorrectAnswers, long averageLatencyMillis) {
+    }
+}
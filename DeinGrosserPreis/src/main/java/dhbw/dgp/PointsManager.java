@@ -1,15 +1,40 @@
 package dhbw.dgp;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Keeps the score of every team. Scores are stored in dense per-team slots backed by
+ * {@link LongAdder}s, so many answers can be scored concurrently without contention:
+ * scoring touches no shared lock or counter. Only adding a team takes a lock.
+ * Snapshots such as the leaderboard sum every slot without blocking scorers, so an
+ * addition that races with a snapshot may or may not be included, but every addition
+ * that completed before the snapshot started is.
+ */
 public class PointsManager {
-    private Map<Team, Integer> teamPoints;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Map<Team, Integer> slotIndex;
+    // Guards adding teams; scoring never takes it
+    private final ReentrantLock registrationLock;
+    private volatile Team[] teams;
+    private volatile LongAdder[] scores;
+    private volatile int teamCount;
 
     public PointsManager() {
-        this.teamPoints = new HashMap<>();
+        this.slotIndex = new ConcurrentHashMap<>();
+        this.registrationLock = new ReentrantLock();
+        this.teams = new Team[INITIAL_CAPACITY];
+        this.scores = new LongAdder[INITIAL_CAPACITY];
+        this.teamCount = 0;
     }
 
     /**
@@ -17,26 +42,53 @@ public class PointsManager {
      * @param team The team to add
      */
     public void addTeam(Team team) {
-        teamPoints.put(team, 0);
+        registerTeam(team, true);
+    }
+
+    private int registerTeam(Team team, boolean resetExisting) {
+        Objects.requireNonNull(team, "team");
+        registrationLock.lock();
+        try {
+            Integer slot = slotIndex.get(team);
+            if (slot != null) {
+                if (resetExisting) {
+                    scores[slot].reset();
+                }
+                return slot;
+            }
+            int newSlot = teamCount;
+            if (newSlot == teams.length) {
+                teams = Arrays.copyOf(teams, newSlot * 2);
+                scores = Arrays.copyOf(scores, newSlot * 2);
+            }
+            teams[newSlot] = team;
+            scores[newSlot] = new LongAdder();
+            slotIndex.put(team, newSlot);
+            teamCount = newSlot + 1;
+            return newSlot;
+        } finally {
+            registrationLock.unlock();
+        }
     }
 
     /**
-     * Updates the points for a team
+     * Updates the points for a team. Meant for resets between games: an addition to the same
+     * team that runs at the same time may be lost.
      * @param team The team to update
      * @param points The new points value
      */
     public void updatePoints(Team team, int points) {
-        teamPoints.put(team, points);
+        LongAdder score = slotFor(team);
+        score.add(points - score.sum());
     }
 
     /**
-     * Adds points to a team's current total
+     * Adds points to a team's current total. Safe to call from many threads at once.
      * @param team The team to add points to
      * @param points The points to add
      */
     public void addPoints(Team team, int points) {
-        int currentPoints = getPoints(team);
-        teamPoints.put(team, currentPoints + points);
+        slotFor(team).add(points);
     }
 
     /**
@@ -45,7 +97,11 @@ public class PointsManager {
      * @return The team's points
      */
     public int getPoints(Team team) {
-        return teamPoints.getOrDefault(team, 0);
+        Integer slot = team == null ? null : slotIndex.get(team);
+        if (slot == null) {
+            return 0;
+        }
+        return (int) scores[slot].sum();
     }
 
     /**
@@ -53,16 +109,59 @@ public class PointsManager {
      * @return The map of team points
      */
     public Map<Team, Integer> getAllTeamPoints() {
-        return Map.copyOf(teamPoints);
+        Snapshot snapshot = snapshot();
+        Map<Team, Integer> result = new HashMap<>();
+        for (int i = 0; i < snapshot.teams.length; i++) {
+            result.put(snapshot.teams[i], snapshot.points[i]);
+        }
+        return Map.copyOf(result);
     }
 
     /**
      * @return leaderboard entries sorted descending by points
      */
     public List<Map.Entry<Team, Integer>> getLeaderboard() {
-        return teamPoints.entrySet()
-                .stream()
-                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-                .collect(Collectors.toList());
+        Snapshot snapshot = snapshot();
+        int count = snapshot.teams.length;
+
+        // Sort slot indexes by points (descending) and slot (ascending) in a single long key
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) ~snapshot.points[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        List<Map.Entry<Team, Integer>> leaderboard = new ArrayList<>(count);
+        for (long key : keys) {
+            int slot = (int) key;
+            leaderboard.add(new AbstractMap.SimpleImmutableEntry<>(snapshot.teams[slot], snapshot.points[slot]));
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Copies all scores by summing every slot, without blocking concurrent scoring
+     */
+    private Snapshot snapshot() {
+        // teamCount is written after the arrays, so both arrays hold at least count slots
+        int count = teamCount;
+        Team[] teamsCopy = Arrays.copyOf(teams, count);
+        LongAdder[] adders = scores;
+        int[] points = new int[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = (int) adders[i].sum();
+        }
+        return new Snapshot(teamsCopy, points);
+    }
+
+    private LongAdder slotFor(Team team) {
+        Integer slot = slotIndex.get(Objects.requireNonNull(team, "team"));
+        if (slot == null) {
+            slot = registerTeam(team, false);
+        }
+        return scores[slot];
+    }
+
+    private record Snapshot(Team[] teams, int[] points) {
     }
 }
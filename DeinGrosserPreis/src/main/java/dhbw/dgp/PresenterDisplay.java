@@ -0,0 +1,602 @@
+package dhbw.dgp;
+
+import javax.swing.JFrame;
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.Transparency;
+import java.awt.Window;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Full-screen presenter view for the projector. A dedicated thread renders the board, the
+ * question reveal and the scoreboard 60 times per second into a double-buffered
+ * {@link BufferStrategy}, without Swing components or layout. Question tiles are pre-rendered
+ * into {@link VolatileImage}s once per state, and all text is drawn from cached images, so a
+ * frame is mostly a series of image copies.
+ *
+ * <p>Scores are read from the thread-safe {@link PointsManager} every frame. The board state of
+ * the {@link GameOverview} is not thread-safe, so the host publishes a snapshot of it with
+ * {@link #refresh()} after every change. Press Escape or double-click to close the view.</p>
+ */
+public class PresenterDisplay {
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+    private static final long REVEAL_NANOS = 450_000_000L;
+    private static final int MAX_TEXT_IMAGES = 1_024;
+
+    private static final Color BACKGROUND = new Color(0x0D1B2A);
+    private static final Color[] TILE_COLORS = {
+            new Color(0x1976D2), new Color(0x455A64), new Color(0x388E3C), new Color(0xD32F2F), new Color(0x616161)
+    };
+    private static final Color HIGHLIGHT = new Color(0xFFC107);
+    private static final Color DIMMED_LABEL = new Color(255, 255, 255, 120);
+    private static final Color SCOREBOARD_BACKGROUND = new Color(255, 255, 255, 20);
+    private static final Color TILE_BORDER = new Color(255, 255, 255, 60);
+
+    private final GameManager gameManager;
+    private final PointsManager pointsManager;
+    private final List<Team> teams;
+    private final String[] categoryNames;
+    private final int[][] points;
+    private final String[][] pointLabels;
+    private final Map<Category, Integer> columns = new HashMap<>();
+
+    private volatile BoardState board;
+    private volatile Reveal reveal;
+    private volatile boolean running;
+
+    // Only used by the render thread
+    private final VolatileImage[] tiles = new VolatileImage[TILE_COLORS.length];
+    private final Map<String, BufferedImage> textImages = new HashMap<>();
+    // Header per category and point label per category and question, for available [0] and other [1] tiles
+    private final BufferedImage[] headerImages;
+    private final BufferedImage[][][] labelImages;
+    private int labelHeaderSize;
+    private int labelSize;
+    private int labelWidth;
+    private final double[] shownScores;
+    private Reveal renderedReveal;
+    private BufferedImage revealImage;
+    private long lastFrame;
+
+    private JFrame frame;
+    private Canvas canvas;
+    private Thread renderThread;
+
+    /**
+     * @param gameManager The running game; its categories and teams must not change while the view is open
+     */
+    public PresenterDisplay(GameManager gameManager) {
+        this.gameManager = gameManager;
+        this.pointsManager = gameManager.getPointsManager();
+        this.teams = List.copyOf(gameManager.getTeams());
+        this.shownScores = new double[teams.size()];
+        List<Category> categories = gameManager.getGameOverview().getCategories();
+        this.categoryNames = new String[categories.size()];
+        this.points = new int[categories.size()][];
+        this.pointLabels = new String[categories.size()][];
+        this.headerImages = new BufferedImage[categories.size()];
+        this.labelImages = new BufferedImage[2][categories.size()][];
+        for (int c = 0; c < categories.size(); c++) {
+            Category category = categories.get(c);
+            columns.put(category, c);
+            categoryNames[c] = category.getName() == null ? "" : category.getName();
+            points[c] = new int[category.getQuestionCount()];
+            pointLabels[c] = new String[points[c].length];
+            for (int q = 0; q < points[c].length; q++) {
+                points[c][q] = category.getPointValue(q);
+                pointLabels[c][q] = String.valueOf(points[c][q]);
+            }
+            labelImages[0][c] = new BufferedImage[points[c].length];
+            labelImages[1][c] = new BufferedImage[points[c].length];
+        }
+        refresh();
+    }
+
+    /**
+     * Opens the view full-screen and starts rendering. With several screens a screen other than
+     * the one of the owner is used, usually the projector; with a single screen the view covers it.
+     * Must be called on the event dispatch thread.
+     * @param owner Window of the host, or null for the default screen
+     */
+    public void open(Window owner) {
+        if (running) {
+            return;
+        }
+        GraphicsConfiguration configuration = presenterScreen(owner);
+        GraphicsDevice device = configuration.getDevice();
+
+        frame = new JFrame("Der Große Preis – Präsentation", configuration);
+        frame.setUndecorated(true);
+        frame.setIgnoreRepaint(true);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        canvas = new Canvas(configuration);
+        canvas.setIgnoreRepaint(true);
+        canvas.setBackground(BACKGROUND);
+        frame.add(canvas);
+        canvas.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    close();
+                }
+            }
+        });
+        canvas.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    close();
+                }
+            }
+        });
+
+        if (device.isFullScreenSupported()) {
+            device.setFullScreenWindow(frame);
+        } else {
+            frame.setBounds(configuration.getBounds());
+            frame.setVisible(true);
+        }
+        canvas.createBufferStrategy(2);
+        canvas.requestFocusInWindow();
+
+        running = true;
+        renderThread = new Thread(this::renderLoop, "dgp-presenter");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    private static GraphicsConfiguration presenterScreen(Window owner) {
+        GraphicsEnvironment environment = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        GraphicsConfiguration ownerConfiguration = owner != null ? owner.getGraphicsConfiguration()
+                : environment.getDefaultScreenDevice().getDefaultConfiguration();
+        for (GraphicsDevice device : environment.getScreenDevices()) {
+            if (device.getType() == GraphicsDevice.TYPE_RASTER_SCREEN && !device.equals(ownerConfiguration.getDevice())) {
+                return device.getDefaultConfiguration();
+            }
+        }
+        return ownerConfiguration;
+    }
+
+    /**
+     * Stops rendering and closes the view. Must be called on the event dispatch thread.
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            renderThread.join(500);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        GraphicsDevice device = frame.getGraphicsConfiguration().getDevice();
+        if (device.getFullScreenWindow() == frame) {
+            device.setFullScreenWindow(null);
+        }
+        frame.dispose();
+        frame = null;
+        canvas = null;
+    }
+
+    public boolean isOpen() {
+        return running;
+    }
+
+    /**
+     * Publishes the current board state and active team. Call on the thread that changes the game.
+     */
+    public void refresh() {
+        GameOverview overview = gameManager.getGameOverview();
+        byte[][] states = new byte[points.length][];
+        for (Map.Entry<Category, Integer> entry : columns.entrySet()) {
+            int c = entry.getValue();
+            List<Integer> available = overview.getAvailableQuestions().get(entry.getKey());
+            states[c] = new byte[points[c].length];
+            for (int q = 0; q < points[c].length; q++) {
+                if (entry.getKey().getQuestionAt(q) == null) {
+                    states[c][q] = BoardPanel.MISSING;
+                } else if (available != null && !available.contains(points[c][q])) {
+                    states[c][q] = BoardPanel.INCORRECT;
+                }
+            }
+        }
+        for (GameOverview.QuestionOutcome outcome : overview.getQuestionOutcomes()) {
+            Integer c = columns.get(outcome.category());
+            int q = c == null ? -1 : Arrays.binarySearch(points[c], outcome.points());
+            if (q >= 0) {
+                states[c][q] = outcome.correct() ? BoardPanel.CORRECT : BoardPanel.INCORRECT;
+            }
+        }
+        Reveal current = reveal;
+        if (current != null && current.row() >= 0 && states[current.column()][current.row()] == BoardPanel.AVAILABLE) {
+            states[current.column()][current.row()] = BoardPanel.PENDING;
+        }
+        board = new BoardState(states, teams.indexOf(gameManager.getCurrentTeam()));
+    }
+
+    /**
+     * Shows a question growing out of its tile
+     * @param category The category of the question
+     * @param points The point value
+     * @param question The question
+     */
+    public void showQuestion(Category category, int points, Question question) {
+        Integer column = columns.get(category);
+        int row = column == null ? -1 : Arrays.binarySearch(this.points[column], points);
+        reveal = new Reveal(column == null ? 0 : column, Math.max(row, -1), category.getName() + " – " + points + " Punkte",
+                question.getQuestion(), List.copyOf(question.getAnswers()), System.nanoTime());
+        refresh();
+    }
+
+    /**
+     * Returns from a question to the board
+     */
+    public void hideQuestion() {
+        reveal = null;
+        refresh();
+    }
+
+    private void renderLoop() {
+        Canvas target = canvas;
+        BufferStrategy strategy = target.getBufferStrategy();
+        long next = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        render(g, target.getWidth(), target.getHeight(), now);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+
+            // Fixed frame rate; if a frame took too long, continue from now instead of catching up
+            next += FRAME_NANOS;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Renders one frame
+     * @param g Target graphics
+     * @param width Width of the target
+     * @param height Height of the target
+     * @param now Time of the frame in nanoseconds
+     */
+    void render(Graphics2D g, int width, int height, long now) {
+        double seconds = lastFrame == 0 ? 0 : (now - lastFrame) / 1e9;
+        lastFrame = now;
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        if (textImages.size() > MAX_TEXT_IMAGES) {
+            textImages.clear();
+        }
+
+        // A fully revealed question hides the board, so only its prepared image is copied
+        Reveal current = reveal;
+        if (current != null && now - current.shownAt() >= REVEAL_NANOS) {
+            renderRevealed(g, current, width, height);
+            return;
+        }
+
+        int margin = Math.max(8, height / 60);
+        int gap = Math.max(4, height / 120);
+        int scoreboardWidth = teams.isEmpty() ? 0 : width / 4;
+        int boardWidth = width - scoreboardWidth - margin * (teams.isEmpty() ? 2 : 3);
+        int headerHeight = height / 12;
+        int columnCount = Math.max(1, categoryNames.length);
+        int rowCount = 1;
+        for (int[] values : points) {
+            rowCount = Math.max(rowCount, values.length);
+        }
+        int tileWidth = Math.max(1, (boardWidth + gap) / columnCount - gap);
+        int tileHeight = Math.max(1, (height - 2 * margin - headerHeight + gap) / rowCount - gap);
+        BoardState state = board;
+
+        // Board
+        int headerSize = Math.max(10, Math.min(headerHeight / 3, tileWidth / 7));
+        int tileSize = Math.max(10, Math.min(tileHeight / 3, tileWidth / 4));
+        validateTiles(g.getDeviceConfiguration(), tileWidth, tileHeight);
+        validateLabels(headerSize, tileSize, tileWidth);
+        for (int c = 0; c < categoryNames.length; c++) {
+            int x = margin + c * (tileWidth + gap);
+            BufferedImage header = headerImages[c];
+            if (header == null) {
+                header = text(categoryNames[c], headerSize, Font.BOLD, Color.WHITE, tileWidth);
+                headerImages[c] = header;
+            }
+            g.drawImage(header, x + (tileWidth - header.getWidth()) / 2, margin + (headerHeight - header.getHeight()) / 2, null);
+            for (int q = 0; q < points[c].length; q++) {
+                int y = margin + headerHeight + q * (tileHeight + gap);
+                byte tileState = state.states()[c][q];
+                g.drawImage(tiles[tileState], x, y, null);
+                int variant = tileState == BoardPanel.AVAILABLE ? 0 : 1;
+                BufferedImage label = labelImages[variant][c][q];
+                if (label == null) {
+                    label = text(pointLabels[c][q], tileSize, Font.BOLD, variant == 0 ? HIGHLIGHT : DIMMED_LABEL, tileWidth);
+                    labelImages[variant][c][q] = label;
+                }
+                g.drawImage(label, x + (tileWidth - label.getWidth()) / 2, y + (tileHeight - label.getHeight()) / 2, null);
+            }
+        }
+
+        if (!teams.isEmpty()) {
+            renderScoreboard(g, width - scoreboardWidth - margin, margin, scoreboardWidth, height - 2 * margin,
+                    state.currentTeam(), now, seconds);
+        }
+
+        if (current != null) {
+            int fromX = margin + current.column() * (tileWidth + gap);
+            int fromY = current.row() < 0 ? height / 2 : margin + headerHeight + current.row() * (tileHeight + gap);
+            renderReveal(g, current, fromX, fromY, tileWidth, tileHeight, width, height, now);
+        }
+    }
+
+    private void renderScoreboard(Graphics2D g, int x, int y, int width, int height, int currentTeam, long now, double seconds) {
+        g.setColor(SCOREBOARD_BACKGROUND);
+        g.fillRoundRect(x, y, width, height, 24, 24);
+
+        // Shown scores run towards the real ones, so changes count up instead of jumping
+        Integer[] order = new Integer[teams.size()];
+        for (int t = 0; t < teams.size(); t++) {
+            int actual = pointsManager.getPoints(teams.get(t));
+            shownScores[t] += (actual - shownScores[t]) * Math.min(1.0, seconds * 6);
+            if (Math.abs(actual - shownScores[t]) < 0.5) {
+                shownScores[t] = actual;
+            }
+            order[t] = t;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(shownScores[b], shownScores[a]));
+
+        int rowHeight = Math.min(height / Math.max(4, teams.size() + 1), height / 5);
+        int size = Math.max(10, rowHeight / 3);
+        BufferedImage title = text("Punktestand", size, Font.BOLD, Color.WHITE, width);
+        g.drawImage(title, x + (width - title.getWidth()) / 2, y + (rowHeight - title.getHeight()) / 2, null);
+        int padding = width / 16;
+        for (int rank = 0; rank < order.length; rank++) {
+            int t = order[rank];
+            int top = y + (rank + 1) * rowHeight;
+            if (t == currentTeam) {
+                float pulse = (float) (0.5 + 0.5 * Math.sin(now / 2.5e8));
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.25f + 0.35f * pulse));
+                g.setColor(HIGHLIGHT);
+                g.fillRoundRect(x + padding / 2, top + 4, width - padding, rowHeight - 8, 16, 16);
+                g.setComposite(AlphaComposite.SrcOver);
+            }
+            BufferedImage score = text(String.valueOf(Math.round(shownScores[t])), size, Font.BOLD, HIGHLIGHT, width / 2);
+            BufferedImage name = text((rank + 1) + ". " + teams.get(t).getName(), size, Font.PLAIN, Color.WHITE,
+                    width - 3 * padding - score.getWidth());
+            g.drawImage(name, x + padding, top + (rowHeight - name.getHeight()) / 2, null);
+            g.drawImage(score, x + width - padding - score.getWidth(), top + (rowHeight - score.getHeight()) / 2, null);
+        }
+    }
+
+    private void renderReveal(Graphics2D g, Reveal current, int fromX, int fromY, int fromWidth, int fromHeight,
+                              int width, int height, long now) {
+        double progress = Math.min(1.0, (now - current.shownAt()) / (double) REVEAL_NANOS);
+        double eased = 1 - Math.pow(1 - progress, 3);
+        int toWidth = width * 4 / 5;
+        int toHeight = height * 3 / 4;
+        int toX = (width - toWidth) / 2;
+        int toY = (height - toHeight) / 2;
+        int x = (int) (fromX + (toX - fromX) * eased);
+        int y = (int) (fromY + (toY - fromY) * eased);
+        int w = (int) (fromWidth + (toWidth - fromWidth) * eased);
+        int h = (int) (fromHeight + (toHeight - fromHeight) * eased);
+
+        // The board fades into the background while the question grows out of its tile
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) eased));
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setColor(TILE_COLORS[BoardPanel.AVAILABLE]);
+        g.fillRoundRect(x, y, w, h, 32, 32);
+    }
+
+    private void renderRevealed(Graphics2D g, Reveal current, int width, int height) {
+        int revealWidth = width * 4 / 5;
+        int revealHeight = height * 3 / 4;
+        // The question is laid out once per question and size, then copied every frame
+        if (renderedReveal != current || revealImage == null
+                || revealImage.getWidth() != revealWidth || revealImage.getHeight() != revealHeight) {
+            renderedReveal = current;
+            revealImage = layoutReveal(g.getDeviceConfiguration(), current, revealWidth, revealHeight);
+        }
+        g.drawImage(revealImage, (width - revealWidth) / 2, (height - revealHeight) / 2, null);
+    }
+
+    private BufferedImage layoutReveal(GraphicsConfiguration configuration, Reveal current, int width, int height) {
+        BufferedImage image = configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(TILE_COLORS[BoardPanel.AVAILABLE]);
+            g.fillRoundRect(0, 0, width, height, 32, 32);
+            int padding = width / 20;
+            int y = padding;
+            g.setColor(HIGHLIGHT);
+            g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, Math.max(12, height / 18)));
+            y += g.getFontMetrics().getAscent();
+            g.drawString(current.title(), padding, y);
+
+            g.setColor(Color.WHITE);
+            g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, Math.max(12, height / 12)));
+            FontMetrics metrics = g.getFontMetrics();
+            y += metrics.getHeight();
+            for (String line : wrap(current.prompt(), metrics, width - 2 * padding)) {
+                y += metrics.getHeight();
+                g.drawString(line, padding, y);
+            }
+
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, Math.max(12, height / 18)));
+            metrics = g.getFontMetrics();
+            y += metrics.getHeight();
+            char letter = 'A';
+            for (String answer : current.answers()) {
+                y += metrics.getHeight();
+                g.drawString(letter++ + ")  " + answer, padding, y);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Re-creates the tile images when they were lost, have the wrong size or do not fit the screen anymore
+     */
+    private void validateTiles(GraphicsConfiguration configuration, int width, int height) {
+        for (int state = 0; state < tiles.length; state++) {
+            VolatileImage tile = tiles[state];
+            if (tile == null || tile.getWidth() != width || tile.getHeight() != height
+                    || tile.validate(configuration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (tile != null) {
+                    tile.flush();
+                }
+                tile = configuration.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+                tiles[state] = tile;
+                tile.validate(configuration);
+                paintTile(tile, TILE_COLORS[state]);
+            } else if (tile.contentsLost()) {
+                paintTile(tile, TILE_COLORS[state]);
+            }
+        }
+    }
+
+    /**
+     * Forgets the header and label images when their font size or the tile width changed
+     */
+    private void validateLabels(int headerSize, int size, int tileWidth) {
+        if (headerSize != labelHeaderSize || size != labelSize || tileWidth != labelWidth) {
+            labelHeaderSize = headerSize;
+            labelSize = size;
+            labelWidth = tileWidth;
+            Arrays.fill(headerImages, null);
+            for (BufferedImage[][] variant : labelImages) {
+                for (BufferedImage[] column : variant) {
+                    Arrays.fill(column, null);
+                }
+            }
+        }
+    }
+
+    private static void paintTile(VolatileImage tile, Color color) {
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, tile.getWidth(), tile.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int arc = Math.min(tile.getWidth(), tile.getHeight()) / 5;
+            g.setPaint(new GradientPaint(0, 0, color.brighter(), 0, tile.getHeight(), color.darker()));
+            g.fillRoundRect(0, 0, tile.getWidth() - 1, tile.getHeight() - 1, arc, arc);
+            g.setColor(TILE_BORDER);
+            g.setStroke(new BasicStroke(2f));
+            g.drawRoundRect(1, 1, tile.getWidth() - 3, tile.getHeight() - 3, arc, arc);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Gets a text rendered into a cached image, shortened with an ellipsis to the maximum width
+     */
+    private BufferedImage text(String text, int size, int style, Color color, int maxWidth) {
+        String key = size + "|" + style + "|" + color.getRGB() + "|" + maxWidth + "|" + text;
+        BufferedImage image = textImages.get(key);
+        if (image == null) {
+            Font font = new Font(Font.SANS_SERIF, style, size);
+            BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D probeGraphics = probe.createGraphics();
+            FontMetrics metrics = probeGraphics.getFontMetrics(font);
+            probeGraphics.dispose();
+            String shown = text;
+            if (metrics.stringWidth(shown) > maxWidth) {
+                int length = text.length();
+                while (length > 0 && metrics.stringWidth(text.substring(0, length) + "…") > maxWidth) {
+                    length--;
+                }
+                shown = text.substring(0, length) + "…";
+            }
+            image = new BufferedImage(Math.max(1, metrics.stringWidth(shown)), metrics.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g.setFont(font);
+                g.setColor(color);
+                g.drawString(shown, 0, metrics.getAscent());
+            } finally {
+                g.dispose();
+            }
+            textImages.put(key, image);
+        }
+        return image;
+    }
+
+    private static List<String> wrap(String text, FontMetrics metrics, int width) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : (text == null ? "" : text).split(" ")) {
+            if (line.length() > 0 && metrics.stringWidth(line + " " + word) > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if (line.length() > 0) {
+                line.append(' ');
+            }
+            line.append(word);
+        }
+        lines.add(line.toString());
+        return lines;
+    }
+
+    /**
+     * Board state published to the render thread.
+     * @param states Tile state per category and point index, using the states of {@link BoardPanel}
+     * @param currentTeam Index of the active team, -1 if none
+     */
+    private record BoardState(byte[][] states, int currentTeam) {
+    }
+
+    /**
+     * A question being shown.
+     */
+    private record Reveal(int column, int row, String title, String prompt, List<String> answers, long shownAt) {
+    }
+}
@@ -7,7 +7,8 @@ import java.util.Objects;
 
 public class Question {
     private String prompt;
-    private final List<String> answers;
+    // Never modified in place: edits replace the list, so copies can share it
+    private List<String> answers;
     private int correctAnswerIndex;
 
     /**
@@ -16,10 +17,7 @@ public class Question {
      */
     public Question(Integer count) {
         int numberOfAnswers = (count != null && count > 0) ? count : 3;
-        this.answers = new ArrayList<>(numberOfAnswers);
-        for (int i = 0; i < numberOfAnswers; i++) {
-            answers.add("");
-        }
+        this.answers = Collections.nCopies(numberOfAnswers, "");
         this.correctAnswerIndex = 0;
     }
 
@@ -32,10 +30,41 @@ public class Question {
             throw new IllegalArgumentException("answers must not be empty");
         }
         this.prompt = prompt;
-        this.answers = new ArrayList<>(answers);
+        this.answers = immutableCopy(answers);
+        setCorrectAnswerIndex(correctAnswerIndex);
+    }
+
+    /**
+     * Constructor for subclasses that keep prompt and answers elsewhere and override all accessors
+     */
+    Question() {
+    }
+
+    private Question(Question source) {
+        this.prompt = source.prompt;
+        this.answers = source.answers;
+        this.correctAnswerIndex = source.correctAnswerIndex;
+    }
+
+    /**
+     * Constructor that takes over an answer list which is known to be immutable, without copying it
+     */
+    private Question(List<String> immutableAnswers, String prompt, int correctAnswerIndex) {
+        if (immutableAnswers.isEmpty()) {
+            throw new IllegalArgumentException("answers must not be empty");
+        }
+        this.prompt = prompt;
+        this.answers = immutableAnswers;
         setCorrectAnswerIndex(correctAnswerIndex);
     }
 
+    /**
+     * Creates a question that shares an answer list which is known to be immutable
+     */
+    static Question withSharedAnswers(String prompt, List<String> immutableAnswers, int correctAnswerIndex) {
+        return new Question(immutableAnswers, prompt, correctAnswerIndex);
+    }
+
     /**
      * Sets the question text
      * @param question The question text
@@ -51,7 +80,9 @@ public class Question {
      */
     public void setAnswer(int position, String answer) {
         if (position >= 0 && position < answers.size()) {
-            answers.set(position, answer);
+            List<String> updated = new ArrayList<>(answers);
+            updated.set(position, answer);
+            answers = Collections.unmodifiableList(updated);
         }
     }
 
@@ -70,7 +101,7 @@ public class Question {
      * @return immutable view of answer options
      */
     public List<String> getAnswers() {
-        return Collections.unmodifiableList(answers);
+        return answers;
     }
 
     public String getQuestion() {
@@ -101,16 +132,25 @@ public class Question {
     }
 
     public void setAnswers(List<String> newAnswers, int correctIndex) {
-        answers.clear();
         if (newAnswers == null || newAnswers.isEmpty()) {
             throw new IllegalArgumentException("answers must not be empty");
         }
-        answers.addAll(newAnswers);
-        setCorrectAnswerIndex(correctIndex);
+        if (correctIndex < 0 || correctIndex >= newAnswers.size()) {
+            throw new IllegalArgumentException("Correct answer index out of bounds: " + correctIndex);
+        }
+        answers = immutableCopy(newAnswers);
+        correctAnswerIndex = correctIndex;
     }
 
+    /**
+     * Copies the question. The answer list is shared, so this does not depend on the number of answers.
+     * @return An independent copy
+     */
     public Question copy() {
-        Question copy = new Question(getQuestion(), new ArrayList<>(answers), correctAnswerIndex);
-        return copy;
+        return new Question(this);
+    }
+
+    private static List<String> immutableCopy(List<String> answers) {
+        return Collections.unmodifiableList(new ArrayList<>(answers));
     }
 }
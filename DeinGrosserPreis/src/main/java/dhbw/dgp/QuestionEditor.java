@@ -1,11 +1,33 @@
 package dhbw.dgp;
 
+import java.util.Objects;
+
 /**
  * Class for editing questions in the game
  */
 public class QuestionEditor {
     // The question currently being edited, identified by category and points
     private Question currentQuestionInEditing;
+    private Category currentCategory;
+    private int currentPoints;
+    private ChangeListener changeListener = (category, points, question) -> { };
+
+    /**
+     * Is notified after every change of the question in editing
+     */
+    public interface ChangeListener {
+        void questionChanged(Category category, int points, Question question);
+
+        /**
+         * Is notified when a question is set in editing, before its first change
+         */
+        default void editingStarted(Category category, int points, Question question) {
+        }
+    }
+
+    public void setChangeListener(ChangeListener listener) {
+        this.changeListener = Objects.requireNonNull(listener, "listener");
+    }
 
     /**
      * Sets the question to be edited
@@ -14,13 +36,16 @@ public class QuestionEditor {
      * @return The question to be edited, or null if not found
      */
     public Question setQuestionInEditing(Category category, int points) {
-        if (category == null || !category.getPointQuestionMap().containsKey(points)) {
+        if (category == null || !category.hasQuestion(points)) {
             // Reset current editing state if invalid parameters
-            this.currentQuestionInEditing = null;
+            clearQuestionInEditing();
             return null;
         }
 
-        this.currentQuestionInEditing = category.getPointQuestionMap().get(points);
+        this.currentCategory = category;
+        this.currentPoints = points;
+        this.currentQuestionInEditing = category.getQuestion(points);
+        changeListener.editingStarted(category, points, currentQuestionInEditing);
         return this.currentQuestionInEditing;
     }
 
@@ -30,6 +55,7 @@ public class QuestionEditor {
      */
     public void clearQuestionInEditing() {
         this.currentQuestionInEditing = null;
+        this.currentCategory = null;
     }
 
     public Question getCurrentQuestionInEditing() {
@@ -39,18 +65,21 @@ public class QuestionEditor {
     public void updateQuestionText(String text) {
         if (currentQuestionInEditing != null) {
             currentQuestionInEditing.setQuestion(text);
+            changeListener.questionChanged(currentCategory, currentPoints, currentQuestionInEditing);
         }
     }
 
     public void updateAnswer(int index, String answer) {
         if (currentQuestionInEditing != null) {
             currentQuestionInEditing.setAnswer(index, answer);
+            changeListener.questionChanged(currentCategory, currentPoints, currentQuestionInEditing);
         }
     }
 
     public void setCorrectAnswerIndex(int index) {
         if (currentQuestionInEditing != null) {
             currentQuestionInEditing.setCorrectAnswerIndex(index);
+            changeListener.questionChanged(currentCategory, currentPoints, currentQuestionInEditing);
         }
     }
 }
@@ -0,0 +1,805 @@
+package dhbw.dgp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Imports question banks from CSV or JSON files. The file is read as a stream: a single thread
+ * only cuts it into records, which are parsed and validated in parallel chunks and then merged
+ * into configurations in file order. Invalid rows are skipped and reported with their line number.
+ * The questions of one import share a {@link CompactQuestionStore}, so large banks stay small on
+ * the heap; like other questions they must only be edited by one thread.
+ *
+ * <p>CSV files need a header row; the delimiter ({@code ;} or {@code ,}) is taken from it.
+ * Recognised columns: {@code configuration}, {@code category}, {@code points}, {@code question},
+ * {@code correct} and any number of {@code answer...} columns (German names work as well).
+ * JSON files contain an array of objects, or one object per line, with the fields
+ * {@code configuration}, {@code category}, {@code points}, {@code question},
+ * {@code answers} and {@code correct}; configurations in the nested format written by
+ * {@link DataExporter} are read as well. The correct answer index starts at 0, like in {@link Question}.</p>
+ */
+public class QuestionImporter {
+    private static final int CHUNK_SIZE = 2_048;
+
+    private final ExecutorService executor;
+    private final int maxChunksInFlight;
+
+    public QuestionImporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public QuestionImporter(ExecutorService executor) {
+        this.executor = executor;
+        this.maxChunksInFlight = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Imports a file. Files ending in .json are read as JSON, everything else as CSV.
+     * @param file The file to import
+     * @return The imported configurations and all row errors
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        String defaultTitle = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return fileName.toLowerCase(Locale.ROOT).endsWith(".json")
+                    ? importJson(reader, defaultTitle)
+                    : importCsv(reader, defaultTitle);
+        }
+    }
+
+    /**
+     * Imports a CSV question bank
+     * @param reader Source of the CSV text
+     * @param defaultTitle Configuration title for rows without a configuration column
+     * @return The imported configurations and all row errors
+     */
+    public ImportResult importCsv(Reader reader, String defaultTitle) throws IOException {
+        CsvRecordSource source = new CsvRecordSource(reader);
+        RawRecord header = source.next();
+        if (header == null) {
+            return new ImportResult(List.of(), List.of(), 0);
+        }
+        char delimiter = header.text().indexOf(';') >= 0 ? ';' : ',';
+        CsvColumns columns = CsvColumns.fromHeader(splitCsvRecord(header.text(), delimiter));
+        if (columns.missingColumn() != null) {
+            return new ImportResult(List.of(), List.of(new RowError(header.line(),
+                    "Spalte fehlt in der Kopfzeile: " + columns.missingColumn())), 0);
+        }
+        return run(source::next,
+                record -> List.of(columns.parse(record, splitCsvRecord(record.text(), delimiter), defaultTitle)));
+    }
+
+    /**
+     * Imports a JSON question bank
+     * @param reader Source of the JSON text
+     * @param defaultTitle Configuration title for objects without a configuration field
+     * @return The imported configurations and all row errors
+     */
+    public ImportResult importJson(Reader reader, String defaultTitle) throws IOException {
+        JsonRecordSource source = new JsonRecordSource(reader);
+        return run(source::next, record -> parseJsonRecord(record, defaultTitle));
+    }
+
+    // ---------------------------------------------------------------- pipeline
+
+    private ImportResult run(RecordSupplier source, Function<RawRecord, List<ParsedRow>> parser) throws IOException {
+        Merger merger = new Merger();
+        Deque<Future<List<ParsedRow>>> inFlight = new ArrayDeque<>();
+        try {
+            List<RawRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            RawRecord record;
+            while ((record = source.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == CHUNK_SIZE) {
+                    inFlight.add(submit(chunk, parser));
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    // Bound the memory used by parsed but not yet merged chunks
+                    if (inFlight.size() >= maxChunksInFlight) {
+                        merger.merge(inFlight.poll().get());
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(chunk, parser));
+            }
+            while (!inFlight.isEmpty()) {
+                merger.merge(inFlight.poll().get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import wurde unterbrochen", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Import fehlgeschlagen", ex.getCause());
+        } finally {
+            for (Future<List<ParsedRow>> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+        return merger.result();
+    }
+
+    private Future<List<ParsedRow>> submit(List<RawRecord> chunk, Function<RawRecord, List<ParsedRow>> parser) {
+        return executor.submit(() -> {
+            List<ParsedRow> rows = new ArrayList<>(chunk.size());
+            for (RawRecord record : chunk) {
+                rows.addAll(parser.apply(record));
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * Collects parsed rows into configurations and categories, preserving file order.
+     */
+    private static final class Merger {
+        private final Map<String, Configuration> configurations = new LinkedHashMap<>();
+        private final Map<String, Category> categories = new HashMap<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private final CompactQuestionStore store = new CompactQuestionStore();
+        private int importedQuestions;
+
+        void merge(List<ParsedRow> rows) {
+            for (ParsedRow row : rows) {
+                if (row.error() != null) {
+                    errors.add(new RowError(row.line(), row.error()));
+                    continue;
+                }
+                String configurationKey = ConfigurationStore.normalizeTitle(row.configuration());
+                Configuration configuration = configurations.computeIfAbsent(configurationKey,
+                        key -> new Configuration(row.configuration().trim()));
+                String categoryKey = configurationKey + '\n' + row.category().trim().toLowerCase(Locale.ROOT);
+                Category category = categories.computeIfAbsent(categoryKey, key -> {
+                    Category created = new Category(row.category().trim(), new TreeMap<>());
+                    configuration.addCategory(created);
+                    return created;
+                });
+                if (category.getQuestion(row.points()) != null) {
+                    errors.add(new RowError(row.line(), "Kategorie \"" + category.getName()
+                            + "\" hat bereits eine Frage für " + row.points() + " Punkte"));
+                    continue;
+                }
+                category.addOrReplaceQuestion(row.points(), store.get(store.add(row.question())));
+                importedQuestions++;
+            }
+        }
+
+        ImportResult result() {
+            store.trimToSize();
+            return new ImportResult(new ArrayList<>(configurations.values()), errors, importedQuestions);
+        }
+    }
+
+    /**
+     * Trims the answers and drops empty answers at the end, which stand for unused answer columns.
+     * Empty answers between others keep their position, so the correct index still refers to
+     * the answer it was written for.
+     */
+    private static List<String> answerList(List<String> rawAnswers) {
+        int end = rawAnswers.size();
+        while (end > 0 && (rawAnswers.get(end - 1) == null || rawAnswers.get(end - 1).isBlank())) {
+            end--;
+        }
+        List<String> answers = new ArrayList<>(end);
+        for (int i = 0; i < end; i++) {
+            String answer = rawAnswers.get(i);
+            answers.add(answer == null ? "" : answer.trim());
+        }
+        return answers;
+    }
+
+    /**
+     * Validates the fields of one row and builds its question
+     */
+    private static ParsedRow buildRow(int line, String configuration, String category, String points,
+                                      String prompt, List<String> answers, String correct) {
+        if (configuration == null || configuration.isBlank()) {
+            return ParsedRow.error(line, "Konfiguration fehlt");
+        }
+        if (category == null || category.isBlank()) {
+            return ParsedRow.error(line, "Kategorie fehlt");
+        }
+        if (prompt == null || prompt.isBlank()) {
+            return ParsedRow.error(line, "Fragetext fehlt");
+        }
+        int pointValue;
+        int correctIndex;
+        try {
+            pointValue = Integer.parseInt(points == null ? "" : points.trim());
+        } catch (NumberFormatException ex) {
+            return ParsedRow.error(line, "Ungültige Punktzahl: " + points);
+        }
+        if (pointValue <= 0) {
+            return ParsedRow.error(line, "Punktzahl muss positiv sein: " + pointValue);
+        }
+        try {
+            correctIndex = Integer.parseInt(correct == null ? "" : correct.trim());
+        } catch (NumberFormatException ex) {
+            return ParsedRow.error(line, "Ungültiger Index der richtigen Antwort: " + correct);
+        }
+        try {
+            // Same validation as for questions created in the editor
+            Question question = new Question(prompt.trim(), answers, correctIndex);
+            return new ParsedRow(line, configuration, category, pointValue, question, null);
+        } catch (IllegalArgumentException ex) {
+            return ParsedRow.error(line, ex.getMessage());
+        }
+    }
+
+    // ---------------------------------------------------------------- CSV
+
+    /**
+     * Cuts CSV text into records. Only quotes are tracked here, so line breaks inside quoted
+     * fields stay part of the record; splitting into fields happens in the parser threads.
+     */
+    private static final class CsvRecordSource {
+        private final BufferedReader reader;
+        private int line = 1;
+
+        CsvRecordSource(Reader reader) {
+            this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        }
+
+        RawRecord next() throws IOException {
+            StringBuilder text = new StringBuilder();
+            boolean inQuotes = false;
+            int startLine = line;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (c == '\n') {
+                    line++;
+                    if (!inQuotes) {
+                        if (text.length() > 0 && text.charAt(text.length() - 1) == '\r') {
+                            text.setLength(text.length() - 1);
+                        }
+                        String record = text.toString();
+                        if (record.isBlank()) {
+                            text.setLength(0);
+                            startLine = line;
+                            continue;
+                        }
+                        return new RawRecord(startLine, record);
+                    }
+                }
+                text.append((char) c);
+            }
+            return text.toString().isBlank() ? null : new RawRecord(startLine, text.toString());
+        }
+    }
+
+    static List<String> splitCsvRecord(String record, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Column positions taken from the CSV header.
+     */
+    private static final class CsvColumns {
+        private int configuration = -1;
+        private int category = -1;
+        private int points = -1;
+        private int question = -1;
+        private int correct = -1;
+        private final List<Integer> answers = new ArrayList<>();
+        private boolean answersContinue;
+
+        static CsvColumns fromHeader(List<String> header) {
+            CsvColumns columns = new CsvColumns();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+                switch (name) {
+                    case "configuration":
+                    case "konfiguration":
+                    case "title":
+                    case "titel":
+                        columns.configuration = i;
+                        break;
+                    case "category":
+                    case "kategorie":
+                        columns.category = i;
+                        break;
+                    case "points":
+                    case "punkte":
+                        columns.points = i;
+                        break;
+                    case "question":
+                    case "frage":
+                        columns.question = i;
+                        break;
+                    case "correct":
+                    case "richtig":
+                        columns.correct = i;
+                        break;
+                    default:
+                        if (name.startsWith("answer") || name.startsWith("antwort")) {
+                            columns.answers.add(i);
+                        }
+                }
+            }
+            // Fields beyond the header count as further answers when the answers are the last columns
+            columns.answersContinue = !columns.answers.isEmpty()
+                    && columns.answers.get(columns.answers.size() - 1) == header.size() - 1;
+            return columns;
+        }
+
+        String missingColumn() {
+            if (category < 0) {
+                return "category";
+            }
+            if (points < 0) {
+                return "points";
+            }
+            if (question < 0) {
+                return "question";
+            }
+            if (correct < 0) {
+                return "correct";
+            }
+            return answers.isEmpty() ? "answer" : null;
+        }
+
+        ParsedRow parse(RawRecord record, List<String> fields, String defaultTitle) {
+            List<String> answerTexts = new ArrayList<>(answers.size());
+            List<Integer> answerColumns = answers;
+            if (answersContinue && fields.size() > answers.get(answers.size() - 1) + 1) {
+                answerColumns = new ArrayList<>(answers);
+                for (int column = answers.get(answers.size() - 1) + 1; column < fields.size(); column++) {
+                    answerColumns.add(column);
+                }
+            }
+            for (int column : answerColumns) {
+                answerTexts.add(field(fields, column));
+            }
+            String title = configuration >= 0 ? field(fields, configuration) : null;
+            return buildRow(record.line(),
+                    title == null || title.isBlank() ? defaultTitle : title,
+                    field(fields, category), field(fields, points), field(fields, question),
+                    answerList(answerTexts), field(fields, correct));
+        }
+
+        private static String field(List<String> fields, int column) {
+            return column < fields.size() ? fields.get(column) : null;
+        }
+    }
+
+    // ---------------------------------------------------------------- JSON
+
+    /**
+     * Cuts JSON text into top-level objects, either inside one array or one per line.
+     * Only strings and brace depth are tracked; the objects are parsed in the parser threads.
+     */
+    private static final class JsonRecordSource {
+        private final BufferedReader reader;
+        private int line = 1;
+
+        JsonRecordSource(Reader reader) {
+            this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        }
+
+        RawRecord next() throws IOException {
+            int c;
+            // Skip everything between objects: whitespace, '[', ',' and ']'
+            while ((c = reader.read()) != -1 && c != '{') {
+                if (c == '\n') {
+                    line++;
+                }
+            }
+            if (c == -1) {
+                return null;
+            }
+
+            int startLine = line;
+            StringBuilder text = new StringBuilder().append('{');
+            int depth = 1;
+            boolean inString = false;
+            boolean escaped = false;
+            while (depth > 0 && (c = reader.read()) != -1) {
+                text.append((char) c);
+                if (c == '\n') {
+                    line++;
+                }
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth--;
+                }
+            }
+            return new RawRecord(startLine, text.toString());
+        }
+    }
+
+    /**
+     * Parses one top-level JSON object: either a single question or a whole configuration
+     * in the nested format written by {@link DataExporter}
+     */
+    private static List<ParsedRow> parseJsonRecord(RawRecord record, String defaultTitle) {
+        Map<String, Object> object;
+        try {
+            object = new JsonParser(record.text()).parseObject();
+        } catch (IllegalArgumentException ex) {
+            return List.of(ParsedRow.error(record.line(), "Ungültiges JSON: " + ex.getMessage()));
+        }
+        if (!object.containsKey("categories")) {
+            String title = asText(object.get("configuration"));
+            return List.of(parseJsonQuestion(record.line(), object,
+                    title == null || title.isBlank() ? defaultTitle : title, asText(object.get("category"))));
+        }
+
+        String title = asText(object.get("title"));
+        if (title == null || title.isBlank()) {
+            title = defaultTitle;
+        }
+        if (!(object.get("categories") instanceof List)) {
+            return List.of(ParsedRow.error(record.line(), "\"categories\" muss ein Array sein"));
+        }
+        List<ParsedRow> rows = new ArrayList<>();
+        for (Object categoryValue : (List<?>) object.get("categories")) {
+            if (!(categoryValue instanceof Map)) {
+                rows.add(ParsedRow.error(record.line(), "Kategorie muss ein Objekt sein"));
+                continue;
+            }
+            Map<?, ?> category = (Map<?, ?>) categoryValue;
+            if (!(category.get("questions") instanceof List)) {
+                rows.add(ParsedRow.error(record.line(), "\"questions\" muss ein Array sein"));
+                continue;
+            }
+            String categoryName = asText(category.get("name"));
+            for (Object questionValue : (List<?>) category.get("questions")) {
+                if (!(questionValue instanceof Map)) {
+                    rows.add(ParsedRow.error(record.line(), "Frage muss ein Objekt sein"));
+                    continue;
+                }
+                rows.add(parseJsonQuestion(record.line(), (Map<?, ?>) questionValue, title, categoryName));
+            }
+        }
+        return rows;
+    }
+
+    private static ParsedRow parseJsonQuestion(int line, Map<?, ?> object, String title, String category) {
+        List<String> answers = new ArrayList<>();
+        Object answerValue = object.get("answers");
+        if (answerValue instanceof List) {
+            for (Object answer : (List<?>) answerValue) {
+                answers.add(answer == null ? null : answer.toString());
+            }
+        } else if (answerValue != null) {
+            return ParsedRow.error(line, "\"answers\" muss ein Array sein");
+        }
+
+        return buildRow(line, title, category, asText(object.get("points")), asText(object.get("question")),
+                answerList(answers), asText(object.get("correct")));
+    }
+
+    private static String asText(Object value) {
+        if (value instanceof Double) {
+            double number = (Double) value;
+            if (number == Math.rint(number) && !Double.isInfinite(number)) {
+                return Long.toString((long) number);
+            }
+        }
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Minimal JSON parser for a single object. Numbers become doubles, arrays become lists.
+     */
+    private static final class JsonParser {
+        private final String text;
+        private int position;
+
+        JsonParser(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> parseObject() {
+            Map<String, Object> object = readObject();
+            skipWhitespace();
+            if (position != text.length()) {
+                throw error("unerwartete Zeichen nach dem Objekt");
+            }
+            return object;
+        }
+
+        private Object readValue() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("unerwartetes Ende");
+            }
+            char c = text.charAt(position);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    expect("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    expect("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    expect("null");
+                    return null;
+                default:
+                    return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            consume('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                consume(':');
+                object.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                } else {
+                    consume('}');
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> array = new ArrayList<>();
+            consume('[');
+            skipWhitespace();
+            if (peek() == ']') {
+                position++;
+                return array;
+            }
+            while (true) {
+                array.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                } else {
+                    consume(']');
+                    return Collections.unmodifiableList(array);
+                }
+            }
+        }
+
+        private String readString() {
+            consume('"');
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escape = text.charAt(position++);
+                switch (escape) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw error("unvollständige Unicode-Escape-Sequenz");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("ungültige Unicode-Escape-Sequenz");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        value.append(escape);
+                }
+            }
+            throw error("Zeichenkette nicht abgeschlossen");
+        }
+
+        private Double readNumber() {
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            try {
+                return Double.valueOf(text.substring(start, position));
+            } catch (NumberFormatException ex) {
+                throw error("ungültiger Wert");
+            }
+        }
+
+        private void expect(String literal) {
+            if (!text.startsWith(literal, position)) {
+                throw error("ungültiger Wert");
+            }
+            position += literal.length();
+        }
+
+        private void consume(char expected) {
+            if (peek() != expected) {
+                throw error("'" + expected + "' erwartet");
+            }
+            position++;
+        }
+
+        private char peek() {
+            return position < text.length() ? text.charAt(position) : '\0';
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " (Zeichen " + position + ")");
+        }
+    }
+
+    // ---------------------------------------------------------------- types
+
+    @FunctionalInterface
+    private interface RecordSupplier {
+        RawRecord next() throws IOException;
+    }
+
+    private record RawRecord(int line, String text) {
+    }
+
+    private record ParsedRow(int line, String configuration, String category, int points, Question question, String error) {
+        static ParsedRow error(int line, String message) {
+            return new ParsedRow(line, null, null, 0, null, message);
+        }
+    }
+
+    /**
+     * A row that could not be imported.
+     */
+    public record RowError(int line, String message) {
+        @Override
+        public String toString() {
+            return "Zeile " + line + ": " + message;
+        }
+    }
+
+    /**
+     * Outcome of an import.
+     */
+    public static class ImportResult {
+        private final List<Configuration> configurations;
+        private final List<RowError> errors;
+        private final int importedQuestions;
+        private final List<String> existingTitles;
+
+        ImportResult(List<Configuration> configurations, List<RowError> errors, int importedQuestions) {
+            this(configurations, errors, importedQuestions, List.of());
+        }
+
+        private ImportResult(List<Configuration> configurations, List<RowError> errors, int importedQuestions,
+                             List<String> existingTitles) {
+            this.configurations = List.copyOf(configurations);
+            this.errors = List.copyOf(errors);
+            this.importedQuestions = importedQuestions;
+            this.existingTitles = List.copyOf(existingTitles);
+        }
+
+        /**
+         * @param existingTitles Titles that were not saved because they are already stored
+         * @return A copy of this result that reports the given titles
+         */
+        ImportResult withExistingTitles(List<String> existingTitles) {
+            return new ImportResult(configurations, errors, importedQuestions, existingTitles);
+        }
+
+        public List<Configuration> getConfigurations() {
+            return configurations;
+        }
+
+        /**
+         * @return errors ordered by line number
+         */
+        public List<RowError> getErrors() {
+            return errors;
+        }
+
+        public int getImportedQuestions() {
+            return importedQuestions;
+        }
+
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+
+        /**
+         * @return titles of imported configurations that were not saved because a configuration
+         *         with the same title is already stored
+         */
+        public List<String> getExistingTitles() {
+            return existingTitles;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package dhbw.dgp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Immutable pool of questions, each tagged with a topic and a difficulty, used to generate
+ * configurations. All indexes are built once in the constructor: for every tag and difficulty
+ * the matching questions and an alias table over their weights, so drawing a question takes
+ * constant time no matter how large the pool is.
+ */
+public class QuestionPool {
+    private final List<PooledQuestion> questions;
+    private final List<String> tags;
+    private final Map<String, Integer> tagIndex = new HashMap<>();
+    private final int maxDifficulty;
+    // [tag][difficulty] -> questions with that tag and difficulty, null if there are none
+    private final Bucket[][] buckets;
+
+    /**
+     * @param questions The questions of the pool
+     */
+    public QuestionPool(List<PooledQuestion> questions) {
+        this.questions = List.copyOf(questions);
+        int highest = 1;
+        List<String> tagNames = new ArrayList<>();
+        for (PooledQuestion question : this.questions) {
+            highest = Math.max(highest, question.difficulty());
+            if (tagIndex.putIfAbsent(ConfigurationStore.normalizeTitle(question.tag()), tagNames.size()) == null) {
+                tagNames.add(question.tag().trim());
+            }
+        }
+        this.tags = List.copyOf(tagNames);
+        this.maxDifficulty = highest;
+
+        int[][] counts = new int[tags.size()][maxDifficulty + 1];
+        for (PooledQuestion question : this.questions) {
+            counts[tagOf(question)][question.difficulty()]++;
+        }
+        int[][][] members = new int[tags.size()][maxDifficulty + 1][];
+        int[][] fill = new int[tags.size()][maxDifficulty + 1];
+        for (int id = 0; id < this.questions.size(); id++) {
+            PooledQuestion question = this.questions.get(id);
+            int tag = tagOf(question);
+            int difficulty = question.difficulty();
+            if (members[tag][difficulty] == null) {
+                members[tag][difficulty] = new int[counts[tag][difficulty]];
+            }
+            members[tag][difficulty][fill[tag][difficulty]++] = id;
+        }
+
+        this.buckets = new Bucket[tags.size()][maxDifficulty + 1];
+        for (int tag = 0; tag < tags.size(); tag++) {
+            for (int difficulty = 1; difficulty <= maxDifficulty; difficulty++) {
+                int[] ids = members[tag][difficulty];
+                if (ids != null) {
+                    double[] weights = new double[ids.length];
+                    for (int i = 0; i < ids.length; i++) {
+                        weights[i] = this.questions.get(ids[i]).weight();
+                    }
+                    buckets[tag][difficulty] = new Bucket(ids, new AliasTable(weights));
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a pool from existing configurations. The category name becomes the tag and the
+     * rank of the point value within its category the difficulty (lowest points = 1).
+     * @param configurations The configurations to take the questions from
+     * @return The pool
+     */
+    public static QuestionPool fromConfigurations(Iterable<Configuration> configurations) {
+        List<PooledQuestion> questions = new ArrayList<>();
+        for (Configuration configuration : configurations) {
+            for (Category category : configuration.getCategories()) {
+                for (int i = 0; i < category.getQuestionCount(); i++) {
+                    questions.add(new PooledQuestion(category.getName(), i + 1, 1.0, category.getQuestionAt(i)));
+                }
+            }
+        }
+        return new QuestionPool(questions);
+    }
+
+    public int size() {
+        return questions.size();
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public int getMaxDifficulty() {
+        return maxDifficulty;
+    }
+
+    PooledQuestion get(int id) {
+        return questions.get(id);
+    }
+
+    /**
+     * Checks whether a tag has at least one question of the given difficulty
+     */
+    boolean hasQuestions(int tag, int difficulty) {
+        return difficulty >= 1 && difficulty <= maxDifficulty && buckets[tag][difficulty] != null;
+    }
+
+    /**
+     * Draws a question with the given tag and difficulty, respecting the question weights
+     * @param tag Index of the tag
+     * @param difficulty The difficulty
+     * @param excluded Questions that must not be drawn
+     * @param random Source of randomness
+     * @return The ID of the question, or -1 if every matching question is excluded
+     */
+    int draw(int tag, int difficulty, Excluded excluded, SplittableRandom random) {
+        Bucket bucket = buckets[tag][difficulty];
+        if (bucket == null) {
+            return -1;
+        }
+        // Rejection sampling is fast as long as only a small part of the bucket is excluded
+        for (int attempt = 0; attempt < 16; attempt++) {
+            int id = bucket.ids[bucket.alias.sample(random)];
+            if (!excluded.contains(id)) {
+                return id;
+            }
+        }
+        // Mostly excluded: pick uniformly among the remaining questions
+        int remaining = 0;
+        int chosen = -1;
+        for (int id : bucket.ids) {
+            if (!excluded.contains(id) && random.nextInt(++remaining) == 0) {
+                chosen = id;
+            }
+        }
+        return chosen;
+    }
+
+    private int tagOf(PooledQuestion question) {
+        return tagIndex.get(ConfigurationStore.normalizeTitle(question.tag()));
+    }
+
+    /**
+     * A question in the pool.
+     * @param tag Topic of the question, becomes the category name
+     * @param difficulty Difficulty starting at 1
+     * @param weight Relative probability of being drawn
+     * @param question The question
+     */
+    public record PooledQuestion(String tag, int difficulty, double weight, Question question) {
+        public PooledQuestion {
+            if (tag == null || tag.isBlank()) {
+                throw new IllegalArgumentException("tag must not be empty");
+            }
+            if (difficulty < 1) {
+                throw new IllegalArgumentException("difficulty must be at least 1: " + difficulty);
+            }
+            if (!(weight > 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weight must be positive: " + weight);
+            }
+            if (question == null) {
+                throw new IllegalArgumentException("question must not be null");
+            }
+        }
+    }
+
+    /**
+     * Question IDs that must not be drawn.
+     */
+    interface Excluded {
+        boolean contains(int id);
+    }
+
+    /**
+     * Remembers the questions of the most recent games, so they are not drawn again right away.
+     * Membership checks are a bit lookup; the oldest questions are forgotten once the capacity is reached.
+     */
+    public static class RecentQuestions implements Excluded {
+        private final int capacity;
+        private final ArrayDeque<Integer> order = new ArrayDeque<>();
+        private int[] counts = new int[0];
+
+        /**
+         * @param capacity Number of used questions to remember
+         */
+        public RecentQuestions(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("capacity must not be negative");
+            }
+            this.capacity = capacity;
+        }
+
+        public synchronized void add(int id) {
+            if (capacity == 0) {
+                return;
+            }
+            if (id >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+            }
+            order.addLast(id);
+            counts[id]++;
+            if (order.size() > capacity) {
+                counts[order.removeFirst()]--;
+            }
+        }
+
+        @Override
+        public synchronized boolean contains(int id) {
+            return id < counts.length && counts[id] > 0;
+        }
+
+        public synchronized int size() {
+            return order.size();
+        }
+    }
+
+    private record Bucket(int[] ids, AliasTable alias) {
+    }
+
+    /**
+     * Walker/Vose alias table: samples an index with probability proportional to its weight in O(1).
+     */
+    static final class AliasTable {
+        private final double[] probability;
+        private final int[] alias;
+
+        AliasTable(double[] weights) {
+            int n = weights.length;
+            this.probability = new double[n];
+            this.alias = new int[n];
+            double total = 0.0;
+            for (double weight : weights) {
+                total += weight;
+            }
+
+            double[] scaled = new double[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights[i] * n / total;
+                if (scaled[i] < 1.0) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                probability[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] = scaled[more] + scaled[less] - 1.0;
+                if (scaled[more] < 1.0) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // Remaining entries are 1 up to rounding errors
+            while (largeCount > 0) {
+                probability[large[--largeCount]] = 1.0;
+            }
+            while (smallCount > 0) {
+                probability[small[--smallCount]] = 1.0;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int column = random.nextInt(probability.length);
+            return random.nextDouble() < probability[column] ? column : alias[column];
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted full-text index over question texts, answers and category names.
+ * Words are normalized for German (lower case, umlauts as ae/oe/ue, ß as ss), so
+ * "Größe", "groesse" and "GROESSE" find the same questions. The last word of a query
+ * matches as prefix, the others must match completely.
+ *
+ * <p>Every question gets a document number; each word maps to the sorted list of document
+ * numbers it occurs in. Replacing a configuration marks its old documents as deleted;
+ * the postings are rebuilt once more than half of all documents are deleted.</p>
+ */
+public class QuestionSearchIndex {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final List<SearchHit> documents = new ArrayList<>();
+    private final List<String[]> documentTerms = new ArrayList<>();
+    private final Map<String, int[]> documentsByConfiguration = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+
+    /**
+     * Adds a configuration to the index or replaces the indexed version with the same title
+     * @param configuration The configuration to index
+     */
+    public void update(Configuration configuration) {
+        String key = ConfigurationStore.normalizeTitle(configuration.getTitle());
+        lock.writeLock().lock();
+        try {
+            removeDocuments(key);
+            List<Integer> added = new ArrayList<>();
+            for (Category category : configuration.getCategories()) {
+                for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
+                    Question question = entry.getValue();
+                    int document = documents.size();
+                    documents.add(new SearchHit(configuration.getTitle(), category.getName(), entry.getKey(), question.getQuestion()));
+
+                    Set<String> terms = new HashSet<>();
+                    tokenize(question.getQuestion(), terms);
+                    tokenize(category.getName(), terms);
+                    for (String answer : question.getAnswers()) {
+                        tokenize(answer, terms);
+                    }
+                    String[] termArray = terms.toArray(new String[0]);
+                    documentTerms.add(termArray);
+                    for (String term : termArray) {
+                        postings.computeIfAbsent(term, t -> new Postings()).add(document);
+                    }
+                    added.add(document);
+                }
+            }
+            documentsByConfiguration.put(key, added.stream().mapToInt(Integer::intValue).toArray());
+            if (deletedCount > documents.size() / 2) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a configuration from the index
+     * @param title The title of the configuration
+     */
+    public void remove(String title) {
+        lock.writeLock().lock();
+        try {
+            removeDocuments(ConfigurationStore.normalizeTitle(title));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches questions containing all words of the query
+     * @param query Words to search for; the last one may be incomplete
+     * @param limit Maximum number of hits
+     * @return Matching questions in the order they were indexed
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>();
+        tokenize(query, terms);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<BitSet> matches = new ArrayList<>(terms.size());
+            for (String term : terms.subList(0, terms.size() - 1)) {
+                BitSet match = matchExact(term);
+                if (match.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(match);
+            }
+            String prefix = terms.get(terms.size() - 1);
+            NavigableMap<String, Postings> prefixTerms = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+            BitSet candidates = null;
+            if (!matches.isEmpty()) {
+                // Intersect starting with the rarest word
+                matches.sort((a, b) -> Integer.compare(a.cardinality(), b.cardinality()));
+                candidates = matches.get(0);
+                for (int i = 1; i < matches.size() && !candidates.isEmpty(); i++) {
+                    candidates.and(matches.get(i));
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(Math.min(limit, 64));
+            if (candidates != null && countPostings(prefixTerms, candidates.cardinality()) > candidates.cardinality()) {
+                // A short prefix can expand to thousands of words, so check the candidates instead
+                for (int document = candidates.nextSetBit(0); document >= 0 && hits.size() < limit;
+                     document = candidates.nextSetBit(document + 1)) {
+                    if (!deleted.get(document) && containsPrefix(documentTerms.get(document), prefix)) {
+                        hits.add(documents.get(document));
+                    }
+                }
+                return hits;
+            }
+
+            BitSet result = new BitSet();
+            for (Postings list : prefixTerms.values()) {
+                list.addTo(result);
+            }
+            if (candidates != null) {
+                result.and(candidates);
+            }
+            result.andNot(deleted);
+            for (int document = result.nextSetBit(0); document >= 0 && hits.size() < limit; document = result.nextSetBit(document + 1)) {
+                hits.add(documents.get(document));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed questions
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size() - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normalizes a text the way the index does and splits it into words
+     * @param text The text
+     * @param terms Receives the words
+     */
+    static void tokenize(String text, Collection<String> terms) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder term = new StringBuilder();
+        String lower = text.toLowerCase(Locale.GERMAN);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                switch (c) {
+                    case 'ä':
+                        term.append("ae");
+                        break;
+                    case 'ö':
+                        term.append("oe");
+                        break;
+                    case 'ü':
+                        term.append("ue");
+                        break;
+                    case 'ß':
+                        term.append("ss");
+                        break;
+                    default:
+                        term.append(c);
+                }
+            } else if (term.length() > 0) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+    }
+
+    private BitSet matchExact(String term) {
+        BitSet match = new BitSet();
+        Postings list = postings.get(term);
+        if (list != null) {
+            list.addTo(match);
+        }
+        return match;
+    }
+
+    /**
+     * Counts the documents of all given postings, stopping as soon as the limit is exceeded
+     */
+    private static int countPostings(Map<String, Postings> terms, int limit) {
+        int count = 0;
+        for (Postings list : terms.values()) {
+            count += list.size;
+            if (count > limit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private static boolean containsPrefix(String[] documentTerms, String prefix) {
+        for (String term : documentTerms) {
+            if (term.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeDocuments(String key) {
+        int[] old = documentsByConfiguration.remove(key);
+        if (old == null) {
+            return;
+        }
+        for (int document : old) {
+            if (!deleted.get(document)) {
+                deleted.set(document);
+                deletedCount++;
+            }
+        }
+    }
+
+    /**
+     * Drops deleted documents: live documents are renumbered and all postings are rebuilt.
+     */
+    private void compact() {
+        int[] renumbered = new int[documents.size()];
+        List<SearchHit> liveDocuments = new ArrayList<>(documents.size() - deletedCount);
+        List<String[]> liveTerms = new ArrayList<>(documents.size() - deletedCount);
+        postings.clear();
+        for (int document = 0; document < documents.size(); document++) {
+            if (deleted.get(document)) {
+                renumbered[document] = -1;
+                continue;
+            }
+            int newDocument = liveDocuments.size();
+            renumbered[document] = newDocument;
+            liveDocuments.add(documents.get(document));
+            liveTerms.add(documentTerms.get(document));
+            for (String term : documentTerms.get(document)) {
+                postings.computeIfAbsent(term, t -> new Postings()).add(newDocument);
+            }
+        }
+        for (Map.Entry<String, int[]> entry : documentsByConfiguration.entrySet()) {
+            int[] ids = entry.getValue();
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = renumbered[ids[i]];
+            }
+        }
+        documents.clear();
+        documents.addAll(liveDocuments);
+        documentTerms.clear();
+        documentTerms.addAll(liveTerms);
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    /**
+     * Growable, sorted list of document numbers.
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(documents[i]);
+            }
+        }
+    }
+
+    /**
+     * A question found by the search.
+     * @param configurationTitle Title of the configuration that contains the question
+     * @param categoryName Name of the category
+     * @param points Point value of the question
+     * @param question The question text
+     */
+    public record SearchHit(String configurationTitle, String categoryName, int points, String question) {
+    }
+}
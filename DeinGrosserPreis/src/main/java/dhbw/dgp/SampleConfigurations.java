@@ -0,0 +1,49 @@
+package dhbw.dgp;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The sample configuration that is stored when a database is opened for the first time
+ */
+final class SampleConfigurations {
+    private SampleConfigurations() {
+    }
+
+    static Configuration createSampleConfiguration() {
+        Configuration configuration = new Configuration("Der Große Preis – Standard");
+
+        configuration.addCategory(createCategory("Geographie", new String[][]{
+                {"10", "Welche Stadt ist die Hauptstadt von Frankreich?", "Paris", "Berlin", "Rom", "Madrid", "0"},
+                {"20", "Welcher Fluss fließt durch Budapest?", "Donau", "Elbe", "Themse", "Rhein", "0"},
+                {"30", "Welcher Kontinent hat die meisten Länder?", "Afrika", "Europa", "Asien", "Südamerika", "0"}
+        }));
+
+        configuration.addCategory(createCategory("Wissenschaft", new String[][]{
+                {"10", "Welche chemische Formel hat Wasser?", "H2O", "CO2", "NaCl", "O2", "0"},
+                {"20", "Wie viele Planeten hat unser Sonnensystem?", "8", "7", "9", "10", "0"},
+                {"30", "Wie heißt der Prozess, bei dem Pflanzen Licht in Energie umwandeln?", "Photosynthese", "Fermentation", "Metabolismus", "Osmose", "0"}
+        }));
+
+        configuration.addCategory(createCategory("Sport", new String[][]{
+                {"10", "Wie viele Spieler stehen beim Fußball pro Team auf dem Platz?", "11", "9", "10", "12", "0"},
+                {"20", "In welcher Sportart ist Serena Williams eine Legende?", "Tennis", "Basketball", "Golf", "Leichtathletik", "0"},
+                {"30", "Welches Land richtete die Olympischen Spiele 2016 aus?", "Brasilien", "China", "Großbritannien", "Griechenland", "0"}
+        }));
+
+        return configuration;
+    }
+
+    private static Category createCategory(String name, String[][] data) {
+        Map<Integer, Question> questions = new TreeMap<>();
+        for (String[] row : data) {
+            int points = Integer.parseInt(row[0]);
+            String prompt = row[1];
+            List<String> answers = List.of(row[2], row[3], row[4], row[5]);
+            int correctIndex = Integer.parseInt(row[6]);
+            questions.put(points, new Question(prompt, answers, correctIndex));
+        }
+        return new Category(name, questions);
+    }
+}
@@ -0,0 +1,258 @@
+package dhbw.dgp;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.UIManager;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scoreboard that paints one row per team. Scores can be set from any thread; updates are
+ * collected and applied once per frame on the event dispatch thread, so a burst of answers costs
+ * one repaint. Only rows whose score, rank or position changed are repainted, and teams that
+ * change places slide to their new row.
+ */
+public class ScoreboardPanel extends JComponent {
+    private static final int FRAME_MILLIS = 16;
+    private static final int ANIMATION_MILLIS = 350;
+    private static final int ROW_GAP = 4;
+
+    // In team order; only used on the event dispatch thread
+    private final List<Cell> cells = new ArrayList<>();
+    private final Map<Team, Cell> cellsByTeam = new HashMap<>();
+    private final Map<Team, Integer> pendingScores = new ConcurrentHashMap<>();
+    private final AtomicBoolean frameScheduled = new AtomicBoolean();
+    private final Timer frameTimer;
+    private long animationStart = -1;
+
+    public ScoreboardPanel() {
+        setFont(UIManager.getFont("Label.font"));
+        setForeground(UIManager.getColor("Label.foreground"));
+        frameTimer = new Timer(FRAME_MILLIS, e -> nextFrame());
+        frameTimer.setInitialDelay(0);
+    }
+
+    /**
+     * Shows the given teams with 0 points. Must be called on the event dispatch thread.
+     * @param teams The teams in their initial order
+     */
+    public void setTeams(List<Team> teams) {
+        cells.clear();
+        cellsByTeam.clear();
+        pendingScores.clear();
+        animationStart = -1;
+        for (Team team : teams) {
+            Cell cell = new Cell(team, cells.size());
+            cells.add(cell);
+            cellsByTeam.put(team, cell);
+        }
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Sets the score of a team. Safe to call from any thread; the change is shown with the next frame.
+     * @param team The team
+     * @param score The new score
+     */
+    public void setScore(Team team, int score) {
+        pendingScores.put(team, score);
+        if (frameScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(frameTimer::start);
+        }
+    }
+
+    /**
+     * Applies the collected scores and advances the rank animation by one frame
+     */
+    private void nextFrame() {
+        frameScheduled.set(false);
+        boolean changed = false;
+        for (Map.Entry<Team, Integer> entry : pendingScores.entrySet()) {
+            Cell cell = cellsByTeam.get(entry.getKey());
+            if (pendingScores.remove(entry.getKey(), entry.getValue()) && cell != null && cell.score != entry.getValue()) {
+                cell.score = entry.getValue();
+                cell.scoreText = String.valueOf(cell.score);
+                repaintRow(cell.y);
+                changed = true;
+            }
+        }
+        if (changed) {
+            rank();
+        }
+
+        if (animationStart >= 0) {
+            double progress = Math.min(1.0, (System.nanoTime() - animationStart) / (ANIMATION_MILLIS * 1_000_000.0));
+            double eased = 1 - Math.pow(1 - progress, 3);
+            for (Cell cell : cells) {
+                if (cell.fromY != cell.row || cell.y != cell.row) {
+                    repaintRow(cell.y);
+                    cell.y = cell.fromY + (cell.row - cell.fromY) * eased;
+                    repaintRow(cell.y);
+                }
+            }
+            if (progress >= 1.0) {
+                for (Cell cell : cells) {
+                    cell.fromY = cell.row;
+                }
+                animationStart = -1;
+            }
+        }
+
+        if (animationStart < 0 && !frameScheduled.get()) {
+            frameTimer.stop();
+        }
+    }
+
+    /**
+     * Sorts the teams by score and starts moving those whose row changed
+     */
+    private void rank() {
+        List<Cell> order = new ArrayList<>(cells);
+        order.sort((a, b) -> a.score != b.score ? Integer.compare(b.score, a.score) : Integer.compare(a.index, b.index));
+        boolean moved = false;
+        for (int row = 0; row < order.size(); row++) {
+            Cell cell = order.get(row);
+            // Teams with equal scores share a rank
+            int rank = row > 0 && order.get(row - 1).score == cell.score ? order.get(row - 1).rank : row + 1;
+            if (rank != cell.rank) {
+                cell.rank = rank;
+                cell.rankText = rank + ".";
+                repaintRow(cell.y);
+            }
+            if (cell.row != row) {
+                cell.row = row;
+                moved = true;
+            }
+        }
+        if (moved) {
+            // Restart from where every row is now, also those still moving from an earlier change
+            for (Cell cell : cells) {
+                cell.fromY = cell.y;
+            }
+            animationStart = System.nanoTime();
+        }
+    }
+
+    private void repaintRow(double y) {
+        Insets insets = getInsets();
+        int rowHeight = getRowHeight();
+        int top = insets.top + (int) Math.floor(y * rowHeight);
+        repaint(insets.left, top, getWidth() - insets.left - insets.right, rowHeight + 1);
+    }
+
+    private int getRowHeight() {
+        return getFontMetrics(getFont()).getHeight() + ROW_GAP;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        return new Dimension(insets.left + insets.right + 160,
+                insets.top + insets.bottom + Math.max(1, cells.size()) * getRowHeight());
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            if (isOpaque()) {
+                g.setColor(getBackground());
+                g.fillRect(0, 0, getWidth(), getHeight());
+            }
+            g.setFont(getFont());
+            g.setColor(getForeground());
+            FontMetrics metrics = g.getFontMetrics();
+            Insets insets = getInsets();
+            int rowHeight = getRowHeight();
+            int width = getWidth() - insets.left - insets.right;
+            int rankWidth = metrics.stringWidth(cells.size() + ". ");
+            Rectangle clip = g.getClipBounds();
+
+            // Rows that are still moving are painted last, so they slide over the others
+            for (int pass = 0; pass < 2; pass++) {
+                for (Cell cell : cells) {
+                    if ((cell.y != cell.row) != (pass == 1)) {
+                        continue;
+                    }
+                    int top = insets.top + (int) Math.round(cell.y * rowHeight);
+                    if (clip != null && (top + rowHeight < clip.y || top > clip.y + clip.height)) {
+                        continue;
+                    }
+                    if (pass == 1) {
+                        g.setColor(getBackground());
+                        g.fillRect(insets.left, top, width, rowHeight);
+                        g.setColor(getForeground());
+                    }
+                    int baseline = top + ROW_GAP / 2 + metrics.getAscent();
+                    int scoreWidth = metrics.stringWidth(cell.scoreText);
+                    g.drawString(cell.rankText, insets.left, baseline);
+                    g.drawString(cell.fittedName(metrics, width - rankWidth - scoreWidth - 8), insets.left + rankWidth, baseline);
+                    g.drawString(cell.scoreText, insets.left + width - scoreWidth, baseline);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * One team row. The position is animated in row units from fromY to row.
+     */
+    private static final class Cell {
+        private final int index;
+        private final String name;
+        private int score;
+        private int rank;
+        private int row;
+        private double fromY;
+        private double y;
+        private String scoreText = "0";
+        private String rankText = "1.";
+        private String fittedName;
+        private int fittedWidth = -1;
+
+        Cell(Team team, int index) {
+            this.index = index;
+            this.name = team.getName();
+            this.rank = 1;
+            this.row = index;
+            this.fromY = index;
+            this.y = index;
+        }
+
+        /**
+         * @return the name, shortened with an ellipsis to the available width; cached per width
+         */
+        String fittedName(FontMetrics metrics, int available) {
+            if (available != fittedWidth) {
+                fittedWidth = available;
+                fittedName = name;
+                if (metrics.stringWidth(name) > available) {
+                    int length = name.length();
+                    while (length > 0 && metrics.stringWidth(name.substring(0, length) + "…") > available) {
+                        length--;
+                    }
+                    fittedName = name.substring(0, length) + "…";
+                }
+            }
+            return fittedName;
+        }
+    }
+}
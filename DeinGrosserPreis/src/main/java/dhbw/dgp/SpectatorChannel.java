@@ -0,0 +1,378 @@
+package dhbw.dgp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcasts game state frames to read-only spectators (projectors, stream overlays).
+ * Every state change is encoded exactly once into an immutable byte array that is shared
+ * by all subscribers. Each subscriber has a small bounded queue; when a subscriber falls
+ * behind, its oldest pending frames are dropped, so publishing never blocks.
+ * <p>
+ * A single broadcaster thread hands pending frames to a small pool of writer threads, so
+ * spectators do not hold a thread each. Every write has a deadline: a subscriber whose write
+ * is still blocked when the deadline passes is closed, and its writer thread no longer counts
+ * against the pool, so a stalled phone never holds up the other spectators.
+ */
+public class SpectatorChannel implements AutoCloseable {
+    public static final int DEFAULT_MAX_SUBSCRIBERS = 2048;
+    private static final int DEFAULT_QUEUE_CAPACITY = 4;
+    private static final int DEFAULT_WRITER_THREADS = 8;
+    private static final Duration DEFAULT_WRITE_TIMEOUT = Duration.ofSeconds(5);
+    private static final long KEEPALIVE_NANOS = TimeUnit.SECONDS.toNanos(15);
+    private static final long IDLE_WAIT_MILLIS = 5_000;
+    private static final byte[] KEEPALIVE = ": keepalive\n\n".getBytes(StandardCharsets.UTF_8);
+
+    // Write states of a subscriber
+    private static final int IDLE = 0;
+    private static final int WRITING = 1;
+    private static final int ABANDONED = 2;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberSlots = new AtomicInteger();
+    private final int queueCapacity;
+    private volatile int maxSubscribers;
+    private final int writerThreads;
+    private final long writeTimeoutNanos;
+    private final long checkMillis;
+    private final ThreadPoolExecutor writers;
+    // Guarded by writers: writes that missed their deadline and still block a thread
+    private int abandonedWrites;
+
+    private final Object signal = new Object();
+    // Guarded by signal
+    private boolean pending;
+    // Guarded by this
+    private Thread broadcaster;
+
+    public SpectatorChannel() {
+        this(DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_SUBSCRIBERS);
+    }
+
+    public SpectatorChannel(int queueCapacity, int maxSubscribers) {
+        this(queueCapacity, maxSubscribers, DEFAULT_WRITER_THREADS, DEFAULT_WRITE_TIMEOUT);
+    }
+
+    /**
+     * @param queueCapacity Frames kept per subscriber before the oldest ones are dropped
+     * @param maxSubscribers Maximum number of subscribers at the same time
+     * @param writerThreads Number of threads writing to healthy subscribers
+     * @param writeTimeout How long a single write may block before the subscriber is closed
+     */
+    public SpectatorChannel(int queueCapacity, int maxSubscribers, int writerThreads, Duration writeTimeout) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        if (maxSubscribers <= 0) {
+            throw new IllegalArgumentException("maxSubscribers must be positive");
+        }
+        if (writerThreads <= 0) {
+            throw new IllegalArgumentException("writerThreads must be positive");
+        }
+        Objects.requireNonNull(writeTimeout, "writeTimeout");
+        if (writeTimeout.isNegative() || writeTimeout.isZero()) {
+            throw new IllegalArgumentException("writeTimeout must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.writerThreads = writerThreads;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        // Check the deadlines at least twice per timeout
+        this.checkMillis = Math.max(1, Math.min(IDLE_WAIT_MILLIS, writeTimeout.toMillis() / 2));
+        this.writers = new ThreadPoolExecutor(0, writerThreads, 30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "spectator-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Sets the maximum number of subscribers. Subscribers beyond a lowered limit stay connected.
+     * @param maxSubscribers Maximum number of subscribers at the same time
+     */
+    public void setMaxSubscribers(int maxSubscribers) {
+        if (maxSubscribers <= 0) {
+            throw new IllegalArgumentException("maxSubscribers must be positive");
+        }
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    /**
+     * Encodes a state as server-sent event and hands it to all subscribers
+     * @param json The state as JSON without line breaks
+     */
+    public void publish(String json) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        byte[] frame = encodeFrame(json);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+        wakeBroadcaster();
+    }
+
+    /**
+     * Registers a new subscriber. Frames are queued from now on; they are written once the
+     * subscriber is connected to a stream with {@link Subscriber#connect(OutputStream)}.
+     * @param initialJson State the subscriber receives first
+     * @return The subscriber, which must be closed if it is never connected, or null if the
+     *         maximum number of subscribers is reached
+     */
+    public Subscriber subscribe(String initialJson) {
+        int slots;
+        do {
+            slots = subscriberSlots.get();
+            if (slots >= maxSubscribers) {
+                return null;
+            }
+        } while (!subscriberSlots.compareAndSet(slots, slots + 1));
+
+        Subscriber subscriber = new Subscriber(queueCapacity);
+        subscriber.offer(encodeFrame(initialJson));
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Disconnects all subscribers and stops the broadcaster and writer threads
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (broadcaster != null) {
+                broadcaster.interrupt();
+                broadcaster = null;
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        writers.shutdown();
+    }
+
+    static byte[] encodeFrame(String json) {
+        return ("data: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private synchronized void startBroadcaster() {
+        if (broadcaster == null) {
+            broadcaster = new Thread(this::broadcast, "spectator-broadcaster");
+            broadcaster.setDaemon(true);
+            broadcaster.start();
+        }
+    }
+
+    private void wakeBroadcaster() {
+        synchronized (signal) {
+            pending = true;
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Loop of the broadcaster thread: hands pending frames to the writers whenever something
+     * was published, schedules keepalive comments and closes subscribers that missed their
+     * write deadline. It never writes to a stream itself.
+     */
+    private void broadcast() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                synchronized (signal) {
+                    if (!pending) {
+                        signal.wait(checkMillis);
+                    }
+                    pending = false;
+                }
+                long now = System.nanoTime();
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.dispatch(now);
+                }
+            }
+        } catch (InterruptedException ex) {
+            // Channel closed
+        }
+    }
+
+    /**
+     * A write that missed its deadline keeps its thread until the connection finally fails.
+     * The pool grows by that thread so the healthy subscribers keep their writers.
+     */
+    private void abandonWriter(int delta) {
+        synchronized (writers) {
+            abandonedWrites += delta;
+            int maximum = writerThreads + abandonedWrites;
+            if (!writers.isShutdown() && writers.getMaximumPoolSize() != maximum) {
+                writers.setMaximumPoolSize(maximum);
+            }
+        }
+    }
+
+    /**
+     * Closes a stream on a writer thread, because closing writes the final chunk and can block
+     */
+    private void closeLater(OutputStream stream) {
+        try {
+            writers.execute(() -> closeQuietly(stream));
+        } catch (RejectedExecutionException ex) {
+            closeQuietly(stream);
+        }
+    }
+
+    private static void closeQuietly(OutputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ex) {
+            // Already gone
+        }
+    }
+
+    /**
+     * Mailbox of a single spectator.
+     */
+    public final class Subscriber implements AutoCloseable {
+        private final BlockingQueue<byte[]> frames;
+        private final AtomicLong droppedFrames = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicInteger writeState = new AtomicInteger(IDLE);
+        private volatile OutputStream out;
+        private volatile long writeStartedNanos;
+        private volatile long lastWriteNanos;
+
+        private Subscriber(int capacity) {
+            this.frames = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void offer(byte[] frame) {
+            // Keep the newest frames: drop the oldest ones until the new frame fits
+            while (!frames.offer(frame)) {
+                if (frames.poll() != null) {
+                    droppedFrames.incrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Starts writing the queued and all following frames to a stream. The stream is
+         * closed when the subscriber is closed, a write fails or a write misses its deadline.
+         * @param out The response stream of the spectator
+         */
+        public void connect(OutputStream out) {
+            this.out = out;
+            if (closed.get()) {
+                closeQuietly(out);
+                return;
+            }
+            startBroadcaster();
+            wakeBroadcaster();
+        }
+
+        /**
+         * Called by the broadcaster: starts a write if there is something to write and no
+         * write is in flight, or closes the subscriber if the write in flight is overdue
+         */
+        private void dispatch(long now) {
+            OutputStream stream = out;
+            if (stream == null || closed.get()) {
+                return;
+            }
+            if (writeState.get() != IDLE) {
+                if (now - writeStartedNanos > writeTimeoutNanos
+                        && writeState.compareAndSet(WRITING, ABANDONED)) {
+                    abandonWriter(1);
+                    close();
+                }
+                return;
+            }
+            if (frames.isEmpty() && now - lastWriteNanos < KEEPALIVE_NANOS) {
+                return;
+            }
+            writeStartedNanos = now;
+            writeState.set(WRITING);
+            try {
+                writers.execute(() -> write(stream));
+            } catch (RejectedExecutionException ex) {
+                // All writers busy: the frames stay queued until the next round
+                writeState.set(IDLE);
+            }
+        }
+
+        private void write(OutputStream stream) {
+            boolean failed = false;
+            try {
+                boolean written = false;
+                byte[] frame;
+                while ((frame = frames.poll()) != null) {
+                    stream.write(frame);
+                    written = true;
+                }
+                if (!written) {
+                    stream.write(KEEPALIVE);
+                }
+                stream.flush();
+                lastWriteNanos = System.nanoTime();
+            } catch (IOException ex) {
+                // Spectator disconnected
+                failed = true;
+            }
+
+            if (!writeState.compareAndSet(WRITING, IDLE)) {
+                // Missed the deadline, the subscriber is already closed
+                abandonWriter(-1);
+                closeQuietly(stream);
+            } else if (failed || closed.get()) {
+                close();
+                closeQuietly(stream);
+            } else if (!frames.isEmpty()) {
+                wakeBroadcaster();
+            }
+        }
+
+        /**
+         * @return number of frames skipped because this subscriber was too slow
+         */
+        public long getDroppedFrames() {
+            return droppedFrames.get();
+        }
+
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                subscriberSlots.decrementAndGet();
+                OutputStream stream = out;
+                // A writer in flight closes the stream itself when its write returns
+                if (stream != null && writeState.get() == IDLE) {
+                    closeLater(stream);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package dhbw.dgp;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stores configurations in an embedded, file-based SQL database (H2) without a server.
+ * A configuration is saved in a single transaction with batched inserts for its
+ * categories, questions and answers. Changed questions are updated row by row.
+ */
+public class SqlDatabaseConnector implements DatabaseConnector {
+    private static final int POOL_SIZE = 4;
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS configuration ("
+                    + "config_key VARCHAR(512) PRIMARY KEY, "
+                    + "title VARCHAR(512) NOT NULL, "
+                    + "version BIGINT DEFAULT 1 NOT NULL)",
+            // Databases created before configurations had versions
+            "ALTER TABLE configuration ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 1 NOT NULL",
+            "CREATE TABLE IF NOT EXISTS category ("
+                    + "config_key VARCHAR(512) NOT NULL, "
+                    + "position INT NOT NULL, "
+                    + "name VARCHAR(512), "
+                    + "PRIMARY KEY (config_key, position))",
+            "CREATE TABLE IF NOT EXISTS question ("
+                    + "config_key VARCHAR(512) NOT NULL, "
+                    + "category_position INT NOT NULL, "
+                    + "points INT NOT NULL, "
+                    + "prompt VARCHAR(4000), "
+                    + "correct_index INT NOT NULL, "
+                    + "PRIMARY KEY (config_key, category_position, points))",
+            "CREATE TABLE IF NOT EXISTS answer ("
+                    + "config_key VARCHAR(512) NOT NULL, "
+                    + "category_position INT NOT NULL, "
+                    + "points INT NOT NULL, "
+                    + "position INT NOT NULL, "
+                    + "text VARCHAR(4000), "
+                    + "PRIMARY KEY (config_key, category_position, points, position))"
+    };
+
+    private static final String[] DELETE_CONFIGURATION = {
+            "DELETE FROM answer WHERE config_key = ?",
+            "DELETE FROM question WHERE config_key = ?",
+            "DELETE FROM category WHERE config_key = ?",
+            "DELETE FROM configuration WHERE config_key = ?"
+    };
+
+    // Passed to write() to replace a configuration whatever its version is
+    private static final long ANY_VERSION = -1;
+    // SQLState of a unique constraint violation
+    private static final String DUPLICATE_KEY = "23505";
+
+    private final ConnectionPool pool;
+
+    /**
+     * @param directory Directory that holds the database file
+     */
+    public SqlDatabaseConnector(Path directory) {
+        this("jdbc:h2:file:" + directory.resolve("configurations").toAbsolutePath());
+    }
+
+    /**
+     * @param jdbcUrl JDBC URL of an embedded database
+     */
+    public SqlDatabaseConnector(String jdbcUrl) {
+        this.pool = new ConnectionPool(jdbcUrl, POOL_SIZE);
+        try (ConnectionPool.Lease lease = pool.borrow();
+             Statement statement = lease.connection().createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Datenbank konnte nicht geöffnet werden: " + jdbcUrl, ex);
+        }
+    }
+
+    @Override
+    public List<Configuration> loadConfigurations() {
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            return load(lease.connection(), null);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Konfigurationen konnten nicht geladen werden", ex);
+        }
+    }
+
+    @Override
+    public List<ConfigurationSummary> listConfigurations() {
+        String sql = "SELECT c.title, "
+                + "(SELECT COUNT(*) FROM category k WHERE k.config_key = c.config_key), "
+                + "(SELECT COUNT(*) FROM question q WHERE q.config_key = c.config_key) "
+                + "FROM configuration c ORDER BY c.title";
+        try (ConnectionPool.Lease lease = pool.borrow();
+             Statement statement = lease.connection().createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            List<ConfigurationSummary> summaries = new ArrayList<>();
+            while (rs.next()) {
+                summaries.add(new ConfigurationSummary(rs.getString(1), rs.getInt(2), rs.getInt(3)));
+            }
+            return summaries;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Konfigurationen konnten nicht aufgelistet werden", ex);
+        }
+    }
+
+    @Override
+    public Configuration loadConfiguration(String title) {
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            List<Configuration> configurations = load(lease.connection(), configurationKey(title));
+            return configurations.isEmpty() ? null : configurations.get(0);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Konfiguration konnte nicht geladen werden: " + title, ex);
+        }
+    }
+
+    @Override
+    public void saveConfiguration(Configuration configuration) {
+        if (configuration == null) {
+            return;
+        }
+        write(configuration, ANY_VERSION);
+    }
+
+    @Override
+    public long saveConfiguration(Configuration configuration, long expectedVersion) {
+        return write(configuration, expectedVersion);
+    }
+
+    @Override
+    public long getVersion(String title) {
+        try (ConnectionPool.Lease lease = pool.borrow();
+             ResultSet rs = query(lease.connection(), "SELECT version FROM configuration WHERE config_key = ?",
+                     configurationKey(title))) {
+            return rs.next() ? rs.getLong(1) : ConfigurationCatalogue.ABSENT;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Version konnte nicht gelesen werden: " + title, ex);
+        }
+    }
+
+    /**
+     * Replaces a configuration in one transaction. The configuration row is locked while the
+     * version is compared, so concurrent saves of the same title are serialized. Two first
+     * saves of a title find no row to lock; the one that inserts second fails on the key and
+     * is treated like any other save that lost the race.
+     * @param expectedVersion Version that must be stored, or {@link #ANY_VERSION}
+     * @return The new version, or -1 if another version is stored
+     */
+    private long write(Configuration configuration, long expectedVersion) {
+        String key = configurationKey(configuration.getTitle());
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            Connection connection = lease.connection();
+            connection.setAutoCommit(false);
+            try {
+                long version = ConfigurationCatalogue.ABSENT;
+                try (PreparedStatement select = connection.prepareStatement(
+                        "SELECT version FROM configuration WHERE config_key = ? FOR UPDATE")) {
+                    select.setString(1, key);
+                    try (ResultSet rs = select.executeQuery()) {
+                        if (rs.next()) {
+                            version = rs.getLong(1);
+                        }
+                    }
+                }
+                if (expectedVersion != ANY_VERSION && version != expectedVersion) {
+                    connection.rollback();
+                    return -1;
+                }
+                // Only a locked row may be replaced. Without one, a concurrent first save could
+                // commit in between and would be deleted here instead of failing our insert.
+                if (version != ConfigurationCatalogue.ABSENT) {
+                    for (String sql : DELETE_CONFIGURATION) {
+                        try (PreparedStatement delete = connection.prepareStatement(sql)) {
+                            delete.setString(1, key);
+                            delete.executeUpdate();
+                        }
+                    }
+                }
+                insertConfiguration(connection, key, configuration, version + 1);
+                connection.commit();
+                return version + 1;
+            } catch (SQLException ex) {
+                connection.rollback();
+                if (!DUPLICATE_KEY.equals(ex.getSQLState())) {
+                    throw ex;
+                }
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Konfiguration konnte nicht gespeichert werden", ex);
+        }
+        // Another first save of the same title committed in between. An unconditional save
+        // replaces it; the row exists now, so the retry locks it like every later save.
+        return expectedVersion == ANY_VERSION ? write(configuration, ANY_VERSION) : -1;
+    }
+
+    @Override
+    public boolean saveQuestions(String title, List<QuestionUpdate> updates) {
+        String key = configurationKey(title);
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            Connection connection = lease.connection();
+            connection.setAutoCommit(false);
+            try (PreparedStatement updateQuestion = connection.prepareStatement(
+                    "UPDATE question SET prompt = ?, correct_index = ? WHERE config_key = ? AND category_position = ? AND points = ?");
+                 PreparedStatement deleteAnswers = connection.prepareStatement(
+                         "DELETE FROM answer WHERE config_key = ? AND category_position = ? AND points = ?");
+                 PreparedStatement insertAnswer = connection.prepareStatement(
+                         "INSERT INTO answer (config_key, category_position, points, position, text) VALUES (?, ?, ?, ?, ?)")) {
+                for (QuestionUpdate update : updates) {
+                    Question question = update.question();
+                    updateQuestion.setString(1, question.getQuestion());
+                    updateQuestion.setInt(2, question.getCorrectAnswerIndex());
+                    updateQuestion.setString(3, key);
+                    updateQuestion.setInt(4, update.categoryIndex());
+                    updateQuestion.setInt(5, update.points());
+                    if (updateQuestion.executeUpdate() == 0) {
+                        connection.rollback();
+                        return false;
+                    }
+
+                    deleteAnswers.setString(1, key);
+                    deleteAnswers.setInt(2, update.categoryIndex());
+                    deleteAnswers.setInt(3, update.points());
+                    deleteAnswers.addBatch();
+
+                    List<String> answers = question.getAnswers();
+                    for (int a = 0; a < answers.size(); a++) {
+                        insertAnswer.setString(1, key);
+                        insertAnswer.setInt(2, update.categoryIndex());
+                        insertAnswer.setInt(3, update.points());
+                        insertAnswer.setInt(4, a);
+                        insertAnswer.setString(5, answers.get(a));
+                        insertAnswer.addBatch();
+                    }
+                }
+                deleteAnswers.executeBatch();
+                insertAnswer.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Fragen konnten nicht gespeichert werden: " + title, ex);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        try (ConnectionPool.Lease lease = pool.borrow();
+             Statement statement = lease.connection().createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM configuration")) {
+            return !rs.next() || rs.getInt(1) == 0;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Konfigurationen konnten nicht gezählt werden", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            pool.close();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Datenbank konnte nicht geschlossen werden", ex);
+        }
+    }
+
+    /**
+     * Loads configurations with their categories, questions and answers
+     * @param key Key of a single configuration, or null for all configurations
+     */
+    private List<Configuration> load(Connection connection, String key) throws SQLException {
+        String filter = key == null ? "" : " WHERE config_key = ?";
+        Map<String, Configuration> configurations = new LinkedHashMap<>();
+        Map<String, Map<Integer, Category>> categories = new HashMap<>();
+        Map<String, Map<Integer, Map<Integer, List<String>>>> answers = new HashMap<>();
+
+        try (ResultSet rs = query(connection, "SELECT config_key, title FROM configuration" + filter + " ORDER BY title", key)) {
+            while (rs.next()) {
+                configurations.put(rs.getString(1), new Configuration(rs.getString(2)));
+            }
+        }
+        try (ResultSet rs = query(connection,
+                "SELECT config_key, position, name FROM category" + filter + " ORDER BY config_key, position", key)) {
+            while (rs.next()) {
+                Configuration configuration = configurations.get(rs.getString(1));
+                if (configuration != null) {
+                    Category category = new Category(rs.getString(3), new TreeMap<>());
+                    configuration.addCategory(category);
+                    categories.computeIfAbsent(rs.getString(1), k -> new HashMap<>()).put(rs.getInt(2), category);
+                }
+            }
+        }
+        try (ResultSet rs = query(connection, "SELECT config_key, category_position, points, text FROM answer" + filter
+                + " ORDER BY config_key, category_position, points, position", key)) {
+            while (rs.next()) {
+                answers.computeIfAbsent(rs.getString(1), k -> new HashMap<>())
+                        .computeIfAbsent(rs.getInt(2), k -> new HashMap<>())
+                        .computeIfAbsent(rs.getInt(3), k -> new ArrayList<>())
+                        .add(rs.getString(4));
+            }
+        }
+        try (ResultSet rs = query(connection,
+                "SELECT config_key, category_position, points, prompt, correct_index FROM question" + filter, key)) {
+            while (rs.next()) {
+                Category category = categories.getOrDefault(rs.getString(1), Map.of()).get(rs.getInt(2));
+                if (category == null) {
+                    continue;
+                }
+                List<String> questionAnswers = answers.getOrDefault(rs.getString(1), Map.of())
+                        .getOrDefault(rs.getInt(2), Map.of())
+                        .getOrDefault(rs.getInt(3), List.of(""));
+                category.addOrReplaceQuestion(rs.getInt(3),
+                        new Question(rs.getString(4), questionAnswers, rs.getInt(5)));
+            }
+        }
+        return new ArrayList<>(configurations.values());
+    }
+
+    /**
+     * Runs a query with an optional key parameter. The statement is closed together with the result set.
+     */
+    private static ResultSet query(Connection connection, String sql, String key) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        if (key != null) {
+            statement.setString(1, key);
+        }
+        statement.closeOnCompletion();
+        return statement.executeQuery();
+    }
+
+    private void insertConfiguration(Connection connection, String key, Configuration configuration, long version)
+            throws SQLException {
+        try (PreparedStatement insertConfiguration = connection.prepareStatement(
+                "INSERT INTO configuration (config_key, title, version) VALUES (?, ?, ?)");
+             PreparedStatement insertCategory = connection.prepareStatement(
+                     "INSERT INTO category (config_key, position, name) VALUES (?, ?, ?)");
+             PreparedStatement insertQuestion = connection.prepareStatement(
+                     "INSERT INTO question (config_key, category_position, points, prompt, correct_index) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement insertAnswer = connection.prepareStatement(
+                     "INSERT INTO answer (config_key, category_position, points, position, text) VALUES (?, ?, ?, ?, ?)")) {
+
+            insertConfiguration.setString(1, key);
+            // The title column is NOT NULL; configurations without a title are stored with ""
+            insertConfiguration.setString(2, configuration.getTitle() == null ? "" : configuration.getTitle());
+            insertConfiguration.setLong(3, version);
+            insertConfiguration.executeUpdate();
+
+            List<Category> categories = configuration.getCategories();
+            for (int c = 0; c < categories.size(); c++) {
+                Category category = categories.get(c);
+                insertCategory.setString(1, key);
+                insertCategory.setInt(2, c);
+                insertCategory.setString(3, category.getName());
+                insertCategory.addBatch();
+
+                for (Map.Entry<Integer, Question> entry : category.getPointQuestionMap().entrySet()) {
+                    Question question = entry.getValue();
+                    insertQuestion.setString(1, key);
+                    insertQuestion.setInt(2, c);
+                    insertQuestion.setInt(3, entry.getKey());
+                    insertQuestion.setString(4, question.getQuestion());
+                    insertQuestion.setInt(5, question.getCorrectAnswerIndex());
+                    insertQuestion.addBatch();
+
+                    List<String> questionAnswers = question.getAnswers();
+                    for (int a = 0; a < questionAnswers.size(); a++) {
+                        insertAnswer.setString(1, key);
+                        insertAnswer.setInt(2, c);
+                        insertAnswer.setInt(3, entry.getKey());
+                        insertAnswer.setInt(4, a);
+                        insertAnswer.setString(5, questionAnswers.get(a));
+                        insertAnswer.addBatch();
+                    }
+                }
+            }
+
+            insertCategory.executeBatch();
+            insertQuestion.executeBatch();
+            insertAnswer.executeBatch();
+        }
+    }
+
+    private static String configurationKey(String title) {
+        return title == null ? "" : title.trim().toLowerCase(Locale.ROOT);
+    }
+}
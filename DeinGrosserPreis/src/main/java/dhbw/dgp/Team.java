@@ -1,18 +1,23 @@
 package dhbw.dgp;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class Team {
     private String name;
-    private List<String> players;
+    private final Set<String> players;
 
     public Team(String name) {
         this.name = name;
-        this.players = new ArrayList<>();
+        this.players = new LinkedHashSet<>();
     }
 
-    public void addPlayer(String playerName) {
+    /**
+     * Adds a player to the team. Adding the same player twice has no effect.
+     * @param playerName The name of the player
+     */
+    public synchronized void addPlayer(String playerName) {
         players.add(playerName);
     }
 
@@ -20,7 +25,10 @@ public class Team {
         return name;
     }
 
-    public List<String> getPlayers() {
-        return players;
+    /**
+     * @return the players of the team in join order
+     */
+    public synchronized List<String> getPlayers() {
+        return List.copyOf(players);
     }
 }
@@ -0,0 +1,187 @@
+package dhbw.dgp;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import javax.swing.UIManager;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Transparent layer that shows short notifications in the lower right corner of a window. It is
+ * meant to be the glass pane: it has no mouse listeners, so clicks reach the components below,
+ * and it never blocks the host like a modal dialog does. Notifications fade out on their own;
+ * only the newest few are kept. Must be used on the event dispatch thread.
+ */
+public class ToastLayer extends JComponent {
+    private static final int MAX_TOASTS = 4;
+    private static final long DISPLAY_MILLIS = 4_000;
+    private static final long FADE_MILLIS = 500;
+    private static final int FRAME_MILLIS = 40;
+    private static final int WIDTH = 360;
+    private static final int MARGIN = 16;
+    private static final int PADDING = 10;
+
+    /**
+     * Kind of a notification, shown as the colour of its bar
+     */
+    public enum Kind {
+        INFO(new Color(0x1976D2)),
+        SUCCESS(new Color(0x388E3C)),
+        WARNING(new Color(0xF57C00)),
+        ERROR(new Color(0xD32F2F));
+
+        private final Color color;
+
+        Kind(Color color) {
+            this.color = color;
+        }
+    }
+
+    // Newest first
+    private final Deque<Toast> toasts = new ArrayDeque<>();
+    private final Timer fadeTimer;
+    private final Font titleFont;
+    private final Font messageFont;
+
+    public ToastLayer() {
+        setOpaque(false);
+        Font font = UIManager.getFont("Label.font");
+        this.titleFont = font.deriveFont(Font.BOLD, 14f);
+        this.messageFont = font.deriveFont(Font.PLAIN, 13f);
+        this.fadeTimer = new Timer(FRAME_MILLIS, e -> expire());
+    }
+
+    /**
+     * Shows a notification
+     * @param kind The kind, which selects the colour
+     * @param title Short title
+     * @param message The text, wrapped to the width of the notification
+     */
+    public void show(Kind kind, String title, String message) {
+        toasts.addFirst(new Toast(kind, title, message, System.currentTimeMillis()));
+        while (toasts.size() > MAX_TOASTS) {
+            toasts.removeLast();
+        }
+        setVisible(true);
+        fadeTimer.start();
+        repaintToasts();
+    }
+
+    private void expire() {
+        long now = System.currentTimeMillis();
+        while (!toasts.isEmpty() && now - toasts.peekLast().shownAt >= DISPLAY_MILLIS) {
+            toasts.removeLast();
+        }
+        if (toasts.isEmpty()) {
+            fadeTimer.stop();
+        }
+        repaintToasts();
+    }
+
+    /**
+     * Repaints the column in which toasts are shown, not the whole window
+     */
+    private void repaintToasts() {
+        repaint(Math.max(0, getWidth() - WIDTH - 2 * MARGIN), 0, WIDTH + 2 * MARGIN, getHeight());
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        if (toasts.isEmpty()) {
+            return;
+        }
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            long now = System.currentTimeMillis();
+            int width = Math.min(WIDTH, getWidth() - 2 * MARGIN);
+            int x = getWidth() - width - MARGIN;
+            int bottom = getHeight() - MARGIN;
+            for (Toast toast : toasts) {
+                List<String> lines = toast.lines(g.getFontMetrics(messageFont), width - 2 * PADDING - 6);
+                int titleHeight = g.getFontMetrics(titleFont).getHeight();
+                int lineHeight = g.getFontMetrics(messageFont).getHeight();
+                int height = 2 * PADDING + titleHeight + lines.size() * lineHeight;
+                int y = bottom - height;
+                if (y < MARGIN) {
+                    break;
+                }
+
+                long remaining = DISPLAY_MILLIS - (now - toast.shownAt);
+                float alpha = remaining >= FADE_MILLIS ? 1f : Math.max(0f, remaining / (float) FADE_MILLIS);
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha * 0.94f));
+                g.setColor(new Color(0x263238));
+                g.fillRoundRect(x, y, width, height, 12, 12);
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+                g.setColor(toast.kind.color);
+                g.fillRect(x, y + 6, 6, height - 12);
+
+                g.setColor(Color.WHITE);
+                g.setFont(titleFont);
+                int textX = x + PADDING + 6;
+                int baseline = y + PADDING + g.getFontMetrics().getAscent();
+                g.drawString(toast.title, textX, baseline);
+                g.setFont(messageFont);
+                baseline = y + PADDING + titleHeight + g.getFontMetrics().getAscent();
+                for (String line : lines) {
+                    g.drawString(line, textX, baseline);
+                    baseline += lineHeight;
+                }
+                bottom = y - 8;
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static final class Toast {
+        private final Kind kind;
+        private final String title;
+        private final String message;
+        private final long shownAt;
+        private List<String> lines;
+        private int wrappedWidth = -1;
+
+        Toast(Kind kind, String title, String message, long shownAt) {
+            this.kind = kind;
+            this.title = title == null ? "" : title;
+            this.message = message == null ? "" : message;
+            this.shownAt = shownAt;
+        }
+
+        /**
+         * @return the message wrapped at spaces to the given width; cached per width
+         */
+        List<String> lines(FontMetrics metrics, int width) {
+            if (width != wrappedWidth) {
+                wrappedWidth = width;
+                lines = new ArrayList<>();
+                StringBuilder line = new StringBuilder();
+                for (String word : message.split(" ")) {
+                    if (line.length() > 0 && metrics.stringWidth(line + " " + word) > width) {
+                        lines.add(line.toString());
+                        line.setLength(0);
+                    }
+                    if (line.length() > 0) {
+                        line.append(' ');
+                    }
+                    line.append(word);
+                }
+                if (line.length() > 0) {
+                    lines.add(line.toString());
+                }
+            }
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package dhbw.dgp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database backend that writes changed questions in the background. {@link #saveQuestions}
+ * only records the newest version of each question and returns at once; after the write window
+ * all changed questions are handed to the wrapped backend in one call per configuration. Edits
+ * of the same question within a window are coalesced into one write.
+ *
+ * <p>All writes to the wrapped backend run on one thread, so they keep their order. Full saves
+ * wait for their write, reads wait until pending questions are written.</p>
+ */
+public class WriteBehindDatabaseConnector implements DatabaseConnector {
+    private final DatabaseConnector delegate;
+    private final long windowMillis;
+    private final ScheduledExecutorService writer;
+    private final Object lock = new Object();
+
+    // configuration key -> newest version of every changed question
+    private Map<String, PendingQuestions> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private long receivedUpdates;
+    private long writtenUpdates;
+
+    /**
+     * @param delegate The backend that stores the data
+     * @param windowMillis Time in milliseconds between the first change and the write
+     */
+    public WriteBehindDatabaseConnector(DatabaseConnector delegate, long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("windowMillis must not be negative");
+        }
+        this.delegate = delegate;
+        this.windowMillis = windowMillis;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dgp-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<Configuration> loadConfigurations() {
+        flush();
+        return delegate.loadConfigurations();
+    }
+
+    @Override
+    public List<ConfigurationSummary> listConfigurations() {
+        // Question updates never change titles or counts
+        return delegate.listConfigurations();
+    }
+
+    @Override
+    public Configuration loadConfiguration(String title) {
+        flush();
+        return delegate.loadConfiguration(title);
+    }
+
+    /**
+     * Saves the whole configuration and waits until it is written. Pending question updates of
+     * the configuration are dropped, the configuration already contains them.
+     */
+    @Override
+    public void saveConfiguration(Configuration configuration) {
+        if (configuration == null) {
+            return;
+        }
+        String key = ConfigurationStore.normalizeTitle(configuration.getTitle());
+        await(writer.submit(() -> {
+            synchronized (lock) {
+                pending.remove(key);
+            }
+            delegate.saveConfiguration(configuration);
+        }));
+    }
+
+    /**
+     * Saves the whole configuration if the version still matches and waits until it is written.
+     * Pending question updates are only dropped if it was saved.
+     */
+    @Override
+    public long saveConfiguration(Configuration configuration, long expectedVersion) {
+        String key = ConfigurationStore.normalizeTitle(configuration.getTitle());
+        return await(writer.submit(() -> {
+            long version = delegate.saveConfiguration(configuration, expectedVersion);
+            if (version >= 0) {
+                synchronized (lock) {
+                    pending.remove(key);
+                }
+            }
+            return version;
+        }));
+    }
+
+    /**
+     * Pending question updates do not change the version, so this does not wait for them
+     */
+    @Override
+    public long getVersion(String title) {
+        return delegate.getVersion(title);
+    }
+
+    /**
+     * Queues the questions for the next write and returns at once. Updates for configurations that
+     * are not stored are dropped when written; they are persisted with the next full save.
+     * @return always true
+     */
+    @Override
+    public boolean saveQuestions(String title, List<QuestionUpdate> updates) {
+        String key = ConfigurationStore.normalizeTitle(title);
+        synchronized (lock) {
+            PendingQuestions questions = pending.computeIfAbsent(key, k -> new PendingQuestions(title));
+            for (QuestionUpdate update : updates) {
+                questions.updates.put(((long) update.categoryIndex() << 32) | (update.points() & 0xFFFFFFFFL), update);
+            }
+            receivedUpdates += updates.size();
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writer.schedule(this::writePending, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    /**
+     * Writes all pending question updates and waits until they are written
+     */
+    public void flush() {
+        boolean empty;
+        synchronized (lock) {
+            empty = pending.isEmpty();
+        }
+        if (!empty) {
+            await(writer.submit(this::writePending));
+        }
+    }
+
+    /**
+     * @return number of question updates received by {@link #saveQuestions}
+     */
+    public long getReceivedUpdateCount() {
+        synchronized (lock) {
+            return receivedUpdates;
+        }
+    }
+
+    /**
+     * @return number of question updates handed to the wrapped backend, after coalescing
+     */
+    public long getWrittenUpdateCount() {
+        synchronized (lock) {
+            return writtenUpdates;
+        }
+    }
+
+    /**
+     * Writes the pending updates, closes the writer thread and the wrapped backend
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.close();
+        }
+    }
+
+    /**
+     * Runs on the writer thread
+     */
+    private void writePending() {
+        Map<String, PendingQuestions> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+        for (PendingQuestions questions : batch.values()) {
+            try {
+                delegate.saveQuestions(questions.title, new ArrayList<>(questions.updates.values()));
+                synchronized (lock) {
+                    writtenUpdates += questions.updates.size();
+                }
+            } catch (RuntimeException ex) {
+                // Keep writing the other configurations; the edits stay in memory for the next full save
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, ex);
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Speichern wurde unterbrochen", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Changed questions of one configuration, keyed by category index and point value.
+     */
+    private static final class PendingQuestions {
+        private final String title;
+        private final Map<Long, QuestionUpdate> updates = new LinkedHashMap<>();
+
+        PendingQuestions(String title) {
+            this.title = title;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoEditingSessionTest {
+
+    private static Configuration configuration(String title) {
+        Map<Integer, Question> questions = new TreeMap<>();
+        questions.put(100, new Question("Hauptstadt von Italien?", List.of("Rom", "Mailand", "Turin", "Neapel"), 0));
+        questions.put(200, new Question("Längster Fluss Europas?", List.of("Wolga", "Donau"), 0));
+        Configuration configuration = new Configuration(title);
+        configuration.addCategory(new Category("Erdkunde", questions));
+        return configuration;
+    }
+
+    @Test
+    void editsOfDifferentFieldsAreMerged() {
+        CoEditingSession session = new CoEditingSession(configuration("Quiz"), null);
+        CoEditingSession.Editor first = session.openEditor();
+        CoEditingSession.Editor second = session.openEditor();
+        first.setQuestionInEditing(0, 100);
+        second.setQuestionInEditing(0, 100);
+
+        first.updateQuestionText("Hauptstadt Italiens?");
+        second.updateAnswer(3, "Florenz");
+        assertTrue(first.commit().isApplied());
+        CoEditingSession.EditResult merged = second.commit();
+
+        assertTrue(merged.isApplied());
+        PersistentQuestion newest = session.read(0, 100).question();
+        assertEquals("Hauptstadt Italiens?", newest.getPrompt());
+        assertEquals(List.of("Rom", "Mailand", "Turin", "Florenz"), newest.getAnswers());
+        assertEquals(3, session.read(0, 100).version());
+    }
+
+    @Test
+    void sameFieldChangedByBothIsAConflict() {
+        CoEditingSession session = new CoEditingSession(configuration("Quiz"), null);
+        CoEditingSession.Editor first = session.openEditor();
+        CoEditingSession.Editor second = session.openEditor();
+        first.setQuestionInEditing(0, 200);
+        second.setQuestionInEditing(0, 200);
+
+        first.updateAnswer(1, "Rhein");
+        second.updateAnswer(1, "Elbe");
+        second.setCorrectAnswerIndex(1);
+        assertTrue(first.commit().isApplied());
+        CoEditingSession.EditResult rejected = second.commit();
+
+        assertFalse(rejected.isApplied());
+        assertEquals(1, rejected.getConflicts().size());
+        CoEditingSession.Conflict conflict = rejected.getConflicts().get(0);
+        assertEquals("Antwort 2", conflict.field());
+        assertEquals("Donau", conflict.base());
+        assertEquals("Rhein", conflict.theirs());
+        assertEquals("Elbe", conflict.mine());
+        assertEquals("Rhein", session.read(0, 200).question().getAnswers().get(1));
+
+        // The draft is kept; after rebasing it replaces the other version
+        second.rebase();
+        assertTrue(second.commit().isApplied());
+        assertEquals("Elbe", session.read(0, 200).question().getCorrectAnswer());
+    }
+
+    /**
+     * Every author changes another answer of the same question from the same base version at the
+     * same time. All commits must merge and none may be lost.
+     */
+    @Test
+    void concurrentCommitsOfDifferentFieldsAllSurvive() throws Exception {
+        InMemoryDatabaseConnector database = new InMemoryDatabaseConnector();
+        database.saveConfiguration(configuration("Quiz"));
+        int authors = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(authors);
+        try {
+            for (int round = 0; round < 50; round++) {
+                CoEditingSession session = new CoEditingSession(configuration("Quiz"), database);
+                CoEditingSession.VersionedQuestion base = session.read(0, 100);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<CoEditingSession.EditResult>> commits = new ArrayList<>();
+                for (int a = 0; a < authors; a++) {
+                    PersistentQuestion edited = base.question().withAnswer(a, "Antwort " + round + "/" + a);
+                    commits.add(executor.submit(() -> {
+                        start.await();
+                        return session.commit(0, 100, base, edited);
+                    }));
+                }
+                start.countDown();
+
+                for (Future<CoEditingSession.EditResult> commit : commits) {
+                    assertTrue(commit.get().isApplied());
+                }
+                CoEditingSession.VersionedQuestion newest = session.read(0, 100);
+                assertEquals(1 + authors, newest.version());
+                for (int a = 0; a < authors; a++) {
+                    assertEquals("Antwort " + round + "/" + a, newest.question().getAnswers().get(a));
+                }
+                // The database receives the newest version, whatever order the commits were written in
+                assertEquals(newest.question().getAnswers(),
+                        database.loadConfiguration("Quiz").getCategories().get(0).getQuestion(100).getAnswers());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentCommitsOfTheSameFieldLetExactlyOneWin() throws Exception {
+        int authors = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(authors);
+        try {
+            for (int round = 0; round < 50; round++) {
+                CoEditingSession session = new CoEditingSession(configuration("Quiz"), null);
+                CoEditingSession.VersionedQuestion base = session.read(0, 200);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<CoEditingSession.EditResult>> commits = new ArrayList<>();
+                for (int a = 0; a < authors; a++) {
+                    PersistentQuestion edited = base.question().withPrompt("Fassung " + a);
+                    commits.add(executor.submit(() -> {
+                        start.await();
+                        return session.commit(0, 200, base, edited);
+                    }));
+                }
+                start.countDown();
+
+                String winner = null;
+                for (Future<CoEditingSession.EditResult> commit : commits) {
+                    CoEditingSession.EditResult result = commit.get();
+                    if (result.isApplied()) {
+                        assertNull(winner);
+                        winner = result.getQuestion().question().getPrompt();
+                    } else {
+                        assertEquals("Fragetext", result.getConflicts().get(0).field());
+                    }
+                }
+                assertEquals(winner, session.read(0, 200).question().getPrompt());
+                assertEquals(2, session.read(0, 200).version());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactQuestionStoreTest {
+
+    @Test
+    void viewsReadTheStoredQuestion() {
+        CompactQuestionStore store = new CompactQuestionStore();
+        int index = store.add(new Question("Hauptstadt von Österreich?", List.of("Wien", "Graz", "Linz"), 0));
+        int untitled = store.add(new Question(null, List.of("Ja", "Nein"), 1));
+
+        Question question = store.get(index);
+        assertEquals("Hauptstadt von Österreich?", question.getQuestion());
+        assertEquals(List.of("Wien", "Graz", "Linz"), question.getAnswers());
+        assertEquals(3, question.getNumberOfAnswers());
+        assertEquals(0, question.getCorrectAnswerIndex());
+        assertEquals("Wien", question.getCorrectAnswer());
+        assertNull(store.get(untitled).getQuestion());
+        assertEquals("Nein", store.get(untitled).getCorrectAnswer());
+        assertEquals(2, store.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(2));
+    }
+
+    @Test
+    void equalAnswersAreStoredOnce() {
+        CompactQuestionStore store = new CompactQuestionStore();
+        for (int i = 0; i < 100; i++) {
+            store.add(new Question("Frage " + i, List.of("Ja", "Nein"), i % 2));
+        }
+
+        // 100 prompts and the two shared answers
+        assertEquals(102, store.getDistinctTextCount());
+        assertEquals("Nein", store.get(99).getCorrectAnswer());
+    }
+
+    @Test
+    void editedPromptIsWrittenInPlaceWhenItFits() {
+        CompactQuestionStore store = new CompactQuestionStore();
+        Question question = store.get(store.add(new Question("Wie hoch ist die Zugspitze?", List.of("2962 m", "3798 m"), 0)));
+        int bytes = store.getTextBytes();
+
+        question.setQuestion("Wie hoch ist der Brocken?");
+        assertEquals("Wie hoch ist der Brocken?", question.getQuestion());
+        assertEquals(bytes, store.getTextBytes());
+
+        // A null prompt keeps its bytes for the next prompt
+        question.setQuestion(null);
+        assertNull(question.getQuestion());
+        question.setQuestion("Wie hoch ist die Zugspitze?");
+        assertEquals(bytes, store.getTextBytes());
+
+        question.setQuestion("Wie hoch ist die Zugspitze über dem Meer?");
+        assertEquals("Wie hoch ist die Zugspitze über dem Meer?", question.getQuestion());
+        assertTrue(store.getTextBytes() > bytes);
+        int grown = store.getTextBytes();
+        question.setQuestion("Wie hoch?");
+        assertEquals("Wie hoch?", question.getQuestion());
+        assertEquals(grown, store.getTextBytes());
+    }
+
+    @Test
+    void editedAnswersAreWrittenToTheStore() {
+        CompactQuestionStore store = new CompactQuestionStore();
+        int index = store.add(new Question("Farbe des Himmels?", List.of("Blau", "Grün"), 0));
+        Question question = store.get(index);
+        List<String> before = question.getAnswers();
+
+        question.setAnswer(1, "Rot");
+        question.setCorrectAnswerIndex(1);
+        assertEquals(List.of("Blau", "Rot"), store.get(index).getAnswers());
+        assertEquals("Rot", store.get(index).getCorrectAnswer());
+        // Lists handed out before keep their answers
+        assertEquals(List.of("Blau", "Grün"), before);
+
+        question.setAnswers(List.of("Grau", "Blau", "Schwarz"), 1);
+        assertEquals(List.of("Grau", "Blau", "Schwarz"), question.getAnswers());
+        assertEquals("Blau", question.getCorrectAnswer());
+        assertThrows(IllegalArgumentException.class, () -> question.setCorrectAnswerIndex(3));
+        assertThrows(IllegalArgumentException.class, () -> question.setAnswers(List.of(), 0));
+    }
+
+    @Test
+    void compactReplacesTheQuestionsOfAConfiguration() {
+        Map<Integer, Question> questions = new TreeMap<>();
+        questions.put(100, new Question("Erste Frage", List.of("Ja", "Nein"), 0));
+        questions.put(200, new Question("Zweite Frage", List.of("Ja", "Nein"), 1));
+        Configuration configuration = new Configuration("Quiz");
+        configuration.addCategory(new Category("Allgemein", questions));
+        CompactQuestionStore store = new CompactQuestionStore();
+
+        store.compact(configuration);
+        store.trimToSize();
+
+        Category category = configuration.getCategories().get(0);
+        assertEquals(2, store.size());
+        assertEquals("Zweite Frage", category.getQuestion(200).getQuestion());
+        category.getQuestion(100).setQuestion("Neue Frage");
+        assertEquals("Neue Frage", store.get(0).getQuestion());
+
+        Question copy = category.getQuestion(200).copy();
+        assertSame(Question.class, copy.getClass());
+        assertNotSame(category.getQuestion(200), copy);
+        assertEquals("Nein", copy.getCorrectAnswer());
+
+        // Adding after trimming grows the store again
+        store.add(new Question("Dritte Frage", List.of("Vielleicht"), 0));
+        assertEquals("Vielleicht", store.get(2).getCorrectAnswer());
+    }
+}
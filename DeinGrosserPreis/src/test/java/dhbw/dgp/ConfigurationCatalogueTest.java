@@ -0,0 +1,65 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConfigurationCatalogueTest {
+
+    private static Configuration configuration(String title, String prompt) {
+        Map<Integer, Question> questions = new TreeMap<>();
+        questions.put(100, new Question(prompt, List.of("Ja", "Nein"), 0));
+        Configuration configuration = new Configuration(title);
+        configuration.addCategory(new Category("Allgemein", questions));
+        return configuration;
+    }
+
+    @Test
+    void racingSavesKeepTheHighestVersion() throws Exception {
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            for (int round = 0; round < 50; round++) {
+                ConfigurationCatalogue catalogue = new ConfigurationCatalogue();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Long>> saves = new ArrayList<>();
+                for (int w = 0; w < writers; w++) {
+                    String prompt = "Frage " + w;
+                    saves.add(executor.submit(() -> {
+                        start.await();
+                        return catalogue.save(configuration("Quiz", prompt));
+                    }));
+                }
+                start.countDown();
+
+                long highest = 0;
+                for (Future<Long> save : saves) {
+                    highest = Math.max(highest, save.get());
+                }
+                assertEquals(highest, catalogue.get("quiz").version());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void versionCheckedSaveFailsAfterAnUncheckedSave() {
+        ConfigurationCatalogue catalogue = new ConfigurationCatalogue();
+        long first = catalogue.save(configuration("Quiz", "Erste"), ConfigurationCatalogue.ABSENT);
+        long second = catalogue.save(configuration("Quiz", "Zweite"));
+
+        assertEquals(-1, catalogue.save(configuration("Quiz", "Veraltet"), first));
+        assertEquals(-1, catalogue.save(configuration("Quiz", "Neu"), ConfigurationCatalogue.ABSENT));
+        assertEquals(second, catalogue.get("Quiz").version());
+    }
+}
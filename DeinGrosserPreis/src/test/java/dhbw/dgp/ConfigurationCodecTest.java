@@ -0,0 +1,131 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationCodecTest {
+
+    private static Configuration sample(String title) {
+        Map<Integer, Question> questions = new TreeMap<>();
+        questions.put(100, new Question("Ist das eine Frage?", List.of("Ja", "Nein"), 0));
+        // Point values around the varint boundaries, negative ones use zigzag encoding
+        questions.put(-1, new Question("Strafpunkte", List.of("Ja", "Nein"), 1));
+        questions.put(63, new Question("63", List.of("a"), 0));
+        questions.put(64, new Question("64", List.of("a"), 0));
+        questions.put(8_192, new Question("8192", List.of("a"), 0));
+        questions.put(Integer.MAX_VALUE, new Question("Maximum", List.of("a", "b"), 1));
+        questions.put(Integer.MIN_VALUE, new Question(null, List.of("Größe", "Maß", "🎲"), 2));
+        Configuration configuration = new Configuration(title);
+        configuration.addCategory(new Category("Allgemein", questions));
+        configuration.addCategory(new Category(null, new TreeMap<>()));
+        return configuration;
+    }
+
+    private static void assertSameContent(Configuration expected, Configuration actual) {
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getCategories().size(), actual.getCategories().size());
+        for (int c = 0; c < expected.getCategories().size(); c++) {
+            Category expectedCategory = expected.getCategories().get(c);
+            Category actualCategory = actual.getCategories().get(c);
+            assertEquals(expectedCategory.getName(), actualCategory.getName());
+            assertEquals(expectedCategory.getPointValues(), actualCategory.getPointValues());
+            for (int points : expectedCategory.getPointValues()) {
+                Question expectedQuestion = expectedCategory.getQuestion(points);
+                Question actualQuestion = actualCategory.getQuestion(points);
+                assertEquals(expectedQuestion.getQuestion(), actualQuestion.getQuestion());
+                assertEquals(expectedQuestion.getAnswers(), actualQuestion.getAnswers());
+                assertEquals(expectedQuestion.getCorrectAnswerIndex(), actualQuestion.getCorrectAnswerIndex());
+            }
+        }
+    }
+
+    @Test
+    void singleConfigurationRoundTrip() {
+        Configuration configuration = sample("Quiz");
+        ByteBuffer buffer = ByteBuffer.wrap(ConfigurationCodec.encode(configuration));
+
+        assertSameContent(configuration, ConfigurationCodec.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void missingTitleStaysNull() {
+        Configuration decoded = ConfigurationCodec.decode(ByteBuffer.wrap(ConfigurationCodec.encode(sample(null))));
+
+        assertNull(decoded.getTitle());
+    }
+
+    @Test
+    void directBufferRoundTrip() {
+        Configuration configuration = sample("Direkt");
+        byte[] encoded = ConfigurationCodec.encode(configuration);
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length);
+        direct.put(encoded).flip();
+
+        assertSameContent(configuration, ConfigurationCodec.decode(direct));
+    }
+
+    @Test
+    void severalConfigurationsShareTheStringTable() {
+        List<Configuration> configurations = List.of(sample("Eins"), sample("Zwei"), sample("Drei"));
+        byte[] single = ConfigurationCodec.encode(configurations.get(0));
+        byte[] all = ConfigurationCodec.encode(configurations);
+
+        List<Configuration> decoded = ConfigurationCodec.decodeAll(ByteBuffer.wrap(all));
+
+        assertEquals(3, decoded.size());
+        for (int i = 0; i < 3; i++) {
+            assertSameContent(configurations.get(i), decoded.get(i));
+        }
+        // Only the titles are new strings, so the shared encoding is far smaller than three single ones
+        assertTrue(all.length < 2 * single.length);
+        // Equal answers of decoded questions are the same string instance
+        Category category = decoded.get(1).getCategories().get(0);
+        assertSame(category.getQuestion(100).getAnswers().get(0), category.getQuestion(-1).getAnswers().get(0));
+    }
+
+    @Test
+    void varIntsAreReadLittleEndianInGroupsOfSevenBits() {
+        assertEquals(0, ConfigurationCodec.readVarInt(ByteBuffer.wrap(new byte[] {0})));
+        assertEquals(127, ConfigurationCodec.readVarInt(ByteBuffer.wrap(new byte[] {0x7F})));
+        assertEquals(300, ConfigurationCodec.readVarInt(ByteBuffer.wrap(new byte[] {(byte) 0xAC, 0x02})));
+        assertEquals(-1, ConfigurationCodec.readVarInt(ByteBuffer.wrap(
+                new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F})));
+        assertThrows(IllegalArgumentException.class, () -> ConfigurationCodec.readVarInt(ByteBuffer.wrap(
+                new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01})));
+    }
+
+    @Test
+    void damagedDataIsRejected() {
+        byte[] encoded = ConfigurationCodec.encode(sample("Quiz"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ConfigurationCodec.decode(ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length - 3))));
+
+        byte[] wrongMagic = encoded.clone();
+        wrongMagic[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> ConfigurationCodec.decode(ByteBuffer.wrap(wrongMagic)));
+
+        byte[] wrongVersion = encoded.clone();
+        wrongVersion[4] = (byte) (ConfigurationCodec.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> ConfigurationCodec.decode(ByteBuffer.wrap(wrongVersion)));
+
+        byte[] hugeStringCount = Arrays.copyOf(encoded, 10);
+        hugeStringCount[5] = (byte) 0xFF;
+        hugeStringCount[6] = (byte) 0xFF;
+        hugeStringCount[7] = 0x7F;
+        assertThrows(IllegalArgumentException.class, () -> ConfigurationCodec.decode(ByteBuffer.wrap(hugeStringCount)));
+    }
+}
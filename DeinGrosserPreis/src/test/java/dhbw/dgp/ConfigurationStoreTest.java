@@ -0,0 +1,170 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static Configuration configuration(String title, String prompt) {
+        Map<Integer, Question> questions = new TreeMap<>();
+        questions.put(100, new Question(prompt, List.of("Ja", "Nein"), 0));
+        questions.put(200, new Question("Zweite Frage", List.of("A", "B", "C"), 2));
+        Configuration configuration = new Configuration(title);
+        configuration.addCategory(new Category("Allgemein", questions));
+        return configuration;
+    }
+
+    @Test
+    void savedConfigurationsSurviveReopen() throws IOException {
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            store.put(configuration("Quiz A", "Frage A"));
+            store.put(configuration("Quiz B", "Frage B"));
+            store.put(configuration("quiz a ", "Frage A, neu"));
+        }
+
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            assertEquals(2, store.size());
+            Configuration quizA = store.get("Quiz A");
+            assertEquals("Frage A, neu", quizA.getCategories().get(0).getQuestion(100).getQuestion());
+            Question second = store.get("Quiz B").getCategories().get(0).getQuestion(200);
+            assertEquals(List.of("A", "B", "C"), second.getAnswers());
+            assertEquals("C", second.getCorrectAnswer());
+        }
+    }
+
+    @Test
+    void configurationWithoutTitleDoesNotHideLaterRecords() throws IOException {
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            store.put(configuration(null, "Ohne Titel"));
+            store.put(configuration("Danach", "Frage"));
+        }
+
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            assertEquals(2, store.size());
+            Configuration untitled = store.get(null);
+            assertNull(untitled.getTitle());
+            assertEquals("Ohne Titel", untitled.getCategories().get(0).getQuestion(100).getQuestion());
+            assertNotNull(store.get("Danach"));
+        }
+    }
+
+    @Test
+    void tornRecordAtTheEndIsCutOff() throws IOException {
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            store.put(configuration("Quiz", "Frage"));
+        }
+        Path segment = segmentFiles().get(0);
+        long intactSize = Files.size(segment);
+        // Length prefix of a record whose body never made it to disk
+        Files.write(segment, new byte[] {0, 0, 1, 0, 1, 2, 3, 4, 0, 0, 0, 4}, StandardOpenOption.APPEND);
+
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            assertEquals(1, store.size());
+            assertEquals(intactSize, Files.size(segment));
+            store.put(configuration("Neu", "Frage"));
+        }
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            assertEquals(2, store.size());
+            assertNotNull(store.get("Neu"));
+        }
+    }
+
+    @Test
+    void recordWithWrongChecksumIsNotRead() throws IOException {
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            store.put(configuration("Quiz A", "Frage A"));
+            store.put(configuration("Quiz B", "Frage B"));
+            Path segment = segmentFiles().get(0);
+            byte[] bytes = Files.readAllBytes(segment);
+            // Flip a bit in the last byte, which belongs to the body of the second record
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(segment, bytes);
+
+            assertThrows(UncheckedIOException.class, () -> store.get("Quiz B"));
+            assertNotNull(store.get("Quiz A"));
+        }
+
+        // The damaged record is at the end of the active segment, so reopening cuts it off
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            assertEquals(1, store.size());
+            assertNull(store.get("Quiz B"));
+        }
+    }
+
+    @Test
+    void versionCheckedSaveFailsAfterAnotherSave() throws IOException {
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            assertEquals(-1, store.put(configuration("Quiz", "Frage"), 42));
+            long created = store.put(configuration("Quiz", "Frage"), ConfigurationCatalogue.ABSENT);
+            assertEquals(created, store.getVersion("quiz"));
+            assertEquals(-1, store.put(configuration("Quiz", "Doppelt"), ConfigurationCatalogue.ABSENT));
+
+            // Changing single parts keeps the version, a full save does not
+            assertTrue(store.update("Quiz", configuration -> configuration));
+            assertEquals(created, store.getVersion("Quiz"));
+            store.put(configuration("Quiz", "Von jemand anderem"));
+
+            assertEquals(-1, store.put(configuration("Quiz", "Veraltet"), created));
+            assertEquals("Von jemand anderem", store.get("Quiz").getCategories().get(0).getQuestion(100).getQuestion());
+            assertTrue(store.put(configuration("Quiz", "Aktuell"), store.getVersion("Quiz")) > created);
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyTheNewestVersions() throws IOException {
+        // Large prompts fill the 4 MiB segments quickly: about 14 records per segment
+        String filler = "x".repeat(300_000);
+        int titles = 5;
+        int versions = 7;
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            for (int version = 0; version < versions; version++) {
+                for (int t = 0; t < titles; t++) {
+                    store.put(configuration("Quiz " + t, version + filler));
+                }
+            }
+            int segmentsBefore = segmentFiles().size();
+            store.compact();
+
+            assertEquals(segmentsBefore - 1, segmentFiles().size());
+            assertEquals(titles, store.size());
+            for (int t = 0; t < titles; t++) {
+                assertEquals((versions - 1) + filler,
+                        store.get("Quiz " + t).getCategories().get(0).getQuestion(100).getQuestion());
+            }
+        }
+
+        // Reopening reads the hint file of the merged segment
+        try (ConfigurationStore store = new ConfigurationStore(directory)) {
+            assertEquals(titles, store.size());
+            for (int t = 0; t < titles; t++) {
+                assertEquals((versions - 1) + filler,
+                        store.get("Quiz " + t).getCategories().get(0).getQuestion(100).getQuestion());
+            }
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfiguratorOverviewTest {
+
+    @TempDir
+    Path directory;
+
+    private static Configuration configuration(String title, String prompt) {
+        Map<Integer, Question> questions = new TreeMap<>();
+        questions.put(100, new Question(prompt, List.of("Ja", "Nein"), 0));
+        Configuration configuration = new Configuration(title);
+        configuration.addCategory(new Category("Allgemein", questions));
+        return configuration;
+    }
+
+    private static String firstPrompt(Configuration configuration) {
+        return configuration.getCategories().get(0).getQuestion(100).getQuestion();
+    }
+
+    @Test
+    void importDoesNotReplaceStoredConfigurations() throws IOException {
+        InMemoryDatabaseConnector database = new InMemoryDatabaseConnector();
+        database.saveConfiguration(configuration("Erdkunde", "Gespeicherte Frage"));
+        ConfiguratorOverview overview = new ConfiguratorOverview(database);
+
+        // Rows without a configuration column take the file name as title
+        Path file = directory.resolve("Erdkunde.csv");
+        Files.writeString(file, """
+                category;points;question;answer1;answer2;correct
+                Flüsse;100;Längster Fluss Deutschlands?;Rhein;Elbe;0
+                """);
+        QuestionImporter.ImportResult result = overview.importQuestionBank(file);
+
+        assertEquals(List.of("Erdkunde"), result.getExistingTitles());
+        assertEquals("Gespeicherte Frage", firstPrompt(database.loadConfiguration("Erdkunde")));
+
+        Path other = directory.resolve("Geschichte.csv");
+        Files.writeString(other, """
+                category;points;question;answer1;answer2;correct
+                Antike;100;Erster römischer Kaiser?;Augustus;Caesar;0
+                """);
+        result = overview.importQuestionBank(other);
+
+        assertTrue(result.getExistingTitles().isEmpty());
+        assertEquals("Erster römischer Kaiser?", firstPrompt(database.loadConfiguration("Geschichte")));
+    }
+
+    @Test
+    void newConfigurationDoesNotReplaceAStoredOneWithItsTitle() {
+        InMemoryDatabaseConnector database = new InMemoryDatabaseConnector();
+        database.saveConfiguration(configuration("Erdkunde", "Gespeicherte Frage"));
+        ConfiguratorOverview overview = new ConfiguratorOverview(database);
+
+        Configuration created = overview.createNewConfiguration("Erdkunde", 3).getConfiguration();
+        assertFalse(overview.saveConfigurationToDatabase());
+
+        // Still unsaved after switching away and back
+        overview.setCurrentConfiguration(null);
+        overview.editConfiguration(created);
+        assertFalse(overview.saveConfigurationToDatabase());
+        assertEquals("Gespeicherte Frage", firstPrompt(database.loadConfiguration("Erdkunde")));
+
+        created.setTitle("Erdkunde 2");
+        assertTrue(overview.saveConfigurationToDatabase());
+        assertEquals(2, database.listConfigurations().size());
+    }
+
+    @Test
+    void coEditingCommitsAgainstTheVersionEditingStartedFrom() throws Exception {
+        InMemoryDatabaseConnector database = new InMemoryDatabaseConnector();
+        database.saveConfiguration(configuration("Gemeinsam", "Frage"));
+        ConfiguratorOverview mine = new ConfiguratorOverview(database);
+        ConfiguratorOverview theirs = new ConfiguratorOverview(database);
+        mine.openConfiguration("Gemeinsam");
+        theirs.openConfiguration("Gemeinsam");
+        mine.openCoEditingSession();
+        theirs.openCoEditingSession();
+        List<CoEditingSession.Conflict> conflicts = new ArrayList<>();
+        mine.setConflictListener(conflicts::addAll);
+        try {
+            Category myCategory = mine.getCurrentConfiguration().getCategories().get(0);
+            Category theirCategory = theirs.getCurrentConfiguration().getCategories().get(0);
+            QuestionEditor myEditor = mine.createQuestionEditor();
+            QuestionEditor theirEditor = theirs.createQuestionEditor();
+            myEditor.setQuestionInEditing(myCategory, 100);
+            theirEditor.setQuestionInEditing(theirCategory, 100);
+
+            theirEditor.updateQuestionText("Ihre Frage");
+            myEditor.updateQuestionText("Meine Frage");
+
+            assertEquals(1, conflicts.size());
+            assertEquals("Fragetext", conflicts.get(0).field());
+            assertEquals("Ihre Frage", firstPrompt(database.loadConfiguration("Gemeinsam")));
+            // Their commit reaches my configuration on the EDT
+            SwingUtilities.invokeAndWait(() -> { });
+            assertEquals("Ihre Frage", myCategory.getQuestion(100).getQuestion());
+
+            // A field only I changed is merged into their version
+            myEditor.updateAnswer(1, "Vielleicht");
+            assertEquals(1, conflicts.size());
+            SwingUtilities.invokeAndWait(() -> { });
+            assertEquals(List.of("Ja", "Vielleicht"), theirCategory.getQuestion(100).getAnswers());
+            assertEquals("Ihre Frage", theirCategory.getQuestion(100).getQuestion());
+        } finally {
+            mine.closeCoEditingSession();
+            theirs.closeCoEditingSession();
+        }
+    }
+}
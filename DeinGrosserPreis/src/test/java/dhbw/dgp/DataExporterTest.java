@@ -0,0 +1,107 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DataExporterTest {
+
+    private static List<Configuration> configurations() {
+        Map<Integer, Question> animals = new TreeMap<>();
+        animals.put(100, new Question("Welches Tier bellt?", List.of("Katze", "Hund"), 1));
+        // An empty answer before the correct one must not shift the index
+        animals.put(200, new Question("Wie viele Beine hat eine Spinne?", List.of("6", "", "8"), 2));
+        animals.put(300, new Question("Sechs Antworten", List.of("a", "b", "c", "d", "e", "f"), 5));
+        Map<Integer, Question> quotes = new TreeMap<>();
+        quotes.put(100, new Question("Wer sagte \"Ich denke; also bin ich\"?", List.of("Descartes", "Kant"), 0));
+        quotes.put(500, new Question("Zwei\nZeilen", List.of("Ja", "Nein, \"nie\""), 1));
+
+        Configuration first = new Configuration("Quiz A");
+        first.addCategory(new Category("Tiere", animals));
+        first.addCategory(new Category("Zitate", quotes));
+        Map<Integer, Question> places = new TreeMap<>();
+        places.put(100, new Question("Hauptstadt von Frankreich?", List.of("Paris", "Lyon", "Nizza"), 0));
+        Configuration second = new Configuration("Quiz B");
+        second.addCategory(new Category("Orte", places));
+        return List.of(first, second);
+    }
+
+    private static void assertSameContent(List<Configuration> expected, List<Configuration> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int c = 0; c < expected.size(); c++) {
+            assertEquals(expected.get(c).getTitle(), actual.get(c).getTitle());
+            List<Category> expectedCategories = expected.get(c).getCategories();
+            List<Category> actualCategories = actual.get(c).getCategories();
+            assertEquals(expectedCategories.size(), actualCategories.size());
+            for (int k = 0; k < expectedCategories.size(); k++) {
+                Category expectedCategory = expectedCategories.get(k);
+                Category actualCategory = actualCategories.get(k);
+                assertEquals(expectedCategory.getName(), actualCategory.getName());
+                assertEquals(expectedCategory.getPointValues(), actualCategory.getPointValues());
+                for (int points : expectedCategory.getPointValues()) {
+                    Question expectedQuestion = expectedCategory.getQuestion(points);
+                    Question actualQuestion = actualCategory.getQuestion(points);
+                    assertEquals(expectedQuestion.getQuestion(), actualQuestion.getQuestion());
+                    assertEquals(expectedQuestion.getAnswers(), actualQuestion.getAnswers());
+                    assertEquals(expectedQuestion.getCorrectAnswerIndex(), actualQuestion.getCorrectAnswerIndex());
+                }
+            }
+        }
+    }
+
+    private static String export(DataExporter.Format format, List<Configuration> configurations) throws IOException {
+        StringWriter writer = new StringWriter();
+        new DataExporter(format).exportConfigurations(configurations, writer);
+        return writer.toString();
+    }
+
+    @Test
+    void csvExportCanBeImportedAgain() throws IOException {
+        String csv = export(DataExporter.Format.CSV, configurations());
+
+        QuestionImporter.ImportResult result = new QuestionImporter().importCsv(new StringReader(csv), "Import");
+
+        assertFalse(result.hasErrors(), () -> result.getErrors().toString());
+        assertSameContent(configurations(), result.getConfigurations());
+    }
+
+    @Test
+    void jsonExportCanBeImportedAgain() throws IOException {
+        String json = export(DataExporter.Format.JSON, configurations());
+
+        QuestionImporter.ImportResult result = new QuestionImporter().importJson(new StringReader(json), "Import");
+
+        assertFalse(result.hasErrors(), () -> result.getErrors().toString());
+        assertSameContent(configurations(), result.getConfigurations());
+    }
+
+    @Test
+    void gameResultListsStandingsAndOutcomes() throws IOException {
+        GameManager gameManager = new GameManager();
+        gameManager.loadGame(configurations().get(1));
+        gameManager.createTeam("Rot");
+        gameManager.createTeam("Blau");
+        Category places = gameManager.getConfiguration().getCategories().get(0);
+        gameManager.answerQuestion(places, 100, gameManager.getTeams().get(1), "Paris");
+
+        StringWriter writer = new StringWriter();
+        new DataExporter(DataExporter.Format.CSV).exportGameResult(gameManager, writer);
+
+        assertEquals("""
+                rank;team;points
+                1;Blau;100
+                2;Rot;0
+
+                number;category;points;team;correct;awarded
+                1;Orte;100;Blau;true;100
+                """, writer.toString());
+    }
+}
@@ -0,0 +1,50 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileDatabaseConnectorTest {
+
+    @TempDir
+    Path directory;
+
+    private static Configuration configuration(String title) {
+        Map<Integer, Question> questions = new TreeMap<>();
+        questions.put(100, new Question("Frage", List.of("Ja", "Nein"), 0));
+        Configuration configuration = new Configuration(title);
+        configuration.addCategory(new Category("Allgemein", questions));
+        return configuration;
+    }
+
+    private static boolean isUntitled(String title) {
+        return title == null || title.isEmpty();
+    }
+
+    @Test
+    void untitledConfigurationsAreListedFirst() {
+        try (FileDatabaseConnector connector = new FileDatabaseConnector(directory)) {
+            connector.saveConfiguration(configuration("Zoo"));
+            connector.saveConfiguration(configuration(null));
+            connector.saveConfiguration(configuration("Alpen"));
+
+            List<Configuration> configurations = connector.loadConfigurations();
+            assertEquals(3, configurations.size());
+            assertTrue(isUntitled(configurations.get(0).getTitle()));
+            assertEquals("Alpen", configurations.get(1).getTitle());
+            assertEquals("Zoo", configurations.get(2).getTitle());
+
+            List<ConfigurationSummary> summaries = connector.listConfigurations();
+            assertEquals(3, summaries.size());
+            assertTrue(isUntitled(summaries.get(0).getTitle()));
+            assertEquals("Alpen", summaries.get(1).getTitle());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameSimulatorTest {
+
+    private static List<BotProfile> bots() {
+        BotProfile careful = new BotProfile("Vorsichtig", 0.8, BotProfile.Strategy.LOWEST_POINTS);
+        BotProfile bold = new BotProfile("Mutig", 0.5, BotProfile.Strategy.HIGHEST_POINTS);
+        BotProfile random = new BotProfile("Zufall", 0.6, BotProfile.Strategy.RANDOM);
+        random.setCategoryAccuracy("Geografie", 0.9);
+        return List.of(careful, bold, random);
+    }
+
+    private static void assertSameResult(GameSimulator.SimulationResult expected, GameSimulator.SimulationResult actual) {
+        assertEquals(expected.getGames(), actual.getGames());
+        assertEquals(expected.getTies(), actual.getTies());
+        assertEquals(expected.getComebackRate(), actual.getComebackRate());
+        assertEquals(expected.getAverageWinningMargin(), actual.getAverageWinningMargin());
+        for (int t = 0; t < 3; t++) {
+            assertEquals(expected.getWins(t), actual.getWins(t));
+            assertEquals(expected.getAveragePoints(t), actual.getAveragePoints(t));
+        }
+    }
+
+    @Test
+    void sameSeedGivesTheSameResult() {
+        Configuration configuration = SampleConfigurations.createSampleConfiguration();
+        GameSimulator.SimulationResult first = new GameSimulator(configuration, bots()).run(5_000, 42);
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        try {
+            // The split into tasks depends only on the number of games, not on the pool
+            GameSimulator.SimulationResult second = new GameSimulator(configuration, bots(), singleThread).run(5_000, 42);
+            assertSameResult(first, second);
+        } finally {
+            singleThread.shutdown();
+        }
+        assertEquals(5_000, first.getGames());
+    }
+
+    @Test
+    void perfectBotWinsEveryGame() {
+        List<BotProfile> bots = List.of(
+                new BotProfile("Perfekt", 1.0, BotProfile.Strategy.BEST_EXPECTED_VALUE),
+                new BotProfile("Ahnungslos", 0.0, BotProfile.Strategy.RANDOM));
+
+        GameSimulator.SimulationResult result = new GameSimulator(SampleConfigurations.createSampleConfiguration(), bots)
+                .run(2_000, 7);
+
+        assertEquals(2_000, result.getWins(0));
+        assertEquals(0, result.getWins(1));
+    }
+
+    @Test
+    void duplicateBotNamesAreRejected() {
+        List<BotProfile> bots = List.of(
+                new BotProfile("Rot", 0.5, BotProfile.Strategy.RANDOM),
+                new BotProfile(" rot", 0.9, BotProfile.Strategy.RANDOM));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameSimulator(SampleConfigurations.createSampleConfiguration(), bots));
+    }
+}
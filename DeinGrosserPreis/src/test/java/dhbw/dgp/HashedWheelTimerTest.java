@@ -0,0 +1,111 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTest {
+
+    @Test
+    void timeoutExpiresNotBeforeItsDelay() throws InterruptedException {
+        try (HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8)) {
+            CountDownLatch fired = new CountDownLatch(1);
+            long start = System.nanoTime();
+            HashedWheelTimer.Timeout timeout = timer.schedule(fired::countDown, 60, TimeUnit.MILLISECONDS);
+
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(60));
+            assertTrue(timeout.isExpired());
+            assertFalse(timeout.cancel());
+        }
+    }
+
+    @Test
+    void delaysLongerThanOneRoundWaitForTheirRound() throws InterruptedException {
+        // 8 buckets of 5 ms: the wheel turns every 40 ms
+        try (HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8)) {
+            CountDownLatch fired = new CountDownLatch(2);
+            long start = System.nanoTime();
+            long[] firedAfter = new long[2];
+            timer.schedule(() -> {
+                firedAfter[0] = System.nanoTime() - start;
+                fired.countDown();
+            }, 10, TimeUnit.MILLISECONDS);
+            timer.schedule(() -> {
+                firedAfter[1] = System.nanoTime() - start;
+                fired.countDown();
+            }, 130, TimeUnit.MILLISECONDS);
+
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+            assertTrue(firedAfter[1] >= TimeUnit.MILLISECONDS.toNanos(130));
+            assertTrue(firedAfter[0] < firedAfter[1]);
+        }
+    }
+
+    @Test
+    void cancelledTimeoutNeverRuns() throws InterruptedException {
+        try (HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8)) {
+            AtomicBoolean ran = new AtomicBoolean();
+            HashedWheelTimer.Timeout cancelled = timer.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+            CountDownLatch later = new CountDownLatch(1);
+            timer.schedule(later::countDown, 60, TimeUnit.MILLISECONDS);
+
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel());
+            assertTrue(later.await(5, TimeUnit.SECONDS));
+            assertFalse(ran.get());
+            assertTrue(cancelled.isCancelled());
+        }
+    }
+
+    /**
+     * The countdown of a question and an answer race like this: whoever wins decides who gets
+     * the points, so exactly one of them may succeed for every question.
+     */
+    @Test
+    void expiryAndRacingCancelNeverBothWin() throws InterruptedException {
+        int questions = 2_000;
+        try (HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 16)) {
+            AtomicInteger[] expired = new AtomicInteger[questions];
+            List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>(questions);
+            for (int q = 0; q < questions; q++) {
+                AtomicInteger counter = new AtomicInteger();
+                expired[q] = counter;
+                timeouts.add(timer.schedule(counter::incrementAndGet, q % 5, TimeUnit.MILLISECONDS));
+            }
+            boolean[] answered = new boolean[questions];
+            Thread answering = new Thread(() -> {
+                for (int q = 0; q < questions; q++) {
+                    answered[q] = timeouts.get(q).cancel();
+                }
+            });
+            answering.start();
+            answering.join();
+
+            CountDownLatch drained = new CountDownLatch(1);
+            timer.schedule(drained::countDown, 20, TimeUnit.MILLISECONDS);
+            assertTrue(drained.await(5, TimeUnit.SECONDS));
+            for (int q = 0; q < questions; q++) {
+                assertEquals(answered[q] ? 0 : 1, expired[q].get(), "question " + q);
+            }
+        }
+    }
+
+    @Test
+    void stoppedTimerRejectsNewTimeouts() {
+        HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+        timer.stop();
+
+        assertThrows(IllegalStateException.class, () -> timer.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,144 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PointsManagerTest {
+
+    @Test
+    void addPointsAccumulates() {
+        PointsManager pointsManager = new PointsManager();
+        Team team = new Team("Rot");
+        pointsManager.addTeam(team);
+
+        pointsManager.addPoints(team, 20);
+        pointsManager.addPoints(team, 30);
+
+        assertEquals(50, pointsManager.getPoints(team));
+    }
+
+    @Test
+    void updatePointsReplacesTheScore() {
+        PointsManager pointsManager = new PointsManager();
+        Team team = new Team("Rot");
+        pointsManager.addPoints(team, 40);
+
+        pointsManager.updatePoints(team, 10);
+
+        assertEquals(10, pointsManager.getPoints(team));
+    }
+
+    @Test
+    void addTeamResetsAnExistingTeam() {
+        PointsManager pointsManager = new PointsManager();
+        Team team = new Team("Rot");
+        pointsManager.addPoints(team, 40);
+
+        pointsManager.addTeam(team);
+
+        assertEquals(0, pointsManager.getPoints(team));
+    }
+
+    @Test
+    void unknownTeamHasNoPoints() {
+        assertEquals(0, new PointsManager().getPoints(new Team("Blau")));
+    }
+
+    @Test
+    void leaderboardIsSortedByPointsThenByJoinOrder() {
+        PointsManager pointsManager = new PointsManager();
+        Team red = new Team("Rot");
+        Team blue = new Team("Blau");
+        Team green = new Team("Grün");
+        pointsManager.addTeam(red);
+        pointsManager.addTeam(blue);
+        pointsManager.addTeam(green);
+        pointsManager.addPoints(blue, 30);
+        pointsManager.addPoints(green, 10);
+        pointsManager.addPoints(red, 10);
+
+        List<Map.Entry<Team, Integer>> leaderboard = pointsManager.getLeaderboard();
+
+        assertEquals(List.of(blue, red, green), leaderboard.stream().map(Map.Entry::getKey).toList());
+        assertEquals(List.of(30, 10, 10), leaderboard.stream().map(Map.Entry::getValue).toList());
+    }
+
+    @Test
+    void concurrentScoringLosesNoPoints() throws Exception {
+        PointsManager pointsManager = new PointsManager();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Team team = new Team("Team " + i);
+            teams.add(team);
+            pointsManager.addTeam(team);
+        }
+        int threads = 8;
+        int additionsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Team team = teams.get(t % teams.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < additionsPerThread; i++) {
+                    pointsManager.addPoints(team, 1);
+                }
+                return null;
+            }));
+        }
+        // Snapshots taken while scoring runs must never block or see more than was added
+        futures.add(executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < 1_000; i++) {
+                for (Map.Entry<Team, Integer> entry : pointsManager.getLeaderboard()) {
+                    assertTrue(entry.getValue() <= 2 * additionsPerThread);
+                }
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (Team team : teams) {
+            assertEquals(2 * additionsPerThread, pointsManager.getPoints(team));
+        }
+        assertEquals(Map.of(teams.get(0), 40_000, teams.get(1), 40_000, teams.get(2), 40_000, teams.get(3), 40_000),
+                pointsManager.getAllTeamPoints());
+    }
+
+    @Test
+    void teamsCanJoinWhileOthersScore() throws Exception {
+        PointsManager pointsManager = new PointsManager();
+        Team scorer = new Team("Scorer");
+        pointsManager.addTeam(scorer);
+        Thread scoring = new Thread(() -> {
+            for (int i = 0; i < 50_000; i++) {
+                pointsManager.addPoints(scorer, 1);
+            }
+        });
+        scoring.start();
+        for (int i = 0; i < 100; i++) {
+            pointsManager.addTeam(new Team("Neu " + i));
+        }
+        scoring.join();
+
+        assertEquals(50_000, pointsManager.getPoints(scorer));
+        assertEquals(101, pointsManager.getLeaderboard().size());
+    }
+}
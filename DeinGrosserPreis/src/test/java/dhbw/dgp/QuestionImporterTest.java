@@ -0,0 +1,145 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionImporterTest {
+
+    private static QuestionImporter.ImportResult importCsv(String csv) throws IOException {
+        return new QuestionImporter().importCsv(new StringReader(csv), "Import");
+    }
+
+    private static QuestionImporter.ImportResult importJson(String json) throws IOException {
+        return new QuestionImporter().importJson(new StringReader(json), "Import");
+    }
+
+    private static Question onlyQuestion(QuestionImporter.ImportResult result) {
+        assertEquals(1, result.getConfigurations().size());
+        Category category = result.getConfigurations().get(0).getCategories().get(0);
+        assertEquals(1, category.getQuestionCount());
+        return category.getQuestionAt(0);
+    }
+
+    @Test
+    void csvRowsAreGroupedByConfigurationAndCategory() throws IOException {
+        QuestionImporter.ImportResult result = importCsv("""
+                configuration;category;points;question;answer1;answer2;correct
+                Quiz;Tiere;100;Wie viele Beine hat eine Spinne?;6;8;1
+                Quiz;Tiere;200;Welches Tier bellt?;Hund;Katze;0
+                Quiz;Orte;100;Hauptstadt von Frankreich?;Paris;Lyon;0
+                """);
+
+        assertFalse(result.hasErrors());
+        assertEquals(3, result.getImportedQuestions());
+        Configuration quiz = result.getConfigurations().get(0);
+        assertEquals("Quiz", quiz.getTitle());
+        assertEquals(List.of("Tiere", "Orte"), quiz.getCategories().stream().map(Category::getName).toList());
+        assertEquals("8", quiz.getCategories().get(0).getQuestion(100).getCorrectAnswer());
+    }
+
+    @Test
+    void trailingEmptyAnswerColumnsAreDropped() throws IOException {
+        Question question = onlyQuestion(importCsv("""
+                category,points,question,answer1,answer2,answer3,answer4,correct
+                Tiere,100,Welches Tier bellt?,Hund,Katze,,,0
+                """));
+
+        assertEquals(List.of("Hund", "Katze"), question.getAnswers());
+    }
+
+    @Test
+    void emptyAnswerBeforeOthersKeepsItsPosition() throws IOException {
+        Question question = onlyQuestion(importCsv("""
+                category;points;question;answer1;answer2;answer3;correct
+                Tiere;100;Welches Tier bellt?;Katze;;Hund;2
+                """));
+
+        assertEquals(List.of("Katze", "", "Hund"), question.getAnswers());
+        assertEquals("Hund", question.getCorrectAnswer());
+    }
+
+    @Test
+    void quotedFieldsMayContainDelimitersAndLineBreaks() throws IOException {
+        QuestionImporter.ImportResult result = importCsv("""
+                category,points,question,answer1,answer2,correct
+                Zitate,100,"Wer sagte ""Ich denke, also bin ich""?","Descartes","Kant",0
+                Zitate,200,"Zwei
+                Zeilen",Ja,Nein,1
+                """);
+
+        assertFalse(result.hasErrors());
+        Category category = result.getConfigurations().get(0).getCategories().get(0);
+        assertEquals("Wer sagte \"Ich denke, also bin ich\"?", category.getQuestion(100).getQuestion());
+        assertEquals("Zwei\nZeilen", category.getQuestion(200).getQuestion());
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheirLine() throws IOException {
+        QuestionImporter.ImportResult result = importCsv("""
+                category;points;question;answer1;answer2;correct
+                Tiere;abc;Frage;Ja;Nein;0
+                Tiere;100;Frage;Ja;Nein;5
+                Tiere;200;;Ja;Nein;0
+                Tiere;300;Gültig?;Ja;Nein;0
+                """);
+
+        assertEquals(1, result.getImportedQuestions());
+        assertEquals(List.of(2, 3, 4), result.getErrors().stream().map(QuestionImporter.RowError::line).toList());
+    }
+
+    @Test
+    void correctIndexPointingToATrailingEmptyAnswerIsAnError() throws IOException {
+        QuestionImporter.ImportResult result = importCsv("""
+                category;points;question;answer1;answer2;answer3;correct
+                Tiere;100;Frage;Ja;Nein;;2
+                """);
+
+        assertTrue(result.hasErrors());
+        assertEquals(0, result.getImportedQuestions());
+    }
+
+    @Test
+    void missingHeaderColumnIsReported() throws IOException {
+        QuestionImporter.ImportResult result = importCsv("""
+                category;points;question;answer1
+                Tiere;100;Frage;Ja
+                """);
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).line());
+        assertTrue(result.getConfigurations().isEmpty());
+    }
+
+    @Test
+    void jsonAnswersAreIndexedByPosition() throws IOException {
+        Question question = onlyQuestion(importJson("""
+                [
+                  {"category": "Tiere", "points": 100, "question": "Welches Tier bellt?",
+                   "answers": ["Katze", "", "Hund", " "], "correct": 2}
+                ]
+                """));
+
+        assertEquals(List.of("Katze", "", "Hund"), question.getAnswers());
+        assertEquals("Hund", question.getCorrectAnswer());
+    }
+
+    @Test
+    void jsonLinesAndBrokenObjects() throws IOException {
+        QuestionImporter.ImportResult result = importJson("""
+                {"configuration": "Quiz", "category": "Orte", "points": 100, "question": "Hauptstadt?", "answers": ["Berlin"], "correct": 0}
+                {"configuration": "Quiz", "category": "Orte", "points": 200, "question": "Fluss?", "answers": "Rhein", "correct": 0}
+                {"configuration": "Quiz", "category": "Orte", "points": 300, "question": "Berg?" "answers": []}
+                """);
+
+        assertEquals(1, result.getImportedQuestions());
+        assertEquals(List.of(2, 3), result.getErrors().stream().map(QuestionImporter.RowError::line).toList());
+        assertEquals("Quiz", result.getConfigurations().get(0).getTitle());
+    }
+}
@@ -0,0 +1,115 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpectatorChannelTest {
+
+    /** A phone that stopped reading: every write blocks until the test releases it. */
+    private static final class StalledStream extends OutputStream {
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            writing.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Connection reset");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class RecordingStream extends OutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public synchronized void write(int b) {
+            bytes.write(b);
+        }
+
+        synchronized String text() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void stalledSubscriberIsClosedWithoutHoldingUpTheOthers() throws InterruptedException {
+        // A single writer thread: the stalled write takes it until its deadline passes
+        try (SpectatorChannel channel = new SpectatorChannel(4, 10, 1, Duration.ofMillis(200))) {
+            StalledStream stalledStream = new StalledStream();
+            SpectatorChannel.Subscriber stalled = channel.subscribe("{\"n\":0}");
+            stalled.connect(stalledStream);
+            assertTrue(stalledStream.writing.await(5, TimeUnit.SECONDS));
+
+            RecordingStream recording = new RecordingStream();
+            SpectatorChannel.Subscriber healthy = channel.subscribe("{\"n\":0}");
+            healthy.connect(recording);
+            for (int n = 1; n <= 20; n++) {
+                channel.publish("{\"n\":" + n + "}");
+            }
+
+            awaitTrue(() -> recording.text().contains("data: {\"n\":20}\n\n"));
+            awaitTrue(stalled::isClosed);
+            assertEquals(1, channel.getSubscriberCount());
+            assertFalse(healthy.isClosed());
+
+            channel.publish("{\"n\":21}");
+            awaitTrue(() -> recording.text().contains("data: {\"n\":21}\n\n"));
+
+            // The blocked write finally fails and the writer closes its stream
+            stalledStream.released.countDown();
+            awaitTrue(() -> stalledStream.closed);
+        }
+    }
+
+    @Test
+    void subscriberLimitIsConfigurable() {
+        assertTrue(SpectatorChannel.DEFAULT_MAX_SUBSCRIBERS >= 1000);
+
+        try (SpectatorChannel channel = new SpectatorChannel(4, 2)) {
+            SpectatorChannel.Subscriber first = channel.subscribe("{}");
+            assertNotNull(first);
+            assertNotNull(channel.subscribe("{}"));
+            assertNull(channel.subscribe("{}"));
+
+            channel.setMaxSubscribers(3);
+            assertNotNull(channel.subscribe("{}"));
+            assertNull(channel.subscribe("{}"));
+
+            first.close();
+            assertNotNull(channel.subscribe("{}"));
+            assertEquals(3, channel.getSubscriberCount());
+        }
+    }
+}
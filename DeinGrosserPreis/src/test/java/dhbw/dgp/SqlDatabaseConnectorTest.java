@@ -0,0 +1,142 @@
+package dhbw.dgp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlDatabaseConnectorTest {
+
+    @TempDir
+    Path directory;
+
+    private static Configuration configuration(String title, String prompt) {
+        Map<Integer, Question> questions = new TreeMap<>();
+        questions.put(100, new Question(prompt, List.of("Ja", "Nein"), 0));
+        questions.put(200, new Question("Zweite Frage", List.of("A", "B", "C"), 2));
+        Configuration configuration = new Configuration(title);
+        configuration.addCategory(new Category("Allgemein", questions));
+        configuration.addCategory(new Category("Sport", new TreeMap<>(Map.of(
+                300, new Question("Dritte Frage", List.of("X", "Y"), 1)))));
+        return configuration;
+    }
+
+    @Test
+    void savedConfigurationsSurviveReopen() {
+        try (SqlDatabaseConnector connector = new SqlDatabaseConnector(directory)) {
+            assertTrue(connector.isEmpty());
+            connector.saveConfiguration(configuration("Quiz A", "Frage A"));
+            connector.saveConfiguration(configuration("Quiz B", "Frage B"));
+            connector.saveConfiguration(configuration("quiz a ", "Frage A, neu"));
+        }
+
+        try (SqlDatabaseConnector connector = new SqlDatabaseConnector(directory)) {
+            assertEquals(2, connector.loadConfigurations().size());
+            Configuration quizA = connector.loadConfiguration("Quiz A");
+            assertEquals(2, quizA.getCategories().size());
+            assertEquals("Frage A, neu", quizA.getCategories().get(0).getQuestion(100).getQuestion());
+            Question second = quizA.getCategories().get(0).getQuestion(200);
+            assertEquals(List.of("A", "B", "C"), second.getAnswers());
+            assertEquals("C", second.getCorrectAnswer());
+            assertEquals("Y", quizA.getCategories().get(1).getQuestion(300).getCorrectAnswer());
+
+            List<ConfigurationSummary> summaries = connector.listConfigurations();
+            assertEquals(2, summaries.size());
+            assertEquals(3, summaries.get(0).getQuestionCount());
+            assertNull(connector.loadConfiguration("Quiz C"));
+        }
+    }
+
+    @Test
+    void configurationWithoutTitleIsStoredWithEmptyTitle() {
+        try (SqlDatabaseConnector connector = new SqlDatabaseConnector(directory)) {
+            connector.saveConfiguration(configuration(null, "Ohne Titel"));
+
+            Configuration untitled = connector.loadConfiguration(null);
+            assertNotNull(untitled);
+            assertEquals("", untitled.getTitle());
+            assertEquals("Ohne Titel", untitled.getCategories().get(0).getQuestion(100).getQuestion());
+        }
+    }
+
+    @Test
+    void saveQuestionsReplacesSingleQuestionsAndKeepsTheVersion() {
+        try (SqlDatabaseConnector connector = new SqlDatabaseConnector(directory)) {
+            long version = connector.saveConfiguration(configuration("Quiz", "Frage"), ConfigurationCatalogue.ABSENT);
+
+            assertTrue(connector.saveQuestions("quiz", List.of(new DatabaseConnector.QuestionUpdate(
+                    0, 200, new Question("Neue Frage", List.of("Eins", "Zwei"), 1)))));
+            assertFalse(connector.saveQuestions("Quiz", List.of(new DatabaseConnector.QuestionUpdate(
+                    1, 500, new Question("Gibt es nicht", List.of("Ja"), 0)))));
+
+            Question updated = connector.loadConfiguration("Quiz").getCategories().get(0).getQuestion(200);
+            assertEquals("Neue Frage", updated.getQuestion());
+            assertEquals(List.of("Eins", "Zwei"), updated.getAnswers());
+            assertEquals("Zwei", updated.getCorrectAnswer());
+            assertEquals(version, connector.getVersion("Quiz"));
+        }
+    }
+
+    @Test
+    void versionCheckedSaveFailsAfterAnotherSave() {
+        try (SqlDatabaseConnector connector = new SqlDatabaseConnector(directory)) {
+            assertEquals(ConfigurationCatalogue.ABSENT, connector.getVersion("Quiz"));
+            long first = connector.saveConfiguration(configuration("Quiz", "Erste"), ConfigurationCatalogue.ABSENT);
+            assertTrue(first > ConfigurationCatalogue.ABSENT);
+            assertEquals(first, connector.getVersion("quiz"));
+
+            assertEquals(-1, connector.saveConfiguration(configuration("Quiz", "Auch neu"), ConfigurationCatalogue.ABSENT));
+            long second = connector.saveConfiguration(configuration("Quiz", "Zweite"), first);
+            assertTrue(second > first);
+            assertEquals(-1, connector.saveConfiguration(configuration("Quiz", "Veraltet"), first));
+            assertEquals("Zweite", connector.loadConfiguration("Quiz").getCategories().get(0).getQuestion(100).getQuestion());
+        }
+    }
+
+    @Test
+    void concurrentFirstSavesLetExactlyOneWin() throws Exception {
+        int writers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try (SqlDatabaseConnector connector = new SqlDatabaseConnector(directory)) {
+            for (int round = 0; round < 10; round++) {
+                String title = "Quiz " + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Long>> saves = new ArrayList<>();
+                for (int w = 0; w < writers; w++) {
+                    String prompt = "Frage von " + w;
+                    saves.add(executor.submit(() -> {
+                        start.await();
+                        return connector.saveConfiguration(configuration(title, prompt), ConfigurationCatalogue.ABSENT);
+                    }));
+                }
+                start.countDown();
+
+                int won = 0;
+                for (Future<Long> save : saves) {
+                    long version = save.get();
+                    if (version != -1) {
+                        won++;
+                        assertEquals(version, connector.getVersion(title));
+                    }
+                }
+                assertEquals(1, won, title);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}